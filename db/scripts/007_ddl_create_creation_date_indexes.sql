@@ -0,0 +1,2 @@
+create index vacancies_creation_date_id_idx on vacancies (creation_date desc, id desc);
+create index candidates_creation_date_id_idx on candidates (creation_date desc, id desc);
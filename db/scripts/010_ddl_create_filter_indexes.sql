@@ -0,0 +1,5 @@
+create index vacancies_city_id_visible_creation_date_idx on vacancies (city_id, visible, creation_date desc, id desc);
+create index vacancies_visible_creation_date_idx on vacancies (visible, creation_date desc, id desc);
+create index vacancies_file_id_idx on vacancies (file_id);
+create index candidates_city_id_creation_date_idx on candidates (city_id, creation_date desc, id desc);
+create index candidates_file_id_idx on candidates (file_id);
@@ -0,0 +1,9 @@
+create table saved_searches
+(
+    id            serial primary key,
+    user_id       int       not null references users(id) on delete cascade,
+    query         varchar   not null,
+    city_id       int references cities(id),
+    creation_date timestamp not null
+);
+create index saved_searches_user_id_idx on saved_searches (user_id);
@@ -0,0 +1,14 @@
+create table notifications
+(
+    id              serial primary key,
+    user_id         int       not null references users(id) on delete cascade,
+    saved_search_id int       not null references saved_searches(id) on delete cascade,
+    vacancy_id      int       not null references vacancies(id) on delete cascade,
+    title           varchar   not null,
+    creation_date   timestamp not null,
+    seen            boolean   not null default false,
+    unique (user_id, vacancy_id)
+);
+create index notifications_user_id_creation_date_idx on notifications (user_id, creation_date desc, id desc);
+create index notifications_saved_search_id_idx on notifications (saved_search_id);
+create index notifications_vacancy_id_idx on notifications (vacancy_id);
@@ -0,0 +1,51 @@
+package ru.job4j.dreamjob.cache;
+
+public class CacheStats {
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    private final long size;
+
+    private final long residentBytes;
+
+    public CacheStats(long hits, long misses, long evictions, long size) {
+        this(hits, misses, evictions, size, 0);
+    }
+
+    public CacheStats(long hits, long misses, long evictions, long size, long residentBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.residentBytes = residentBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public double getHitRatio() {
+        var requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
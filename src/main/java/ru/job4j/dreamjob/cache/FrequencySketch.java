@@ -0,0 +1,64 @@
+package ru.job4j.dreamjob.cache;
+
+import net.jcip.annotations.NotThreadSafe;
+
+@NotThreadSafe
+class FrequencySketch {
+
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private static final int MAX_COUNT = 15;
+
+    private final int[][] counters;
+
+    private final int mask;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        var width = Integer.highestOneBit(Math.max(expectedEntries, 16) - 1) << 1;
+        this.counters = new int[SEEDS.length][width];
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    void increment(Object key) {
+        var hash = key.hashCode();
+        var added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            var index = indexOf(hash, row);
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            halve();
+        }
+    }
+
+    int frequency(Object key) {
+        var hash = key.hashCode();
+        var frequency = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, counters[row][indexOf(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private int indexOf(int hash, int row) {
+        var spread = hash * SEEDS[row];
+        return (spread ^ spread >>> 16) & mask;
+    }
+
+    private void halve() {
+        for (var row : counters) {
+            for (int index = 0; index < row.length; index++) {
+                row[index] >>>= 1;
+            }
+        }
+        additions /= 2;
+    }
+}
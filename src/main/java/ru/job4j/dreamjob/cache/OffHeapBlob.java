@@ -0,0 +1,63 @@
+package ru.job4j.dreamjob.cache;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ThreadSafe
+public class OffHeapBlob {
+
+    private final OffHeapBlobStore store;
+
+    private final OffHeapBlobStore.Slab slab;
+
+    private final ByteBuffer chunk;
+
+    private final int size;
+
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    OffHeapBlob(OffHeapBlobStore store, OffHeapBlobStore.Slab slab, ByteBuffer chunk, int size) {
+        this.store = store;
+        this.slab = slab;
+        this.chunk = chunk;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return chunk.capacity();
+    }
+
+    public boolean tryRetain() {
+        int current;
+        do {
+            current = references.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        var remaining = references.decrementAndGet();
+        if (remaining == 0) {
+            store.free(slab, chunk);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Blob is already released");
+        }
+    }
+
+    ByteBuffer writableBuffer() {
+        return chunk.duplicate().clear().limit(size);
+    }
+
+    public ByteBuffer asReadOnlyBuffer() {
+        return chunk.asReadOnlyBuffer().limit(size);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.job4j.dreamjob.cache;
+
+import ru.job4j.dreamjob.storage.ByteBufferResource;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class OffHeapBlobResource extends ByteBufferResource implements Closeable {
+
+    private final OffHeapBlob blob;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public OffHeapBlobResource(OffHeapBlob blob, long lastModified) {
+        super(blob.asReadOnlyBuffer(), lastModified, "Off-heap blob [" + blob.size() + " bytes]");
+        this.blob = blob;
+    }
+
+    @Override
+    public boolean exists() {
+        return !closed.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            blob.release();
+        }
+    }
+}
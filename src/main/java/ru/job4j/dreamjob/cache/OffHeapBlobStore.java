@@ -0,0 +1,141 @@
+package ru.job4j.dreamjob.cache;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@ThreadSafe
+public class OffHeapBlobStore {
+
+    private static final int MIN_CHUNK_SIZE = 4096;
+
+    private final long capacity;
+
+    private final int slabSize;
+
+    @GuardedBy("this")
+    private final Map<Integer, Deque<Slab>> partialSlabs = new HashMap<>();
+
+    @GuardedBy("this")
+    private final Deque<ByteBuffer> emptySlabs = new ArrayDeque<>();
+
+    @GuardedBy("this")
+    private long reservedBytes;
+
+    public OffHeapBlobStore(long capacity, int maxBlobSize) {
+        this.capacity = capacity;
+        this.slabSize = chunkSizeFor(maxBlobSize);
+    }
+
+    public Optional<OffHeapBlob> allocate(ReadableByteChannel source, long size) throws IOException {
+        if (size > slabSize) {
+            return Optional.empty();
+        }
+        var blob = takeChunk(chunkSizeFor((int) size), (int) size);
+        if (blob == null) {
+            return Optional.empty();
+        }
+        try {
+            var target = blob.writableBuffer();
+            while (target.hasRemaining()) {
+                if (source.read(target) < 0) {
+                    throw new EOFException("Blob source ended before " + size + " bytes");
+                }
+            }
+        } catch (IOException e) {
+            blob.release();
+            throw e;
+        }
+        return Optional.of(blob);
+    }
+
+    private synchronized OffHeapBlob takeChunk(int chunkSize, int size) {
+        var partial = partialSlabs.computeIfAbsent(chunkSize, key -> new ArrayDeque<>());
+        if (partial.isEmpty()) {
+            var memory = emptySlabs.poll();
+            if (memory == null && reservedBytes + slabSize <= capacity) {
+                memory = ByteBuffer.allocateDirect(slabSize);
+                reservedBytes += slabSize;
+            }
+            if (memory == null) {
+                return null;
+            }
+            partial.push(new Slab(memory, chunkSize));
+        }
+        var slab = partial.peek();
+        var chunk = slab.take();
+        if (slab.isFull()) {
+            partial.poll();
+        }
+        return new OffHeapBlob(this, slab, chunk, size);
+    }
+
+    synchronized void free(Slab slab, ByteBuffer chunk) {
+        var partial = partialSlabs.get(slab.chunkSize);
+        if (slab.isFull()) {
+            partial.push(slab);
+        }
+        slab.give(chunk);
+        if (slab.isEmpty()) {
+            partial.remove(slab);
+            emptySlabs.push(slab.memory);
+        }
+    }
+
+    public synchronized long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    public synchronized long getUnassignedBytes() {
+        return (long) emptySlabs.size() * slabSize;
+    }
+
+    private static int chunkSizeFor(int size) {
+        return Math.max(MIN_CHUNK_SIZE, Integer.highestOneBit(Math.max(size, 1) - 1) << 1);
+    }
+
+    static final class Slab {
+
+        private final ByteBuffer memory;
+
+        private final int chunkSize;
+
+        private final Deque<ByteBuffer> free = new ArrayDeque<>();
+
+        private final int chunks;
+
+        private Slab(ByteBuffer memory, int chunkSize) {
+            this.memory = memory;
+            this.chunkSize = chunkSize;
+            this.chunks = memory.capacity() / chunkSize;
+            for (int offset = 0; offset < memory.capacity(); offset += chunkSize) {
+                free.push(memory.slice(offset, chunkSize));
+            }
+        }
+
+        private ByteBuffer take() {
+            return free.poll();
+        }
+
+        private void give(ByteBuffer chunk) {
+            free.push(chunk);
+        }
+
+        private boolean isFull() {
+            return free.isEmpty();
+        }
+
+        private boolean isEmpty() {
+            return free.size() == chunks;
+        }
+    }
+}
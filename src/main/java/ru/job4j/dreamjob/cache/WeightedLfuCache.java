@@ -0,0 +1,153 @@
+package ru.job4j.dreamjob.cache;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+@ThreadSafe
+public class WeightedLfuCache<K, V> {
+
+    private static final int EXPECTED_ENTRIES = 1024;
+
+    private final long maxWeight;
+
+    private final ToLongFunction<V> weigher;
+
+    private final Consumer<V> removalListener;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    @GuardedBy("this")
+    private final Map<K, WeightedValue<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @GuardedBy("this")
+    private final FrequencySketch sketch = new FrequencySketch(EXPECTED_ENTRIES);
+
+    @GuardedBy("this")
+    private long weight;
+
+    @GuardedBy("this")
+    private long generation;
+
+    public WeightedLfuCache(long maxWeight, ToLongFunction<V> weigher) {
+        this(maxWeight, weigher, value -> { });
+    }
+
+    public WeightedLfuCache(long maxWeight, ToLongFunction<V> weigher, Consumer<V> removalListener) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.removalListener = removalListener;
+    }
+
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            sketch.increment(key);
+            var entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                return Optional.of(entry.value);
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        var loaded = loader.apply(key);
+        loaded.ifPresent(value -> admitIfUnchanged(key, value, loadGeneration));
+        return loaded;
+    }
+
+    private synchronized void admitIfUnchanged(K key, V value, long loadGeneration) {
+        var valueWeight = weigher.applyAsLong(value);
+        if (generation != loadGeneration || valueWeight > maxWeight || entries.containsKey(key)) {
+            removalListener.accept(value);
+            return;
+        }
+        var victims = entries.entrySet().iterator();
+        if (weight + valueWeight > maxWeight && sketch.frequency(key) <= sketch.frequency(victims.next().getKey())) {
+            removalListener.accept(value);
+            return;
+        }
+        victims = entries.entrySet().iterator();
+        while (weight + valueWeight > maxWeight) {
+            var victim = victims.next().getValue();
+            victims.remove();
+            weight -= victim.weight;
+            evictions.increment();
+            removalListener.accept(victim.value);
+        }
+        entries.put(key, new WeightedValue<>(value, valueWeight));
+        weight += valueWeight;
+    }
+
+    public synchronized boolean evictFor(K key) {
+        if (entries.isEmpty()) {
+            return false;
+        }
+        var victims = entries.entrySet().iterator();
+        var victim = victims.next();
+        if (sketch.frequency(key) <= sketch.frequency(victim.getKey())) {
+            return false;
+        }
+        victims.remove();
+        weight -= victim.getValue().weight;
+        evictions.increment();
+        removalListener.accept(victim.getValue().value);
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        var removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+            removalListener.accept(removed.value);
+        }
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        generation++;
+        var iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (predicate.test(entry.getKey())) {
+                iterator.remove();
+                weight -= entry.getValue().weight;
+                removalListener.accept(entry.getValue().value);
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.values().forEach(removed -> removalListener.accept(removed.value));
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), weight);
+    }
+
+    private record WeightedValue<V>(V value, long weight) {
+    }
+}
@@ -5,10 +5,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.sql2o.Sql2o;
+import org.sql2o.connectionsources.DataSourceConnectionSource;
 import org.sql2o.converters.Converter;
 import org.sql2o.converters.ConverterException;
 import org.sql2o.quirks.NoQuirks;
 import org.sql2o.quirks.Quirks;
+import ru.job4j.dreamjob.repository.ThreadBoundConnectionSource;
 
 import javax.sql.DataSource;
 import java.sql.Timestamp;
@@ -32,7 +34,9 @@ public class DatasourceConfiguration {
 
     @Bean
     public Sql2o databaseClient(DataSource dataSource) {
-        return new Sql2o(dataSource, createConverters());
+        var sql2o = new Sql2o(dataSource, createConverters());
+        sql2o.setConnectionSource(new ThreadBoundConnectionSource(new DataSourceConnectionSource(dataSource)));
+        return sql2o;
     }
 
     private Quirks createConverters() {
@@ -0,0 +1,16 @@
+package ru.job4j.dreamjob.configuration;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+
+@Configuration
+public class EventConfiguration {
+
+    @Bean(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+    public static ApplicationEventMulticaster applicationEventMulticaster(BeanFactory beanFactory) {
+        return new IsolatingEventMulticaster(beanFactory);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.job4j.dreamjob.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+
+public class IsolatingEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IsolatingEventMulticaster.class);
+
+    public IsolatingEventMulticaster(BeanFactory beanFactory) {
+        super(beanFactory);
+    }
+
+    @Override
+    protected void invokeListener(ApplicationListener<?> listener, ApplicationEvent event) {
+        if (!(event instanceof PayloadApplicationEvent<?> payloadEvent)) {
+            super.invokeListener(listener, event);
+            return;
+        }
+        try {
+            super.invokeListener(listener, event);
+        } catch (RuntimeException e) {
+            LOGGER.error("Listener {} failed on {}", listener, payloadEvent.getPayload().getClass().getSimpleName(), e);
+        }
+    }
+}
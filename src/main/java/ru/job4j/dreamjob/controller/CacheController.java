@@ -0,0 +1,31 @@
+package ru.job4j.dreamjob.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.job4j.dreamjob.cache.CacheStats;
+import ru.job4j.dreamjob.cache.MonitoredCache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/caches")
+public class CacheController {
+
+    private final List<MonitoredCache> caches;
+
+    public CacheController(List<MonitoredCache> caches) {
+        this.caches = caches;
+    }
+
+    @GetMapping("/stats")
+    public Map<String, CacheStats> getStats() {
+        var stats = new TreeMap<String, CacheStats>();
+        for (var cache : caches) {
+            stats.put(cache.getName(), cache.getStats());
+        }
+        return stats;
+    }
+}
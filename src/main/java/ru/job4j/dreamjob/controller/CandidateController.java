@@ -1,26 +1,40 @@
 package ru.job4j.dreamjob.controller;
 
 import jakarta.servlet.http.HttpSession;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
 import ru.job4j.dreamjob.model.Candidate;
 import ru.job4j.dreamjob.model.User;
 import ru.job4j.dreamjob.service.CandidateService;
 import ru.job4j.dreamjob.service.CityService;
+import ru.job4j.dreamjob.service.MatchingService;
+
+import java.time.LocalDate;
 
 @Controller
 @RequestMapping("/candidates")
 public class CandidateController {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_SEARCH_PAGE = 100;
+
     private final CandidateService candidateService;
 
     private final CityService cityService;
 
-    public CandidateController(CandidateService candidateService, CityService cityService) {
+    private final MatchingService matchingService;
+
+    public CandidateController(CandidateService candidateService, CityService cityService,
+                               MatchingService matchingService) {
         this.candidateService = candidateService;
         this.cityService = cityService;
+        this.matchingService = matchingService;
     }
 
     private void addUserToModel(Model model, HttpSession session) {
@@ -33,11 +47,39 @@ public class CandidateController {
     }
 
     @GetMapping
-    public String getAll(Model model, HttpSession session) {
+    public String getAll(Model model, HttpSession session,
+                         @RequestParam(required = false) String after,
+                         @RequestParam(defaultValue = "20") int size,
+                         @RequestParam(required = false) Integer city,
+                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdAfter) {
         addUserToModel(model, session);
+        var pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        var filter = new ListingFilter(city, null, createdAfter == null ? null : createdAfter.atStartOfDay());
+        var page = candidateService.findSummaryPage(filter, PageCursor.parse(after).orElse(null), pageSize);
+        model.addAttribute("candidates", page.getItems());
+        model.addAttribute("page", page);
+        model.addAttribute("size", pageSize);
+        model.addAttribute("filter", filter);
+        model.addAttribute("createdAfter", createdAfter);
+        model.addAttribute("cities", cityService.findAll());
+        model.addAttribute("facets", candidateService.countFacets());
         return "candidates/list";
     }
 
+    @GetMapping("/search")
+    public String search(Model model, HttpSession session,
+                         @RequestParam(defaultValue = "") String q,
+                         @RequestParam(defaultValue = "0") int page,
+                         @RequestParam(defaultValue = "20") int size) {
+        addUserToModel(model, session);
+        var pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        var result = candidateService.search(q, Math.max(0, Math.min(page, MAX_SEARCH_PAGE)), pageSize);
+        model.addAttribute("candidates", result.getItems());
+        model.addAttribute("result", result);
+        model.addAttribute("query", q);
+        return "candidates/search";
+    }
+
     @GetMapping("/create")
     public String getCreationPage(Model model, HttpSession session) {
         addUserToModel(model, session);
@@ -47,7 +89,7 @@ public class CandidateController {
     @PostMapping("/create")
     public String create(@ModelAttribute Candidate candidate, @RequestParam MultipartFile file, Model model) {
         try {
-            candidateService.save(candidate, new FileDto(file.getOriginalFilename(), file.getBytes()));
+            candidateService.save(candidate, new FileDto(file.getOriginalFilename(), file.getInputStream(), file.getSize()));
             return "redirect:/candidates";
         } catch (Exception exception) {
             model.addAttribute("message", exception.getMessage());
@@ -65,13 +107,14 @@ public class CandidateController {
         addUserToModel(model, session);
         model.addAttribute("cities", cityService.findAll());
         model.addAttribute("candidate", candidateOptional.get());
+        model.addAttribute("matches", matchingService.findVacancies(id));
         return "candidates/one";
     }
 
     @PostMapping("/update")
     public String update(@ModelAttribute Candidate candidate, @RequestParam MultipartFile file, Model model) {
         try {
-            var isUpdated = candidateService.update(candidate, new FileDto(file.getOriginalFilename(), file.getBytes()));
+            var isUpdated = candidateService.update(candidate, new FileDto(file.getOriginalFilename(), file.getInputStream(), file.getSize()));
             if (!isUpdated) {
                 model.addAttribute("message", "Кандидат с указанным идентификатором не найден");
                 return "errors/404";
@@ -0,0 +1,41 @@
+package ru.job4j.dreamjob.controller;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.job4j.dreamjob.dto.ExportFormat;
+import ru.job4j.dreamjob.service.ExportService;
+
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/vacancies")
+    public ResponseEntity<StreamingResponseBody> exportVacancies(@RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return stream("vacancies", format, out -> exportService.exportVacancies(format, out));
+    }
+
+    @GetMapping("/candidates")
+    public ResponseEntity<StreamingResponseBody> exportCandidates(@RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return stream("candidates", format, out -> exportService.exportCandidates(format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, StreamingResponseBody body) {
+        var disposition = ContentDisposition.attachment().filename(name + "." + format.getExtension()).build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
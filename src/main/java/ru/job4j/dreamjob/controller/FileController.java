@@ -1,28 +1,83 @@
 package ru.job4j.dreamjob.controller;
 
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.job4j.dreamjob.cache.OffHeapBlobResource;
+import ru.job4j.dreamjob.dto.FileResource;
 import ru.job4j.dreamjob.service.FileService;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/files")
 public class FileController {
 
+    private static final Duration MAX_AGE = Duration.ofDays(7);
+
+    private static final String RELEASE_CALLBACK = FileController.class.getName() + ".release";
+
     private final FileService fileService;
 
-    public FileController(FileService fileService) {
-        this.fileService = fileService;
+    public FileController(FileService cachingFileService) {
+        this.fileService = cachingFileService;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getById(@PathVariable int id) {
-        var contentOptional = fileService.getFileById(id);
-        if (contentOptional.isEmpty()) {
+    public ResponseEntity<Resource> getById(@PathVariable int id, @RequestParam(defaultValue = "0") int size) {
+        var resourceOptional = fileService.getResourceById(id, size);
+        if (resourceOptional.isEmpty() || !resourceOptional.get().getContent().isReadable()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(contentOptional.get().getContent());
+        return toResponse(resourceOptional.get());
+    }
+
+    private ResponseEntity<Resource> toResponse(FileResource fileResource) {
+        var file = fileResource.getFile();
+        var content = fileResource.getContent();
+        if (content instanceof OffHeapBlobResource blobResource) {
+            releaseAfterRequest(blobResource);
+        }
+        var response = ResponseEntity.ok()
+                .contentType(MediaTypeFactory.getMediaType(file.getName()).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .cacheControl(cacheControlFor(fileResource));
+        if (file.getName() != null) {
+            var disposition = ContentDisposition.inline().filename(file.getName(), StandardCharsets.UTF_8).build();
+            response.header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        }
+        if (file.getChecksum() != null) {
+            response.eTag(file.getChecksum());
+        }
+        try {
+            response.lastModified(content.lastModified());
+        } catch (IOException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return response.body(content);
+    }
+
+    private CacheControl cacheControlFor(FileResource fileResource) {
+        if (fileResource.isProvisional()) {
+            return CacheControl.noCache().cachePrivate();
+        }
+        return CacheControl.maxAge(MAX_AGE).cachePrivate();
+    }
+
+    private void releaseAfterRequest(OffHeapBlobResource blobResource) {
+        RequestContextHolder.currentRequestAttributes()
+                .registerDestructionCallback(RELEASE_CALLBACK, blobResource::close, RequestAttributes.SCOPE_REQUEST);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package ru.job4j.dreamjob.controller;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.job4j.dreamjob.dto.ImportReport;
+import ru.job4j.dreamjob.service.ImportService;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@RestController
+@RequestMapping("/import")
+public class ImportController {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(value = "/vacancies", consumes = "text/csv")
+    public ImportReport importVacancies(InputStream body,
+                                        @RequestParam(defaultValue = "${import.batch-size}") int batchSize) {
+        return importService.importVacancies(new InputStreamReader(body, UTF_8), clamp(batchSize));
+    }
+
+    @PostMapping(value = "/candidates", consumes = "text/csv")
+    public ImportReport importCandidates(InputStream body,
+                                         @RequestParam(defaultValue = "${import.batch-size}") int batchSize) {
+        return importService.importCandidates(new InputStreamReader(body, UTF_8), clamp(batchSize));
+    }
+
+    private int clamp(int batchSize) {
+        return Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+    }
+}
@@ -0,0 +1,34 @@
+package ru.job4j.dreamjob.controller;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import ru.job4j.dreamjob.model.User;
+import ru.job4j.dreamjob.service.NotificationService;
+
+@Controller
+@RequestMapping("/notifications")
+public class NotificationController {
+
+    private static final int MAX_NOTIFICATIONS = 50;
+
+    private final NotificationService notificationService;
+
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @GetMapping
+    public String getAll(Model model, HttpSession session) {
+        var user = (User) session.getAttribute("user");
+        if (user == null) {
+            return "redirect:/users/login";
+        }
+        model.addAttribute("user", user);
+        model.addAttribute("notifications", notificationService.findByUserId(user.getId(), MAX_NOTIFICATIONS));
+        notificationService.markSeen(user.getId());
+        return "notifications/list";
+    }
+}
@@ -0,0 +1,63 @@
+package ru.job4j.dreamjob.controller;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import ru.job4j.dreamjob.model.SavedSearch;
+import ru.job4j.dreamjob.model.User;
+import ru.job4j.dreamjob.service.CityService;
+import ru.job4j.dreamjob.service.SavedSearchService;
+
+@Controller
+@RequestMapping("/searches")
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    private final CityService cityService;
+
+    public SavedSearchController(SavedSearchService savedSearchService, CityService cityService) {
+        this.savedSearchService = savedSearchService;
+        this.cityService = cityService;
+    }
+
+    @GetMapping
+    public String getAll(Model model, HttpSession session) {
+        var user = (User) session.getAttribute("user");
+        if (user == null) {
+            return "redirect:/users/login";
+        }
+        model.addAttribute("user", user);
+        model.addAttribute("searches", savedSearchService.findByUserId(user.getId()));
+        model.addAttribute("cities", cityService.findAll());
+        return "searches/list";
+    }
+
+    @PostMapping("/create")
+    public String create(@ModelAttribute SavedSearch savedSearch, Model model, HttpSession session) {
+        var user = (User) session.getAttribute("user");
+        if (user == null) {
+            return "redirect:/users/login";
+        }
+        savedSearch.setUserId(user.getId());
+        if (savedSearchService.save(savedSearch).isEmpty()) {
+            model.addAttribute("message", "Запрос не содержит слов для поиска");
+            return "errors/404";
+        }
+        return "redirect:/searches";
+    }
+
+    @GetMapping("/delete/{id}")
+    public String delete(Model model, @PathVariable int id, HttpSession session) {
+        var user = (User) session.getAttribute("user");
+        if (user == null) {
+            return "redirect:/users/login";
+        }
+        if (!savedSearchService.deleteById(id, user.getId())) {
+            model.addAttribute("message", "Подписка с указанным идентификатором не найдена");
+            return "errors/404";
+        }
+        return "redirect:/searches";
+    }
+}
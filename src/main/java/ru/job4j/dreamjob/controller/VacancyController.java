@@ -1,26 +1,47 @@
 package ru.job4j.dreamjob.controller;
 
 import jakarta.servlet.http.HttpSession;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
 import ru.job4j.dreamjob.model.User;
 import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.service.AutocompleteService;
 import ru.job4j.dreamjob.service.CityService;
+import ru.job4j.dreamjob.service.MatchingService;
 import ru.job4j.dreamjob.service.VacancyService;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Controller
 @RequestMapping("/vacancies")
 public class VacancyController {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_SEARCH_PAGE = 100;
+
+    private static final int MAX_SUGGESTIONS = 10;
+
     private final VacancyService vacancyService;
 
     private final CityService cityService;
 
-    public VacancyController(VacancyService vacancyService, CityService cityService) {
+    private final AutocompleteService autocompleteService;
+
+    private final MatchingService matchingService;
+
+    public VacancyController(VacancyService vacancyService, CityService cityService,
+                             AutocompleteService autocompleteService, MatchingService matchingService) {
         this.vacancyService = vacancyService;
         this.cityService = cityService;
+        this.autocompleteService = autocompleteService;
+        this.matchingService = matchingService;
     }
 
     private void addUserToModel(Model model, HttpSession session) {
@@ -32,6 +53,27 @@ public class VacancyController {
         model.addAttribute("user", user);
     }
 
+    @GetMapping("/search")
+    public String search(Model model, HttpSession session,
+                         @RequestParam(defaultValue = "") String q,
+                         @RequestParam(defaultValue = "0") int page,
+                         @RequestParam(defaultValue = "20") int size) {
+        addUserToModel(model, session);
+        var pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        var result = vacancyService.search(q, Math.max(0, Math.min(page, MAX_SEARCH_PAGE)), pageSize);
+        model.addAttribute("vacancies", result.getItems());
+        model.addAttribute("result", result);
+        model.addAttribute("query", q);
+        return "vacancies/search";
+    }
+
+    @GetMapping("/suggest")
+    @ResponseBody
+    public List<String> suggest(@RequestParam(defaultValue = "") String q,
+                                @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteService.suggest(q, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
     @GetMapping("/create")
     public String getCreationPage(Model model, HttpSession session) {
         addUserToModel(model, session);
@@ -40,18 +82,33 @@ public class VacancyController {
     }
 
     @GetMapping
-    public String getAll(Model model, HttpSession session) {
+    public String getAll(Model model, HttpSession session,
+                         @RequestParam(required = false) String after,
+                         @RequestParam(defaultValue = "20") int size,
+                         @RequestParam(required = false) Integer city,
+                         @RequestParam(required = false) Boolean visible,
+                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdAfter) {
         addUserToModel(model, session);
-        model.addAttribute("vacancies", vacancyService.findAll());
+        var pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        var filter = new ListingFilter(city, visible, createdAfter == null ? null : createdAfter.atStartOfDay());
+        var page = vacancyService.findSummaryPage(filter, PageCursor.parse(after).orElse(null), pageSize);
+        model.addAttribute("vacancies", page.getItems());
+        model.addAttribute("page", page);
+        model.addAttribute("size", pageSize);
+        model.addAttribute("filter", filter);
+        model.addAttribute("createdAfter", createdAfter);
+        model.addAttribute("cities", cityService.findAll());
+        model.addAttribute("facets", vacancyService.countFacets(filter));
         return "vacancies/list";
     }
 
     @PostMapping("/create")
-    public String create(@ModelAttribute Vacancy vacancy, @RequestParam MultipartFile file, Model model) {
+    public String create(@ModelAttribute Vacancy vacancy, @RequestParam MultipartFile file, Model model, HttpSession session) {
         try {
-            vacancyService.save(vacancy, new FileDto(file.getOriginalFilename(), file.getBytes()));
+            vacancyService.save(vacancy, new FileDto(file.getOriginalFilename(), file.getInputStream(), file.getSize()));
             return "redirect:/vacancies";
         } catch (Exception exception) {
+            addUserToModel(model, session);
             model.addAttribute("message", exception.getMessage());
             return "errors/404";
         }
@@ -67,13 +124,14 @@ public class VacancyController {
         addUserToModel(model, session);
         model.addAttribute("cities", cityService.findAll());
         model.addAttribute("vacancy", vacancyOptional.get());
+        model.addAttribute("matches", matchingService.findCandidates(id));
         return "vacancies/one";
     }
 
     @PostMapping("/update")
     public String update(@ModelAttribute Vacancy vacancy, @RequestParam MultipartFile file, Model model) {
         try {
-            var isUpdated = vacancyService.update(vacancy, new FileDto(file.getOriginalFilename(), file.getBytes()));
+            var isUpdated = vacancyService.update(vacancy, new FileDto(file.getOriginalFilename(), file.getInputStream(), file.getSize()));
             if (!isUpdated) {
                 model.addAttribute("message", "Вакансия с указанным идентификатором не найдена");
                 return "errors/404";
@@ -0,0 +1,33 @@
+package ru.job4j.dreamjob.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.job4j.dreamjob.service.VacancyFeedService;
+
+@RestController
+@RequestMapping("/vacancies/feed")
+public class VacancyFeedController {
+
+    private static final String RETRY_AFTER_SECONDS = "30";
+
+    private final VacancyFeedService vacancyFeedService;
+
+    public VacancyFeedController(VacancyFeedService vacancyFeedService) {
+        this.vacancyFeedService = vacancyFeedService;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe() {
+        return vacancyFeedService.subscribe()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                        .build());
+    }
+}
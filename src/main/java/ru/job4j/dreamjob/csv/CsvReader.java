@@ -0,0 +1,86 @@
+package ru.job4j.dreamjob.csv;
+
+import net.jcip.annotations.NotThreadSafe;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Optional;
+
+@NotThreadSafe
+public class CsvReader implements Closeable {
+
+    private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+
+    private final Reader reader;
+
+    private long line = 1;
+
+    private int recordLength;
+
+    public CsvReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public Optional<CsvRecord> next() throws IOException {
+        var current = reader.read();
+        if (current == -1) {
+            return Optional.empty();
+        }
+        var startLine = line;
+        var values = new ArrayList<String>();
+        var value = new StringBuilder();
+        var quoted = false;
+        recordLength = 0;
+        while (true) {
+            if (quoted) {
+                if (current == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting at line " + startLine);
+                }
+                if (current == '"') {
+                    current = reader.read();
+                    if (current != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                append(value, current);
+            } else if (current == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (current == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (current == '\n' || current == -1) {
+                values.add(value.toString());
+                if (current == '\n') {
+                    line++;
+                }
+                return Optional.of(new CsvRecord(startLine, values));
+            } else if (current != '\r') {
+                append(value, current);
+            }
+            current = reader.read();
+        }
+    }
+
+    private void append(StringBuilder value, int character) {
+        if (++recordLength > MAX_RECORD_LENGTH) {
+            throw new IllegalArgumentException("Record at line " + line + " is longer than " + MAX_RECORD_LENGTH + " characters");
+        }
+        if (character == '\n') {
+            line++;
+        }
+        value.append((char) character);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,10 @@
+package ru.job4j.dreamjob.csv;
+
+import java.util.List;
+
+public record CsvRecord(long line, List<String> values) {
+
+    public boolean isBlank() {
+        return values.size() == 1 && values.get(0).isBlank();
+    }
+}
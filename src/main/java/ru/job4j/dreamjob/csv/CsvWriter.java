@@ -0,0 +1,41 @@
+package ru.job4j.dreamjob.csv;
+
+import net.jcip.annotations.NotThreadSafe;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+@NotThreadSafe
+public class CsvWriter {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeRecord(List<String> values) throws IOException {
+        for (int index = 0; index < values.size(); index++) {
+            if (index > 0) {
+                writer.write(',');
+            }
+            writeValue(values.get(index));
+        }
+        writer.write('\n');
+    }
+
+    private void writeValue(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.isEmpty() || value.chars().anyMatch(character -> character == ',' || character == '"'
+                || character == '\n' || character == '\r')) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.job4j.dreamjob.dto;
+
+import java.util.Map;
+
+public record FacetCounts(Map<Integer, Long> cities, Map<Boolean, Long> visibility) {
+
+    public long city(int cityId) {
+        return cities.getOrDefault(cityId, 0L);
+    }
+
+    public long visible(boolean visible) {
+        return visibility.getOrDefault(visible, 0L);
+    }
+}
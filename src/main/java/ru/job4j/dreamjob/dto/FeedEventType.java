@@ -0,0 +1,14 @@
+package ru.job4j.dreamjob.dto;
+
+public enum FeedEventType {
+
+    CREATED,
+
+    UPDATED,
+
+    DELETED;
+
+    public String eventName() {
+        return name().toLowerCase();
+    }
+}
@@ -1,14 +1,28 @@
 package ru.job4j.dreamjob.dto;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 public class FileDto {
 
     private String name;
 
     private byte[] content;
 
+    private InputStream inputStream;
+
+    private long size;
+
     public FileDto(String name, byte[] content) {
         this.name = name;
         this.content = content;
+        this.size = content.length;
+    }
+
+    public FileDto(String name, InputStream inputStream, long size) {
+        this.name = name;
+        this.inputStream = inputStream;
+        this.size = size;
     }
 
     public String getName() {
@@ -25,5 +39,18 @@ public class FileDto {
 
     public void setContent(byte[] content) {
         this.content = content;
+        this.size = content.length;
+    }
+
+    public InputStream getInputStream() {
+        return inputStream != null ? inputStream : new ByteArrayInputStream(content);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package ru.job4j.dreamjob.dto;
+
+import org.springframework.core.io.Resource;
+import ru.job4j.dreamjob.model.File;
+
+public class FileResource {
+
+    private final File file;
+
+    private final Resource content;
+
+    private final boolean provisional;
+
+    public FileResource(File file, Resource content) {
+        this(file, content, false);
+    }
+
+    public FileResource(File file, Resource content, boolean provisional) {
+        this.file = file;
+        this.content = content;
+        this.provisional = provisional;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public Resource getContent() {
+        return content;
+    }
+
+    public boolean isProvisional() {
+        return provisional;
+    }
+}
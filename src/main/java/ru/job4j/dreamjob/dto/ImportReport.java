@@ -0,0 +1,58 @@
+package ru.job4j.dreamjob.dto;
+
+import net.jcip.annotations.NotThreadSafe;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@NotThreadSafe
+public class ImportReport {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final List<ImportError> errors = new ArrayList<>();
+
+    private long imported;
+
+    private long failed;
+
+    private Duration elapsed = Duration.ZERO;
+
+    public void recordImported(long count) {
+        imported += count;
+    }
+
+    public void recordFailed(long count, long line, String message) {
+        failed += count;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportError(line, message));
+        }
+    }
+
+    public ImportReport finish(Duration elapsed) {
+        this.elapsed = elapsed;
+        return this;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsed.toMillis();
+    }
+
+    public double getRowsPerSecond() {
+        var nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : imported * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.job4j.dreamjob.dto;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class ListingFilter {
+
+    public static final ListingFilter NONE = new ListingFilter(null, null, null);
+
+    private final Integer cityId;
+
+    private final Boolean visible;
+
+    private final LocalDateTime createdAfter;
+
+    public ListingFilter(Integer cityId, Boolean visible, LocalDateTime createdAfter) {
+        this.cityId = cityId;
+        this.visible = visible;
+        this.createdAfter = createdAfter;
+    }
+
+    public Integer getCityId() {
+        return cityId;
+    }
+
+    public Boolean getVisible() {
+        return visible;
+    }
+
+    public LocalDateTime getCreatedAfter() {
+        return createdAfter;
+    }
+
+    public boolean matches(int cityId, Boolean visible, LocalDateTime creationDate) {
+        return (this.cityId == null || this.cityId == cityId)
+                && (this.visible == null || visible == null || this.visible.equals(visible))
+                && (createdAfter == null || creationDate != null && creationDate.isAfter(createdAfter));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ListingFilter that = (ListingFilter) o;
+        return Objects.equals(cityId, that.cityId) && Objects.equals(visible, that.visible)
+                && Objects.equals(createdAfter, that.createdAfter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cityId, visible, createdAfter);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.job4j.dreamjob.dto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+public class Page<T> {
+
+    private final Collection<T> items;
+
+    private final PageCursor next;
+
+    public Page(Collection<T> items, PageCursor next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public static <T> Page<T> of(List<T> rows, int size, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new Page<>(rows, null);
+        }
+        var items = rows.subList(0, size);
+        return new Page<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+
+    public Collection<T> getItems() {
+        return items;
+    }
+
+    public PageCursor getNext() {
+        return next;
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
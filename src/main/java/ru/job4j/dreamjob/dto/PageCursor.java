@@ -0,0 +1,75 @@
+package ru.job4j.dreamjob.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+
+public class PageCursor {
+
+    public static final Comparator<LocalDateTime> CREATION_DATE_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime creationDate;
+
+    private final int id;
+
+    public PageCursor(LocalDateTime creationDate, int id) {
+        this.creationDate = creationDate;
+        this.id = id;
+    }
+
+    public static Optional<PageCursor> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        var separatorIndex = value.lastIndexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            return Optional.empty();
+        }
+        try {
+            var creationDate = separatorIndex == 0 ? null : LocalDateTime.parse(value.substring(0, separatorIndex));
+            var id = Integer.parseInt(value.substring(separatorIndex + 1));
+            return Optional.of(new PageCursor(creationDate, id));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public boolean isNewerThan(LocalDateTime creationDate, int id) {
+        var comparison = CREATION_DATE_ORDER.compare(this.creationDate, creationDate);
+        return comparison > 0 || comparison == 0 && this.id > id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PageCursor that = (PageCursor) o;
+        return id == that.id && Objects.equals(creationDate, that.creationDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(creationDate, id);
+    }
+
+    @Override
+    public String toString() {
+        return (creationDate == null ? "" : creationDate.toString()) + SEPARATOR + id;
+    }
+}
@@ -0,0 +1,45 @@
+package ru.job4j.dreamjob.dto;
+
+import java.util.List;
+
+public class SearchResult<T> {
+
+    private final List<T> items;
+
+    private final int total;
+
+    private final int page;
+
+    private final int size;
+
+    public SearchResult(List<T> items, int total, int page, int size) {
+        this.items = items;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+
+    public boolean hasNext() {
+        return (long) (page + 1) * size < total;
+    }
+}
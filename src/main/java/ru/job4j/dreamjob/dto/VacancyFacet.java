@@ -0,0 +1,4 @@
+package ru.job4j.dreamjob.dto;
+
+public record VacancyFacet(int cityId, boolean visible) {
+}
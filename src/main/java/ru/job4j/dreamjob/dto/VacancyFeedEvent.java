@@ -0,0 +1,23 @@
+package ru.job4j.dreamjob.dto;
+
+import ru.job4j.dreamjob.model.Vacancy;
+
+import java.time.LocalDateTime;
+
+public record VacancyFeedEvent(FeedEventType type, int id, String title, int cityId, LocalDateTime creationDate) {
+
+    public static VacancyFeedEvent of(FeedEventType type, Vacancy vacancy) {
+        return new VacancyFeedEvent(type, vacancy.getId(), vacancy.getTitle(), vacancy.getCityId(), vacancy.getCreationDate());
+    }
+
+    public VacancyFeedEvent withType(FeedEventType type) {
+        return new VacancyFeedEvent(type, id, title, cityId, creationDate);
+    }
+
+    public static VacancyFeedEvent coalesce(VacancyFeedEvent pending, VacancyFeedEvent next) {
+        if (pending.type() != FeedEventType.CREATED) {
+            return next;
+        }
+        return next.type() == FeedEventType.DELETED ? null : next.withType(FeedEventType.CREATED);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.job4j.dreamjob.feed;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+@ThreadSafe
+public class CoalescingBuffer<K, V> {
+
+    private final int capacity;
+
+    private final BiFunction<? super V, ? super V, ? extends V> merger;
+
+    @GuardedBy("this")
+    private final Map<K, V> pending = new LinkedHashMap<>();
+
+    @GuardedBy("this")
+    private long dropped;
+
+    public CoalescingBuffer(int capacity, BiFunction<? super V, ? super V, ? extends V> merger) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.merger = merger;
+    }
+
+    public synchronized void offer(K key, V value) {
+        if (!pending.containsKey(key) && pending.size() == capacity) {
+            Iterator<V> eldest = pending.values().iterator();
+            eldest.next();
+            eldest.remove();
+            dropped++;
+        }
+        pending.merge(key, value, merger);
+    }
+
+    public synchronized void skip(long count) {
+        dropped += count;
+    }
+
+    public synchronized List<V> drain() {
+        var drained = new ArrayList<>(pending.values());
+        pending.clear();
+        return drained;
+    }
+
+    public synchronized long takeDropped() {
+        var result = dropped;
+        dropped = 0;
+        return result;
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return pending.isEmpty() && dropped == 0;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.job4j.dreamjob.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class CandidateSummary {
+
+    private final int id;
+
+    private final String name;
+
+    private final LocalDateTime creationDate;
+
+    public CandidateSummary(int id, String name, LocalDateTime creationDate) {
+        this.id = id;
+        this.name = name;
+        this.creationDate = creationDate;
+    }
+
+    public static CandidateSummary of(Candidate candidate) {
+        return new CandidateSummary(candidate.getId(), candidate.getName(), candidate.getCreationDate());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CandidateSummary that = (CandidateSummary) o;
+        return id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -1,20 +1,43 @@
 package ru.job4j.dreamjob.model;
 
+import java.util.Map;
 import java.util.Objects;
 
 public class File {
 
+    public static final Map<String, String> COLUMN_MAPPING = Map.of(
+            "id", "id",
+            "name", "name",
+            "path", "path",
+            "size", "size",
+            "checksum", "checksum",
+            "ref_count", "refCount"
+    );
+
     private int id;
 
     private String name;
 
     private String path;
 
+    private long size;
+
+    private String checksum;
+
+    private int refCount = 1;
+
     public File(String name, String path) {
         this.name = name;
         this.path = path;
     }
 
+    public File(String name, String path, long size, String checksum) {
+        this.name = name;
+        this.path = path;
+        this.size = size;
+        this.checksum = checksum;
+    }
+
     public int getId() {
         return id;
     }
@@ -39,6 +62,30 @@ public class File {
         this.path = path;
     }
 
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
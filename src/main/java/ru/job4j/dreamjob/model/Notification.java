@@ -0,0 +1,120 @@
+package ru.job4j.dreamjob.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+
+public class Notification {
+
+    public static final Map<String, String> COLUMN_MAPPING = Map.of(
+            "id", "id",
+            "user_id", "userId",
+            "saved_search_id", "savedSearchId",
+            "vacancy_id", "vacancyId",
+            "title", "title",
+            "creation_date", "creationDate",
+            "seen", "seen"
+    );
+
+    private int id;
+
+    private int userId;
+
+    private int savedSearchId;
+
+    private int vacancyId;
+
+    private String title;
+
+    private LocalDateTime creationDate = LocalDateTime.now();
+
+    private boolean seen;
+
+    public Notification() {
+
+    }
+
+    public Notification(int id, int userId, int savedSearchId, int vacancyId, String title,
+                        LocalDateTime creationDate, boolean seen) {
+        this.id = id;
+        this.userId = userId;
+        this.savedSearchId = savedSearchId;
+        this.vacancyId = vacancyId;
+        this.title = title;
+        this.creationDate = creationDate;
+        this.seen = seen;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public int getSavedSearchId() {
+        return savedSearchId;
+    }
+
+    public void setSavedSearchId(int savedSearchId) {
+        this.savedSearchId = savedSearchId;
+    }
+
+    public int getVacancyId() {
+        return vacancyId;
+    }
+
+    public void setVacancyId(int vacancyId) {
+        this.vacancyId = vacancyId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public boolean getSeen() {
+        return seen;
+    }
+
+    public void setSeen(boolean seen) {
+        this.seen = seen;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Notification that = (Notification) o;
+        return id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
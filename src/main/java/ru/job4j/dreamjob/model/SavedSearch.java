@@ -0,0 +1,95 @@
+package ru.job4j.dreamjob.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+
+public class SavedSearch {
+
+    public static final Map<String, String> COLUMN_MAPPING = Map.of(
+            "id", "id",
+            "user_id", "userId",
+            "query", "query",
+            "city_id", "cityId",
+            "creation_date", "creationDate"
+    );
+
+    private int id;
+
+    private int userId;
+
+    private String query;
+
+    private Integer cityId;
+
+    private LocalDateTime creationDate = LocalDateTime.now();
+
+    public SavedSearch() {
+
+    }
+
+    public SavedSearch(int id, int userId, String query, Integer cityId, LocalDateTime creationDate) {
+        this.id = id;
+        this.userId = userId;
+        this.query = query;
+        this.cityId = cityId;
+        this.creationDate = creationDate;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public Integer getCityId() {
+        return cityId;
+    }
+
+    public void setCityId(Integer cityId) {
+        this.cityId = cityId;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SavedSearch that = (SavedSearch) o;
+        return id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,127 @@
+package ru.job4j.dreamjob.repository;
+
+import net.jcip.annotations.ThreadSafe;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import ru.job4j.dreamjob.cache.CacheStats;
+import ru.job4j.dreamjob.cache.LruCache;
+import ru.job4j.dreamjob.cache.MonitoredCache;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.CandidateSummary;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@ThreadSafe
+@Repository
+public class CachingCandidateRepository implements CandidateRepository, MonitoredCache {
+
+    private final CandidateRepository candidateRepository;
+
+    private final LruCache<Integer, Candidate> cache;
+
+    private final UnitOfWork unitOfWork;
+
+    public CachingCandidateRepository(CandidateRepository sql2oCandidateRepository,
+                                      @Value("${cache.repository.max-size}") int maxSize,
+                                      @Value("${cache.repository.ttl}") Duration ttl,
+                                      UnitOfWork unitOfWork) {
+        this.candidateRepository = sql2oCandidateRepository;
+        this.cache = new LruCache<>(maxSize, ttl);
+        this.unitOfWork = unitOfWork;
+    }
+
+    @Override
+    public Candidate save(Candidate candidate) {
+        var saved = candidateRepository.save(candidate);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Collection<Candidate> saveAll(Collection<Candidate> candidates) {
+        return candidateRepository.saveAll(candidates);
+    }
+
+    @Override
+    public int importAll(Collection<Candidate> candidates) {
+        return candidateRepository.importAll(candidates);
+    }
+
+    @Override
+    public long exportAll(int fetchSize, Consumer<Candidate> consumer) {
+        return candidateRepository.exportAll(fetchSize, consumer);
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        var isDeleted = candidateRepository.deleteById(id);
+        invalidate(id);
+        return isDeleted;
+    }
+
+    @Override
+    public Optional<Integer> deleteByIdReturningFileId(int id) {
+        var fileId = candidateRepository.deleteByIdReturningFileId(id);
+        invalidate(id);
+        return fileId;
+    }
+
+    @Override
+    public boolean update(Candidate candidate) {
+        var isUpdated = candidateRepository.update(candidate);
+        invalidate(candidate.getId());
+        return isUpdated;
+    }
+
+    @Override
+    public Optional<Candidate> findById(int id) {
+        return cache.get(id, candidateRepository::findById).map(CachingCandidateRepository::copyOf);
+    }
+
+    @Override
+    public Collection<Candidate> findAll() {
+        return candidateRepository.findAll();
+    }
+
+    @Override
+    public Map<Integer, Long> countByCity() {
+        return candidateRepository.countByCity();
+    }
+
+    @Override
+    public Collection<Candidate> findPage(ListingFilter filter, PageCursor after, int limit) {
+        return candidateRepository.findPage(filter, after, limit);
+    }
+
+    @Override
+    public Collection<CandidateSummary> findSummaryPage(ListingFilter filter, PageCursor after, int limit) {
+        return candidateRepository.findSummaryPage(filter, after, limit);
+    }
+
+    private void invalidate(int id) {
+        cache.invalidate(id);
+        unitOfWork.afterCommit(() -> cache.invalidate(id));
+        unitOfWork.afterRollback(() -> cache.invalidate(id));
+    }
+
+    private static Candidate copyOf(Candidate candidate) {
+        return new Candidate(candidate.getId(), candidate.getName(), candidate.getDescription(),
+                candidate.getCreationDate(), candidate.getCityId(), candidate.getFileId());
+    }
+
+    @Override
+    public String getName() {
+        return "candidates";
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,133 @@
+package ru.job4j.dreamjob.repository;
+
+import net.jcip.annotations.ThreadSafe;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import ru.job4j.dreamjob.cache.CacheStats;
+import ru.job4j.dreamjob.cache.LruCache;
+import ru.job4j.dreamjob.cache.MonitoredCache;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.dto.VacancyFacet;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.model.VacancySummary;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@ThreadSafe
+@Repository
+public class CachingVacancyRepository implements VacancyRepository, MonitoredCache {
+
+    private final VacancyRepository vacancyRepository;
+
+    private final LruCache<Integer, Vacancy> cache;
+
+    private final UnitOfWork unitOfWork;
+
+    public CachingVacancyRepository(VacancyRepository sql2oVacancyRepository,
+                                    @Value("${cache.repository.max-size}") int maxSize,
+                                    @Value("${cache.repository.ttl}") Duration ttl,
+                                    UnitOfWork unitOfWork) {
+        this.vacancyRepository = sql2oVacancyRepository;
+        this.cache = new LruCache<>(maxSize, ttl);
+        this.unitOfWork = unitOfWork;
+    }
+
+    @Override
+    public Vacancy save(Vacancy vacancy) {
+        var saved = vacancyRepository.save(vacancy);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Collection<Vacancy> saveAll(Collection<Vacancy> vacancies) {
+        return vacancyRepository.saveAll(vacancies);
+    }
+
+    @Override
+    public int importAll(Collection<Vacancy> vacancies) {
+        return vacancyRepository.importAll(vacancies);
+    }
+
+    @Override
+    public long exportAll(int fetchSize, Consumer<Vacancy> consumer) {
+        return vacancyRepository.exportAll(fetchSize, consumer);
+    }
+
+    @Override
+    public boolean deleteById(int id) {
+        var isDeleted = vacancyRepository.deleteById(id);
+        invalidate(id);
+        return isDeleted;
+    }
+
+    @Override
+    public Optional<Integer> deleteByIdReturningFileId(int id) {
+        var fileId = vacancyRepository.deleteByIdReturningFileId(id);
+        invalidate(id);
+        return fileId;
+    }
+
+    @Override
+    public boolean update(Vacancy vacancy) {
+        var isUpdated = vacancyRepository.update(vacancy);
+        invalidate(vacancy.getId());
+        return isUpdated;
+    }
+
+    @Override
+    public Optional<Vacancy> findById(int id) {
+        return cache.get(id, vacancyRepository::findById).map(CachingVacancyRepository::copyOf);
+    }
+
+    @Override
+    public Collection<Vacancy> findAll() {
+        return vacancyRepository.findAll();
+    }
+
+    @Override
+    public Map<String, Integer> countTitles() {
+        return vacancyRepository.countTitles();
+    }
+
+    @Override
+    public Map<VacancyFacet, Long> countByCityAndVisibility() {
+        return vacancyRepository.countByCityAndVisibility();
+    }
+
+    @Override
+    public Collection<Vacancy> findPage(ListingFilter filter, PageCursor after, int limit) {
+        return vacancyRepository.findPage(filter, after, limit);
+    }
+
+    @Override
+    public Collection<VacancySummary> findSummaryPage(ListingFilter filter, PageCursor after, int limit) {
+        return vacancyRepository.findSummaryPage(filter, after, limit);
+    }
+
+    private void invalidate(int id) {
+        cache.invalidate(id);
+        unitOfWork.afterCommit(() -> cache.invalidate(id));
+        unitOfWork.afterRollback(() -> cache.invalidate(id));
+    }
+
+    private static Vacancy copyOf(Vacancy vacancy) {
+        return new Vacancy(vacancy.getId(), vacancy.getTitle(), vacancy.getDescription(), vacancy.getCreationDate(),
+                vacancy.getVisible(), vacancy.getCityId(), vacancy.getFileId());
+    }
+
+    @Override
+    public String getName() {
+        return "vacancies";
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -1,19 +1,38 @@
 package ru.job4j.dreamjob.repository;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
 import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.CandidateSummary;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CandidateRepository {
 
     Candidate save(Candidate candidate);
 
+    Collection<Candidate> saveAll(Collection<Candidate> candidates);
+
+    int importAll(Collection<Candidate> candidates);
+
+    long exportAll(int fetchSize, Consumer<Candidate> consumer);
+
     boolean deleteById(int id);
 
+    Optional<Integer> deleteByIdReturningFileId(int id);
+
     boolean update(Candidate candidate);
 
     Optional<Candidate> findById(int id);
 
     Collection<Candidate> findAll();
 
+    Map<Integer, Long> countByCity();
+
+    Collection<Candidate> findPage(ListingFilter filter, PageCursor after, int limit);
+
+    Collection<CandidateSummary> findSummaryPage(ListingFilter filter, PageCursor after, int limit);
+
 }
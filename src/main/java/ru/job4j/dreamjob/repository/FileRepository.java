@@ -2,13 +2,33 @@ package ru.job4j.dreamjob.repository;
 
 import ru.job4j.dreamjob.model.File;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface FileRepository {
 
     File save(File file);
 
+    File saveOrAcquire(File file);
+
     Optional<File> findById(int id);
 
+    Collection<File> findAll();
+
+    boolean updatePath(int id, String path);
+
+    boolean existsByPath(String path);
+
+    Set<String> findExistingPaths(Collection<String> paths);
+
+    Collection<File> findUnreferenced(int limit);
+
     void deleteById(int id);
+
+    Optional<File> deleteByIdReturning(int id);
+
+    Optional<File> releaseById(int id);
+
+    Optional<File> deleteIfUnreferenced(int id);
 }
\ No newline at end of file
@@ -2,19 +2,29 @@ package ru.job4j.dreamjob.repository;
 
 import net.jcip.annotations.ThreadSafe;
 import org.springframework.stereotype.Repository;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
 import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.CandidateSummary;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @ThreadSafe
 @Repository
 public class MemoryCandidateRepository implements CandidateRepository {
 
+    private static final Comparator<Candidate> NEWEST_FIRST = Comparator.comparing(Candidate::getCreationDate, PageCursor.CREATION_DATE_ORDER)
+            .thenComparingInt(Candidate::getId)
+            .reversed();
+
     private final Map<Integer, Candidate> candidates = new ConcurrentHashMap<>();
     private int nextId = 1;
 
@@ -34,11 +44,37 @@ public class MemoryCandidateRepository implements CandidateRepository {
         return candidate;
     }
 
+    @Override
+    public Collection<Candidate> saveAll(Collection<Candidate> candidates) {
+        candidates.forEach(this::save);
+        return candidates;
+    }
+
+    @Override
+    public int importAll(Collection<Candidate> candidates) {
+        return saveAll(candidates).size();
+    }
+
+    @Override
+    public long exportAll(int fetchSize, Consumer<Candidate> consumer) {
+        var count = 0L;
+        for (var candidate : candidates.values()) {
+            consumer.accept(candidate);
+            count++;
+        }
+        return count;
+    }
+
     @Override
     public boolean deleteById(int id) {
         return candidates.remove(id) != null;
     }
 
+    @Override
+    public Optional<Integer> deleteByIdReturningFileId(int id) {
+        return Optional.ofNullable(candidates.remove(id)).map(Candidate::getFileId);
+    }
+
     @Override
     public boolean update(Candidate candidate) {
         return candidates.computeIfPresent(candidate.getId(),
@@ -55,4 +91,27 @@ public class MemoryCandidateRepository implements CandidateRepository {
     public Collection<Candidate> findAll() {
         return candidates.values();
     }
+
+    @Override
+    public Map<Integer, Long> countByCity() {
+        return candidates.values().stream()
+                .collect(Collectors.groupingBy(Candidate::getCityId, Collectors.counting()));
+    }
+
+    @Override
+    public Collection<Candidate> findPage(ListingFilter filter, PageCursor after, int limit) {
+        return candidates.values().stream()
+                .filter(candidate -> filter.matches(candidate.getCityId(), null, candidate.getCreationDate()))
+                .filter(candidate -> after == null || after.isNewerThan(candidate.getCreationDate(), candidate.getId()))
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Collection<CandidateSummary> findSummaryPage(ListingFilter filter, PageCursor after, int limit) {
+        return findPage(filter, after, limit).stream()
+                .map(CandidateSummary::of)
+                .toList();
+    }
 }
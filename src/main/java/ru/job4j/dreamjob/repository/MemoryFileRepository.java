@@ -3,10 +3,14 @@ package ru.job4j.dreamjob.repository;
 import org.springframework.stereotype.Repository;
 import ru.job4j.dreamjob.model.File;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 @Repository
 public class MemoryFileRepository implements FileRepository {
@@ -22,13 +26,77 @@ public class MemoryFileRepository implements FileRepository {
         return file;
     }
 
+    @Override
+    public synchronized File saveOrAcquire(File file) {
+        var existing = files.values().stream()
+                .filter(saved -> saved.getPath().equals(file.getPath()))
+                .findFirst();
+        if (existing.isPresent()) {
+            existing.get().setRefCount(existing.get().getRefCount() + 1);
+            return existing.get();
+        }
+        file.setRefCount(1);
+        return save(file);
+    }
+
     @Override
     public Optional<File> findById(int id) {
         return Optional.ofNullable(files.get(id));
     }
 
+    @Override
+    public Collection<File> findAll() {
+        return files.values();
+    }
+
+    @Override
+    public boolean updatePath(int id, String path) {
+        return files.computeIfPresent(id, (key, file) -> {
+            file.setPath(path);
+            return file;
+        }) != null;
+    }
+
+    @Override
+    public boolean existsByPath(String path) {
+        return files.values().stream().anyMatch(file -> file.getPath().equals(path));
+    }
+
+    @Override
+    public Set<String> findExistingPaths(Collection<String> paths) {
+        return files.values().stream()
+                .map(File::getPath)
+                .filter(paths::contains)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Collection<File> findUnreferenced(int limit) {
+        return List.of();
+    }
+
     @Override
     public void deleteById(int id) {
         files.remove(id);
     }
+
+    @Override
+    public Optional<File> deleteByIdReturning(int id) {
+        return Optional.ofNullable(files.remove(id));
+    }
+
+    @Override
+    public synchronized Optional<File> releaseById(int id) {
+        var file = files.get(id);
+        if (file == null) {
+            return Optional.empty();
+        }
+        file.setRefCount(file.getRefCount() - 1);
+        return file.getRefCount() > 0 ? Optional.empty() : Optional.ofNullable(files.remove(id));
+    }
+
+    @Override
+    public Optional<File> deleteIfUnreferenced(int id) {
+        return Optional.empty();
+    }
 }
\ No newline at end of file
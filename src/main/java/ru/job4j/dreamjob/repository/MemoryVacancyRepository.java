@@ -2,19 +2,30 @@ package ru.job4j.dreamjob.repository;
 
 import net.jcip.annotations.ThreadSafe;
 import org.springframework.stereotype.Repository;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.dto.VacancyFacet;
 import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.model.VacancySummary;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @ThreadSafe
 @Repository
 public class MemoryVacancyRepository implements VacancyRepository {
 
+    private static final Comparator<Vacancy> NEWEST_FIRST = Comparator.comparing(Vacancy::getCreationDate, PageCursor.CREATION_DATE_ORDER)
+            .thenComparingInt(Vacancy::getId)
+            .reversed();
+
     private int nextId = 1;
 
     private final Map<Integer, Vacancy> vacancies = new ConcurrentHashMap<>();
@@ -35,11 +46,37 @@ public class MemoryVacancyRepository implements VacancyRepository {
         return vacancy;
     }
 
+    @Override
+    public Collection<Vacancy> saveAll(Collection<Vacancy> vacancies) {
+        vacancies.forEach(this::save);
+        return vacancies;
+    }
+
+    @Override
+    public int importAll(Collection<Vacancy> vacancies) {
+        return saveAll(vacancies).size();
+    }
+
+    @Override
+    public long exportAll(int fetchSize, Consumer<Vacancy> consumer) {
+        var count = 0L;
+        for (var vacancy : vacancies.values()) {
+            consumer.accept(vacancy);
+            count++;
+        }
+        return count;
+    }
+
     @Override
     public boolean deleteById(int id) {
         return vacancies.remove(id) != null;
     }
 
+    @Override
+    public Optional<Integer> deleteByIdReturningFileId(int id) {
+        return Optional.ofNullable(vacancies.remove(id)).map(Vacancy::getFileId);
+    }
+
     @Override
     public boolean update(Vacancy vacancy) {
         return vacancies.computeIfPresent(vacancy.getId(),
@@ -56,4 +93,34 @@ public class MemoryVacancyRepository implements VacancyRepository {
     public Collection<Vacancy> findAll() {
         return vacancies.values();
     }
+
+    @Override
+    public Map<String, Integer> countTitles() {
+        return vacancies.values().stream()
+                .collect(Collectors.toMap(Vacancy::getTitle, vacancy -> 1, Integer::sum));
+    }
+
+    @Override
+    public Map<VacancyFacet, Long> countByCityAndVisibility() {
+        return vacancies.values().stream()
+                .collect(Collectors.groupingBy(vacancy -> new VacancyFacet(vacancy.getCityId(), vacancy.getVisible()),
+                        Collectors.counting()));
+    }
+
+    @Override
+    public Collection<Vacancy> findPage(ListingFilter filter, PageCursor after, int limit) {
+        return vacancies.values().stream()
+                .filter(vacancy -> filter.matches(vacancy.getCityId(), vacancy.getVisible(), vacancy.getCreationDate()))
+                .filter(vacancy -> after == null || after.isNewerThan(vacancy.getCreationDate(), vacancy.getId()))
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Collection<VacancySummary> findSummaryPage(ListingFilter filter, PageCursor after, int limit) {
+        return findPage(filter, after, limit).stream()
+                .map(VacancySummary::of)
+                .toList();
+    }
 }
@@ -0,0 +1,16 @@
+package ru.job4j.dreamjob.repository;
+
+import ru.job4j.dreamjob.model.Notification;
+
+import java.util.Collection;
+
+public interface NotificationRepository {
+
+    int saveAll(Collection<Notification> notifications);
+
+    Collection<Notification> findByUserId(int userId, int limit);
+
+    int countUnseen(int userId);
+
+    int markSeen(int userId);
+}
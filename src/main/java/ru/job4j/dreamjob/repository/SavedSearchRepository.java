@@ -0,0 +1,16 @@
+package ru.job4j.dreamjob.repository;
+
+import ru.job4j.dreamjob.model.SavedSearch;
+
+import java.util.Collection;
+
+public interface SavedSearchRepository {
+
+    SavedSearch save(SavedSearch savedSearch);
+
+    boolean deleteById(int id, int userId);
+
+    Collection<SavedSearch> findByUserId(int userId);
+
+    Collection<SavedSearch> findAll();
+}
@@ -1,40 +1,136 @@
 package ru.job4j.dreamjob.repository;
 
+import org.postgresql.PGConnection;
 import org.springframework.stereotype.Repository;
+import org.sql2o.Connection;
+import org.sql2o.Query;
 import org.sql2o.Sql2o;
+import org.sql2o.Sql2oException;
+import ru.job4j.dreamjob.csv.CsvWriter;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
 import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.CandidateSummary;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 public class Sql2oCandidateRepository implements CandidateRepository {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO candidates(name, description, creation_date, city_id, file_id)
+            VALUES (:name, :description, :creationDate, :cityId, :fileId)
+            """;
+
+    private static final String COPY_SQL = "COPY candidates (name, description, creation_date, city_id, file_id) FROM STDIN WITH (FORMAT csv)";
+
     private final Sql2o sql2o;
 
+    private final SqlDialect dialect;
+
     public Sql2oCandidateRepository(Sql2o sql2o) {
         this.sql2o = sql2o;
+        this.dialect = SqlDialect.of(sql2o);
     }
 
     @Override
     public Candidate save(Candidate candidate) {
         try (var connection = sql2o.open()) {
-            var sql = """
-                      INSERT INTO candidates(name, description, creation_date, city_id, file_id)
-                      VALUES (:name, :description, :creationDate, :cityId, :fileId)
-                      """;
-            var query = connection.createQuery(sql, true)
-                    .addParameter("name", candidate.getName())
-                    .addParameter("description", candidate.getDescription())
-                    .addParameter("creationDate", candidate.getCreationDate())
-                    .addParameter("cityId", candidate.getCityId())
-                    .addParameter("fileId", candidate.getFileId());
+            var query = bindInsert(connection.createQuery(INSERT_SQL, true), candidate);
             int generatedId = query.executeUpdate().getKey(Integer.class);
             candidate.setId(generatedId);
             return candidate;
         }
     }
 
+    @Override
+    public Collection<Candidate> saveAll(Collection<Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery(INSERT_SQL, true);
+            for (var candidate : candidates) {
+                bindInsert(query, candidate).addToBatch();
+            }
+            var ids = query.executeBatch().getKeys(Integer.class).iterator();
+            candidates.forEach(candidate -> candidate.setId(ids.next()));
+            return candidates;
+        }
+    }
+
+    private Query bindInsert(Query query, Candidate candidate) {
+        return query
+                .addParameter("name", candidate.getName())
+                .addParameter("description", candidate.getDescription())
+                .addParameter("creationDate", candidate.getCreationDate())
+                .addParameter("cityId", candidate.getCityId())
+                .addParameter("fileId", fileIdOf(candidate));
+    }
+
+    private Integer fileIdOf(Candidate candidate) {
+        return candidate.getFileId() == 0 ? null : candidate.getFileId();
+    }
+
+    @Override
+    public int importAll(Collection<Candidate> candidates) {
+        if (dialect != SqlDialect.POSTGRESQL) {
+            return saveAll(candidates).size();
+        }
+        try (var connection = sql2o.open()) {
+            var copyManager = connection.getJdbcConnection().unwrap(PGConnection.class).getCopyAPI();
+            return (int) copyManager.copyIn(COPY_SQL, new StringReader(toCsv(candidates)));
+        } catch (SQLException | IOException e) {
+            throw new Sql2oException("Could not copy candidates", e);
+        }
+    }
+
+    @Override
+    public long exportAll(int fetchSize, Consumer<Candidate> consumer) {
+        try (var connection = sql2o.beginTransaction()) {
+            var jdbcConnection = connection.getJdbcConnection();
+            var previousFetchSize = dialect.replaceFetchSize(jdbcConnection, fetchSize);
+            try (var candidates = connection.createQuery("SELECT * FROM candidates ORDER BY id")
+                    .setColumnMappings(Candidate.COLUMN_MAPPING)
+                    .executeAndFetchLazy(Candidate.class)) {
+                var count = 0L;
+                for (var candidate : candidates) {
+                    consumer.accept(candidate);
+                    count++;
+                }
+                return count;
+            } finally {
+                dialect.replaceFetchSize(jdbcConnection, previousFetchSize);
+            }
+        } catch (SQLException e) {
+            throw new Sql2oException("Could not export candidates", e);
+        }
+    }
+
+    private String toCsv(Collection<Candidate> candidates) throws IOException {
+        var buffer = new StringWriter();
+        var csv = new CsvWriter(buffer);
+        for (var candidate : candidates) {
+            csv.writeRecord(Arrays.asList(candidate.getName(), candidate.getDescription(), String.valueOf(candidate.getCreationDate()),
+                    String.valueOf(candidate.getCityId()), Objects.toString(fileIdOf(candidate), null)));
+        }
+        return buffer.toString();
+    }
+
     @Override
     public boolean deleteById(int id) {
         try (var connection = sql2o.open()) {
@@ -48,6 +144,16 @@ public class Sql2oCandidateRepository implements CandidateRepository {
         }
     }
 
+    @Override
+    public Optional<Integer> deleteByIdReturningFileId(int id) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery(dialect.deleteByIdReturning("candidates", "file_id"))
+                    .addParameter("id", id);
+            var fileIds = query.executeAndFetch((ResultSet resultSet) -> resultSet.getInt("file_id"));
+            return fileIds.stream().findFirst();
+        }
+    }
+
     @Override
     public boolean update(Candidate candidate) {
         try (var connection = sql2o.open()) {
@@ -62,7 +168,7 @@ public class Sql2oCandidateRepository implements CandidateRepository {
                     .addParameter("description", candidate.getDescription())
                     .addParameter("creationDate", candidate.getCreationDate())
                     .addParameter("cityId", candidate.getCityId())
-                    .addParameter("fileId", candidate.getFileId())
+                    .addParameter("fileId", fileIdOf(candidate))
                     .addParameter("id", candidate.getId());
             var affectedRows = query.executeUpdate().getResult();
             return affectedRows > 0;
@@ -86,4 +192,85 @@ public class Sql2oCandidateRepository implements CandidateRepository {
             return query.setColumnMappings(Candidate.COLUMN_MAPPING).executeAndFetch(Candidate.class);
         }
     }
+
+    @Override
+    public Map<Integer, Long> countByCity() {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("SELECT city_id, COUNT(*) AS total FROM candidates GROUP BY city_id");
+            var rows = query.executeAndFetch((ResultSet resultSet) -> Map.entry(resultSet.getInt("city_id"), resultSet.getLong("total")));
+            return rows.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+    }
+
+    @Override
+    public Collection<Candidate> findPage(ListingFilter filter, PageCursor after, int limit) {
+        try (var connection = sql2o.open()) {
+            var query = createPageQuery(connection, pageSql("*", filter, after), filter, after, limit);
+            return query.setColumnMappings(Candidate.COLUMN_MAPPING).executeAndFetch(Candidate.class);
+        }
+    }
+
+    @Override
+    public Collection<CandidateSummary> findSummaryPage(ListingFilter filter, PageCursor after, int limit) {
+        try (var connection = sql2o.open()) {
+            var query = createPageQuery(connection, pageSql("id, name, creation_date", filter, after), filter, after, limit);
+            return query.executeAndFetch(this::toSummary);
+        }
+    }
+
+    String explainPageKeys(ListingFilter filter, PageCursor after, int limit) {
+        try (var connection = sql2o.open()) {
+            var query = createPageQuery(connection, "EXPLAIN " + pageSql("id", filter, after), filter, after, limit);
+            return query.executeScalar(String.class);
+        }
+    }
+
+    private Query createPageQuery(Connection connection, String sql, ListingFilter filter, PageCursor after, int limit) {
+        return bindPageQuery(connection.createQuery(sql), filter, after).addParameter("limit", limit);
+    }
+
+    private String pageSql(String columns, ListingFilter filter, PageCursor after) {
+        var conditions = new ArrayList<String>();
+        if (filter.getCityId() != null) {
+            conditions.add("city_id = :cityId");
+        }
+        if (filter.getCreatedAfter() != null) {
+            conditions.add("creation_date > :createdAfter");
+        }
+        if (after != null && after.getCreationDate() == null) {
+            conditions.add("(creation_date IS NOT NULL OR id < :id)");
+        } else if (after != null) {
+            conditions.add("(creation_date < :creationDate OR (creation_date = :creationDate AND id < :id))");
+        }
+        var where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+        return "SELECT %s FROM candidates %s ORDER BY creation_date DESC NULLS FIRST, id DESC LIMIT :limit".formatted(columns, where);
+    }
+
+    private Query bindPageQuery(Query query, ListingFilter filter, PageCursor after) {
+        if (filter.getCityId() != null) {
+            query.addParameter("cityId", filter.getCityId());
+        }
+        if (filter.getCreatedAfter() != null) {
+            query.addParameter("createdAfter", filter.getCreatedAfter());
+        }
+        if (after != null && after.getCreationDate() != null) {
+            query.addParameter("creationDate", after.getCreationDate());
+        }
+        if (after != null) {
+            query.addParameter("id", after.getId());
+        }
+        return query;
+    }
+
+    private CandidateSummary toSummary(ResultSet resultSet) throws SQLException {
+        return new CandidateSummary(
+                resultSet.getInt("id"),
+                resultSet.getString("name"),
+                toLocalDateTime(resultSet.getTimestamp("creation_date"))
+        );
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
 }
\ No newline at end of file
@@ -4,38 +4,130 @@ import org.springframework.stereotype.Repository;
 import org.sql2o.Sql2o;
 import ru.job4j.dreamjob.model.File;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class Sql2oFileRepository implements FileRepository {
 
+    private static final String UNREFERENCED = """
+            NOT EXISTS (SELECT 1 FROM vacancies v WHERE v.file_id = files.id)
+            AND NOT EXISTS (SELECT 1 FROM candidates c WHERE c.file_id = files.id)
+            """;
+
     private final Sql2o sql2o;
 
+    private final SqlDialect dialect;
+
     public Sql2oFileRepository(Sql2o sql2o) {
         this.sql2o = sql2o;
+        this.dialect = SqlDialect.of(sql2o);
     }
 
     @Override
     public File save(File file) {
         try (var connection = sql2o.open()) {
-            var query = connection.createQuery("INSERT INTO files (name, path) VALUES (:name, :path)", true)
+            var sql = """
+                    INSERT INTO files (name, path, size, checksum)
+                    VALUES (:name, :path, :size, :checksum)
+                    """;
+            var query = connection.createQuery(sql, true)
                     .addParameter("name", file.getName())
-                    .addParameter("path", file.getPath());
+                    .addParameter("path", file.getPath())
+                    .addParameter("size", file.getSize())
+                    .addParameter("checksum", file.getChecksum());
             int generatedId = query.executeUpdate().getKey(Integer.class);
             file.setId(generatedId);
             return file;
         }
     }
 
+    @Override
+    public File saveOrAcquire(File file) {
+        try (var connection = sql2o.open()) {
+            var sql = switch (dialect) {
+                case POSTGRESQL -> """
+                        INSERT INTO files (name, path, size, checksum, ref_count)
+                        VALUES (:name, :path, :size, :checksum, 1)
+                        ON CONFLICT (path) DO UPDATE SET ref_count = files.ref_count + 1
+                        """;
+                case H2 -> """
+                        MERGE INTO files f
+                        USING (SELECT CAST(:path AS VARCHAR) AS path) s ON f.path = s.path
+                        WHEN MATCHED THEN UPDATE SET ref_count = f.ref_count + 1
+                        WHEN NOT MATCHED THEN INSERT (name, path, size, checksum, ref_count)
+                            VALUES (:name, :path, :size, :checksum, 1)
+                        """;
+            };
+            connection.createQuery(sql)
+                    .addParameter("name", file.getName())
+                    .addParameter("path", file.getPath())
+                    .addParameter("size", file.getSize())
+                    .addParameter("checksum", file.getChecksum())
+                    .executeUpdate();
+            var query = connection.createQuery("SELECT * FROM files WHERE path = :path");
+            return query.addParameter("path", file.getPath())
+                    .setColumnMappings(File.COLUMN_MAPPING)
+                    .executeAndFetchFirst(File.class);
+        }
+    }
+
     @Override
     public Optional<File> findById(int id) {
         try (var connection = sql2o.open()) {
             var query = connection.createQuery("SELECT * FROM files WHERE id = :id");
-            var file = query.addParameter("id", id).executeAndFetchFirst(File.class);
+            var file = query.addParameter("id", id).setColumnMappings(File.COLUMN_MAPPING).executeAndFetchFirst(File.class);
             return Optional.ofNullable(file);
         }
     }
 
+    @Override
+    public Collection<File> findAll() {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("SELECT * FROM files");
+            return query.setColumnMappings(File.COLUMN_MAPPING).executeAndFetch(File.class);
+        }
+    }
+
+    @Override
+    public boolean updatePath(int id, String path) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("UPDATE files SET path = :path WHERE id = :id")
+                    .addParameter("path", path)
+                    .addParameter("id", id);
+            return query.executeUpdate().getResult() > 0;
+        }
+    }
+
+    @Override
+    public boolean existsByPath(String path) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("SELECT COUNT(*) FROM files WHERE path = :path");
+            return query.addParameter("path", path).executeScalar(Integer.class) > 0;
+        }
+    }
+
+    @Override
+    public Set<String> findExistingPaths(Collection<String> paths) {
+        if (paths.isEmpty()) {
+            return Set.of();
+        }
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("SELECT path FROM files WHERE path IN (:paths)");
+            return new HashSet<>(query.addParameter("paths", paths).executeScalarList(String.class));
+        }
+    }
+
+    @Override
+    public Collection<File> findUnreferenced(int limit) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("SELECT * FROM files WHERE " + UNREFERENCED + " ORDER BY id LIMIT :limit");
+            return query.addParameter("limit", limit).setColumnMappings(File.COLUMN_MAPPING).executeAndFetch(File.class);
+        }
+    }
+
     @Override
     public void deleteById(int id) {
         try (var connection = sql2o.open()) {
@@ -43,4 +135,34 @@ public class Sql2oFileRepository implements FileRepository {
             query.addParameter("id", id).executeUpdate();
         }
     }
+
+    @Override
+    public Optional<File> deleteByIdReturning(int id) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery(dialect.deleteByIdReturning("files", "*"));
+            var file = query.addParameter("id", id).setColumnMappings(File.COLUMN_MAPPING).executeAndFetchFirst(File.class);
+            return Optional.ofNullable(file);
+        }
+    }
+
+    @Override
+    public Optional<File> releaseById(int id) {
+        try (var connection = sql2o.open()) {
+            connection.createQuery("UPDATE files SET ref_count = ref_count - 1 WHERE id = :id")
+                    .addParameter("id", id)
+                    .executeUpdate();
+            var query = connection.createQuery(dialect.deleteReturning("files", "id = :id AND ref_count <= 0", "*"));
+            var file = query.addParameter("id", id).setColumnMappings(File.COLUMN_MAPPING).executeAndFetchFirst(File.class);
+            return Optional.ofNullable(file);
+        }
+    }
+
+    @Override
+    public Optional<File> deleteIfUnreferenced(int id) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery(dialect.deleteReturning("files", "id = :id AND " + UNREFERENCED, "*"));
+            var file = query.addParameter("id", id).setColumnMappings(File.COLUMN_MAPPING).executeAndFetchFirst(File.class);
+            return Optional.ofNullable(file);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package ru.job4j.dreamjob.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import org.sql2o.Query;
+import org.sql2o.Sql2o;
+import org.sql2o.Sql2oException;
+import ru.job4j.dreamjob.model.Notification;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+@Repository
+public class Sql2oNotificationRepository implements NotificationRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Sql2oNotificationRepository.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications(user_id, saved_search_id, vacancy_id, title, creation_date, seen)
+            SELECT :userId, :savedSearchId, :vacancyId, :title, :creationDate, :seen
+            WHERE EXISTS (SELECT 1 FROM saved_searches WHERE id = :savedSearchId)
+            AND EXISTS (SELECT 1 FROM vacancies WHERE id = :vacancyId)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final Sql2o sql2o;
+
+    public Sql2oNotificationRepository(Sql2o sql2o) {
+        this.sql2o = sql2o;
+    }
+
+    @Override
+    public int saveAll(Collection<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery(INSERT_SQL);
+            notifications.forEach(notification -> bind(query, notification).addToBatch());
+            return Arrays.stream(query.executeBatch().getBatchResult()).map(count -> Math.max(count, 0)).sum();
+        } catch (Sql2oException e) {
+            LOGGER.debug("Batch insert of {} notifications failed, inserting one by one", notifications.size(), e);
+            return notifications.stream().mapToInt(this::save).sum();
+        }
+    }
+
+    private int save(Notification notification) {
+        try (var connection = sql2o.open()) {
+            return bind(connection.createQuery(INSERT_SQL), notification).executeUpdate().getResult();
+        } catch (Sql2oException e) {
+            LOGGER.debug("Skipped notification about vacancy {} for user {}",
+                    notification.getVacancyId(), notification.getUserId(), e);
+            return 0;
+        }
+    }
+
+    private Query bind(Query query, Notification notification) {
+        return query.addParameter("userId", notification.getUserId())
+                .addParameter("savedSearchId", notification.getSavedSearchId())
+                .addParameter("vacancyId", notification.getVacancyId())
+                .addParameter("title", notification.getTitle())
+                .addParameter("creationDate", notification.getCreationDate())
+                .addParameter("seen", notification.getSeen());
+    }
+
+    @Override
+    public Collection<Notification> findByUserId(int userId, int limit) {
+        try (var connection = sql2o.open()) {
+            var sql = "SELECT * FROM notifications WHERE user_id = :userId ORDER BY creation_date DESC, id DESC LIMIT :limit";
+            var query = connection.createQuery(sql)
+                    .addParameter("userId", userId)
+                    .addParameter("limit", limit);
+            return query.setColumnMappings(Notification.COLUMN_MAPPING).executeAndFetch(Notification.class);
+        }
+    }
+
+    @Override
+    public int countUnseen(int userId) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("SELECT COUNT(*) FROM notifications WHERE user_id = :userId AND NOT seen")
+                    .addParameter("userId", userId);
+            return query.executeScalar(Integer.class);
+        }
+    }
+
+    @Override
+    public int markSeen(int userId) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("UPDATE notifications SET seen = true WHERE user_id = :userId AND NOT seen")
+                    .addParameter("userId", userId);
+            return query.executeUpdate().getResult();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.job4j.dreamjob.repository;
+
+import org.springframework.stereotype.Repository;
+import org.sql2o.Sql2o;
+import ru.job4j.dreamjob.model.SavedSearch;
+
+import java.util.Collection;
+
+@Repository
+public class Sql2oSavedSearchRepository implements SavedSearchRepository {
+
+    private final Sql2o sql2o;
+
+    public Sql2oSavedSearchRepository(Sql2o sql2o) {
+        this.sql2o = sql2o;
+    }
+
+    @Override
+    public SavedSearch save(SavedSearch savedSearch) {
+        try (var connection = sql2o.open()) {
+            var sql = """
+                    INSERT INTO saved_searches(user_id, query, city_id, creation_date)
+                    VALUES (:userId, :query, :cityId, :creationDate)
+                    """;
+            var query = connection.createQuery(sql, true)
+                    .addParameter("userId", savedSearch.getUserId())
+                    .addParameter("query", savedSearch.getQuery())
+                    .addParameter("cityId", savedSearch.getCityId())
+                    .addParameter("creationDate", savedSearch.getCreationDate());
+            int generatedId = query.executeUpdate().getKey(Integer.class);
+            savedSearch.setId(generatedId);
+            return savedSearch;
+        }
+    }
+
+    @Override
+    public boolean deleteById(int id, int userId) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("DELETE FROM saved_searches WHERE id = :id AND user_id = :userId")
+                    .addParameter("id", id)
+                    .addParameter("userId", userId);
+            return query.executeUpdate().getResult() > 0;
+        }
+    }
+
+    @Override
+    public Collection<SavedSearch> findByUserId(int userId) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("SELECT * FROM saved_searches WHERE user_id = :userId ORDER BY id")
+                    .addParameter("userId", userId);
+            return query.setColumnMappings(SavedSearch.COLUMN_MAPPING).executeAndFetch(SavedSearch.class);
+        }
+    }
+
+    @Override
+    public Collection<SavedSearch> findAll() {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("SELECT * FROM saved_searches");
+            return query.setColumnMappings(SavedSearch.COLUMN_MAPPING).executeAndFetch(SavedSearch.class);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.job4j.dreamjob.repository;
+
+import net.jcip.annotations.ThreadSafe;
+import org.springframework.stereotype.Component;
+import org.sql2o.Sql2o;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+@ThreadSafe
+@Component
+public class Sql2oUnitOfWork implements UnitOfWork {
+
+    private final Sql2o sql2o;
+
+    private final ThreadBoundConnectionSource connectionSource;
+
+    private final ThreadLocal<Synchronizations> synchronizations = new ThreadLocal<>();
+
+    public Sql2oUnitOfWork(Sql2o sql2o) {
+        if (!(sql2o.getConnectionSource() instanceof ThreadBoundConnectionSource source)) {
+            throw new IllegalStateException("Sql2o must be configured with a ThreadBoundConnectionSource");
+        }
+        this.sql2o = sql2o;
+        this.connectionSource = source;
+    }
+
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        if (synchronizations.get() != null) {
+            return work.get();
+        }
+        var current = new Synchronizations();
+        T result;
+        try (var connection = sql2o.beginTransaction(connectionSource.getTarget())) {
+            connectionSource.bind(connection.getJdbcConnection());
+            synchronizations.set(current);
+            try {
+                result = work.get();
+                connection.commit();
+            } finally {
+                synchronizations.remove();
+                connectionSource.unbind();
+            }
+        } catch (RuntimeException e) {
+            current.afterRollback.forEach(Runnable::run);
+            throw e;
+        }
+        current.afterCommit.forEach(Runnable::run);
+        return result;
+    }
+
+    @Override
+    public void afterCommit(Runnable action) {
+        var current = synchronizations.get();
+        if (current == null) {
+            action.run();
+            return;
+        }
+        current.afterCommit.add(action);
+    }
+
+    @Override
+    public void afterRollback(Runnable action) {
+        var current = synchronizations.get();
+        if (current != null) {
+            current.afterRollback.add(action);
+        }
+    }
+
+    private static class Synchronizations {
+
+        private final List<Runnable> afterCommit = new ArrayList<>();
+
+        private final List<Runnable> afterRollback = new ArrayList<>();
+    }
+}
@@ -1,41 +1,138 @@
 package ru.job4j.dreamjob.repository;
 
+import org.postgresql.PGConnection;
 import org.springframework.stereotype.Repository;
+import org.sql2o.Connection;
+import org.sql2o.Query;
 import org.sql2o.Sql2o;
+import org.sql2o.Sql2oException;
+import ru.job4j.dreamjob.csv.CsvWriter;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.dto.VacancyFacet;
 import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.model.VacancySummary;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 public class Sql2oVacancyRepository implements VacancyRepository {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO vacancies(title, description, creation_date, visible, city_id, file_id)
+            VALUES (:title, :description, :creationDate, :visible, :cityId, :fileId)
+            """;
+
+    private static final String COPY_SQL = "COPY vacancies (title, description, creation_date, visible, city_id, file_id) FROM STDIN WITH (FORMAT csv)";
+
     private final Sql2o sql2o;
 
+    private final SqlDialect dialect;
+
     public Sql2oVacancyRepository(Sql2o sql2o) {
         this.sql2o = sql2o;
+        this.dialect = SqlDialect.of(sql2o);
     }
 
     @Override
     public Vacancy save(Vacancy vacancy) {
         try (var connection = sql2o.open()) {
-            var sql = """
-                      INSERT INTO vacancies(title, description, creation_date, visible, city_id, file_id)
-                      VALUES (:title, :description, :creationDate, :visible, :cityId, :fileId)
-                      """;
-            var query = connection.createQuery(sql, true)
-                    .addParameter("title", vacancy.getTitle())
-                    .addParameter("description", vacancy.getDescription())
-                    .addParameter("creationDate", vacancy.getCreationDate())
-                    .addParameter("visible", vacancy.getVisible())
-                    .addParameter("cityId", vacancy.getCityId())
-                    .addParameter("fileId", vacancy.getFileId());
+            var query = bindInsert(connection.createQuery(INSERT_SQL, true), vacancy);
             int generatedId = query.executeUpdate().getKey(Integer.class);
             vacancy.setId(generatedId);
             return vacancy;
         }
     }
 
+    @Override
+    public Collection<Vacancy> saveAll(Collection<Vacancy> vacancies) {
+        if (vacancies.isEmpty()) {
+            return vacancies;
+        }
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery(INSERT_SQL, true);
+            for (var vacancy : vacancies) {
+                bindInsert(query, vacancy).addToBatch();
+            }
+            var ids = query.executeBatch().getKeys(Integer.class).iterator();
+            vacancies.forEach(vacancy -> vacancy.setId(ids.next()));
+            return vacancies;
+        }
+    }
+
+    private Query bindInsert(Query query, Vacancy vacancy) {
+        return query
+                .addParameter("title", vacancy.getTitle())
+                .addParameter("description", vacancy.getDescription())
+                .addParameter("creationDate", vacancy.getCreationDate())
+                .addParameter("visible", vacancy.getVisible())
+                .addParameter("cityId", vacancy.getCityId())
+                .addParameter("fileId", fileIdOf(vacancy));
+    }
+
+    private Integer fileIdOf(Vacancy vacancy) {
+        return vacancy.getFileId() == 0 ? null : vacancy.getFileId();
+    }
+
+    @Override
+    public int importAll(Collection<Vacancy> vacancies) {
+        if (dialect != SqlDialect.POSTGRESQL) {
+            return saveAll(vacancies).size();
+        }
+        try (var connection = sql2o.open()) {
+            var copyManager = connection.getJdbcConnection().unwrap(PGConnection.class).getCopyAPI();
+            return (int) copyManager.copyIn(COPY_SQL, new StringReader(toCsv(vacancies)));
+        } catch (SQLException | IOException e) {
+            throw new Sql2oException("Could not copy vacancies", e);
+        }
+    }
+
+    @Override
+    public long exportAll(int fetchSize, Consumer<Vacancy> consumer) {
+        try (var connection = sql2o.beginTransaction()) {
+            var jdbcConnection = connection.getJdbcConnection();
+            var previousFetchSize = dialect.replaceFetchSize(jdbcConnection, fetchSize);
+            try (var vacancies = connection.createQuery("SELECT * FROM vacancies ORDER BY id")
+                    .setColumnMappings(Vacancy.COLUMN_MAPPING)
+                    .executeAndFetchLazy(Vacancy.class)) {
+                var count = 0L;
+                for (var vacancy : vacancies) {
+                    consumer.accept(vacancy);
+                    count++;
+                }
+                return count;
+            } finally {
+                dialect.replaceFetchSize(jdbcConnection, previousFetchSize);
+            }
+        } catch (SQLException e) {
+            throw new Sql2oException("Could not export vacancies", e);
+        }
+    }
+
+    private String toCsv(Collection<Vacancy> vacancies) throws IOException {
+        var buffer = new StringWriter();
+        var csv = new CsvWriter(buffer);
+        for (var vacancy : vacancies) {
+            csv.writeRecord(Arrays.asList(vacancy.getTitle(), vacancy.getDescription(), String.valueOf(vacancy.getCreationDate()),
+                    String.valueOf(vacancy.getVisible()), String.valueOf(vacancy.getCityId()), Objects.toString(fileIdOf(vacancy), null)));
+        }
+        return buffer.toString();
+    }
+
     @Override
     public boolean deleteById(int id) {
         try (var connection = sql2o.open()) {
@@ -49,6 +146,16 @@ public class Sql2oVacancyRepository implements VacancyRepository {
         }
     }
 
+    @Override
+    public Optional<Integer> deleteByIdReturningFileId(int id) {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery(dialect.deleteByIdReturning("vacancies", "file_id"))
+                    .addParameter("id", id);
+            var fileIds = query.executeAndFetch((ResultSet resultSet) -> resultSet.getInt("file_id"));
+            return fileIds.stream().findFirst();
+        }
+    }
+
     @Override
     public boolean update(Vacancy vacancy) {
         try (var connection = sql2o.open()) {
@@ -64,7 +171,7 @@ public class Sql2oVacancyRepository implements VacancyRepository {
                     .addParameter("creationDate", vacancy.getCreationDate())
                     .addParameter("visible", vacancy.getVisible())
                     .addParameter("cityId", vacancy.getCityId())
-                    .addParameter("fileId", vacancy.getFileId())
+                    .addParameter("fileId", fileIdOf(vacancy))
                     .addParameter("id", vacancy.getId());
             var affectedRows = query.executeUpdate().getResult();
             return affectedRows > 0;
@@ -88,4 +195,103 @@ public class Sql2oVacancyRepository implements VacancyRepository {
             return query.setColumnMappings(Vacancy.COLUMN_MAPPING).executeAndFetch(Vacancy.class);
         }
     }
+
+    @Override
+    public Map<String, Integer> countTitles() {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery("SELECT title, COUNT(*) AS total FROM vacancies GROUP BY title");
+            var rows = query.executeAndFetch((ResultSet resultSet) -> Map.entry(resultSet.getString("title"), resultSet.getInt("total")));
+            return rows.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+    }
+
+    @Override
+    public Map<VacancyFacet, Long> countByCityAndVisibility() {
+        try (var connection = sql2o.open()) {
+            var query = connection.createQuery(
+                    "SELECT city_id, visible, COUNT(*) AS total FROM vacancies GROUP BY city_id, visible");
+            var rows = query.executeAndFetch((ResultSet resultSet) -> Map.entry(
+                    new VacancyFacet(resultSet.getInt("city_id"), resultSet.getBoolean("visible")), resultSet.getLong("total")));
+            return rows.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+    }
+
+    @Override
+    public Collection<Vacancy> findPage(ListingFilter filter, PageCursor after, int limit) {
+        try (var connection = sql2o.open()) {
+            var query = createPageQuery(connection, pageSql("*", filter, after), filter, after, limit);
+            return query.setColumnMappings(Vacancy.COLUMN_MAPPING).executeAndFetch(Vacancy.class);
+        }
+    }
+
+    @Override
+    public Collection<VacancySummary> findSummaryPage(ListingFilter filter, PageCursor after, int limit) {
+        try (var connection = sql2o.open()) {
+            var query = createPageQuery(connection, pageSql("id, title, creation_date, visible", filter, after), filter, after, limit);
+            return query.executeAndFetch(this::toSummary);
+        }
+    }
+
+    String explainPageKeys(ListingFilter filter, PageCursor after, int limit) {
+        try (var connection = sql2o.open()) {
+            var query = createPageQuery(connection, "EXPLAIN " + pageSql("id", filter, after), filter, after, limit);
+            return query.executeScalar(String.class);
+        }
+    }
+
+    private Query createPageQuery(Connection connection, String sql, ListingFilter filter, PageCursor after, int limit) {
+        return bindPageQuery(connection.createQuery(sql), filter, after).addParameter("limit", limit);
+    }
+
+    private String pageSql(String columns, ListingFilter filter, PageCursor after) {
+        var conditions = new ArrayList<String>();
+        if (filter.getCityId() != null) {
+            conditions.add("city_id = :cityId");
+        }
+        if (filter.getVisible() != null) {
+            conditions.add("visible = :visible");
+        }
+        if (filter.getCreatedAfter() != null) {
+            conditions.add("creation_date > :createdAfter");
+        }
+        if (after != null && after.getCreationDate() == null) {
+            conditions.add("(creation_date IS NOT NULL OR id < :id)");
+        } else if (after != null) {
+            conditions.add("(creation_date < :creationDate OR (creation_date = :creationDate AND id < :id))");
+        }
+        var where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+        return "SELECT %s FROM vacancies %s ORDER BY creation_date DESC NULLS FIRST, id DESC LIMIT :limit".formatted(columns, where);
+    }
+
+    private Query bindPageQuery(Query query, ListingFilter filter, PageCursor after) {
+        if (filter.getCityId() != null) {
+            query.addParameter("cityId", filter.getCityId());
+        }
+        if (filter.getVisible() != null) {
+            query.addParameter("visible", filter.getVisible());
+        }
+        if (filter.getCreatedAfter() != null) {
+            query.addParameter("createdAfter", filter.getCreatedAfter());
+        }
+        if (after != null && after.getCreationDate() != null) {
+            query.addParameter("creationDate", after.getCreationDate());
+        }
+        if (after != null) {
+            query.addParameter("id", after.getId());
+        }
+        return query;
+    }
+
+    private VacancySummary toSummary(ResultSet resultSet) throws SQLException {
+        return new VacancySummary(
+                resultSet.getInt("id"),
+                resultSet.getString("title"),
+                toLocalDateTime(resultSet.getTimestamp("creation_date")),
+                resultSet.getBoolean("visible")
+        );
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
 }
\ No newline at end of file
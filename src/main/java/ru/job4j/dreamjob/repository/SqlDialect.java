@@ -0,0 +1,54 @@
+package ru.job4j.dreamjob.repository;
+
+import org.postgresql.PGConnection;
+import org.sql2o.Sql2o;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public enum SqlDialect {
+
+    POSTGRESQL {
+        @Override
+        public String deleteReturning(String table, String condition, String columns) {
+            return "DELETE FROM %s WHERE %s RETURNING %s".formatted(table, condition, columns);
+        }
+
+        @Override
+        public int replaceFetchSize(Connection connection, int fetchSize) throws SQLException {
+            var pgConnection = connection.unwrap(PGConnection.class);
+            var previous = pgConnection.getDefaultFetchSize();
+            pgConnection.setDefaultFetchSize(fetchSize);
+            return previous;
+        }
+    },
+
+    H2 {
+        @Override
+        public String deleteReturning(String table, String condition, String columns) {
+            return "SELECT %s FROM OLD TABLE (DELETE FROM %s WHERE %s)".formatted(columns, table, condition);
+        }
+
+        @Override
+        public int replaceFetchSize(Connection connection, int fetchSize) {
+            return 0;
+        }
+    };
+
+    public abstract String deleteReturning(String table, String condition, String columns);
+
+    public abstract int replaceFetchSize(Connection connection, int fetchSize) throws SQLException;
+
+    public String deleteByIdReturning(String table, String columns) {
+        return deleteReturning(table, "id = :id", columns);
+    }
+
+    public static SqlDialect of(Sql2o sql2o) {
+        try (var connection = sql2o.open()) {
+            var productName = connection.getJdbcConnection().getMetaData().getDatabaseProductName();
+            return "H2".equalsIgnoreCase(productName) ? H2 : POSTGRESQL;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not detect database dialect", e);
+        }
+    }
+}
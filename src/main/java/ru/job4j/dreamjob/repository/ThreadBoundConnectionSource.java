@@ -0,0 +1,41 @@
+package ru.job4j.dreamjob.repository;
+
+import net.jcip.annotations.ThreadSafe;
+import org.sql2o.connectionsources.ConnectionSource;
+import org.sql2o.connectionsources.ConnectionSources;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@ThreadSafe
+public class ThreadBoundConnectionSource implements ConnectionSource {
+
+    private final ConnectionSource target;
+
+    private final ThreadLocal<Connection> boundConnection = new ThreadLocal<>();
+
+    public ThreadBoundConnectionSource(ConnectionSource target) {
+        this.target = target;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var connection = boundConnection.get();
+        if (connection == null) {
+            return target.getConnection();
+        }
+        return ConnectionSources.join(connection).getConnection();
+    }
+
+    public ConnectionSource getTarget() {
+        return target;
+    }
+
+    public void bind(Connection connection) {
+        boundConnection.set(connection);
+    }
+
+    public void unbind() {
+        boundConnection.remove();
+    }
+}
@@ -0,0 +1,12 @@
+package ru.job4j.dreamjob.repository;
+
+import java.util.function.Supplier;
+
+public interface UnitOfWork {
+
+    <T> T inTransaction(Supplier<T> work);
+
+    void afterCommit(Runnable action);
+
+    void afterRollback(Runnable action);
+}
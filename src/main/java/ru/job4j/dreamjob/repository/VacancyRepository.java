@@ -1,20 +1,42 @@
 package ru.job4j.dreamjob.repository;
 
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.dto.VacancyFacet;
 import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.model.VacancySummary;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface VacancyRepository {
 
     Vacancy save(Vacancy vacancy);
 
+    Collection<Vacancy> saveAll(Collection<Vacancy> vacancies);
+
+    int importAll(Collection<Vacancy> vacancies);
+
+    long exportAll(int fetchSize, Consumer<Vacancy> consumer);
+
     boolean deleteById(int id);
 
+    Optional<Integer> deleteByIdReturningFileId(int id);
+
     boolean update(Vacancy vacancy);
 
     Optional<Vacancy> findById(int id);
 
     Collection<Vacancy> findAll();
 
+    Map<String, Integer> countTitles();
+
+    Map<VacancyFacet, Long> countByCityAndVisibility();
+
+    Collection<Vacancy> findPage(ListingFilter filter, PageCursor after, int limit);
+
+    Collection<VacancySummary> findSummaryPage(ListingFilter filter, PageCursor after, int limit);
+
 }
\ No newline at end of file
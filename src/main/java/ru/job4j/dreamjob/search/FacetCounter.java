@@ -0,0 +1,56 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@ThreadSafe
+public class FacetCounter<K> {
+
+    private final ConcurrentHashMap<K, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public void increment(K key) {
+        counts.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    public void decrement(K key) {
+        counts.computeIfAbsent(key, k -> new LongAdder()).decrement();
+    }
+
+    public long count(K key) {
+        var adder = counts.get(key);
+        return adder == null ? 0 : Math.max(0, adder.sum());
+    }
+
+    public Map<K, Long> snapshot() {
+        var result = new HashMap<K, Long>();
+        counts.forEach((key, adder) -> {
+            var sum = adder.sum();
+            if (sum > 0) {
+                result.put(key, sum);
+            }
+        });
+        return result;
+    }
+
+    public long reconcile(Map<K, Long> actual) {
+        var drift = 0L;
+        for (var entry : counts.entrySet()) {
+            if (!actual.containsKey(entry.getKey())) {
+                var sum = entry.getValue().sum();
+                entry.getValue().add(-sum);
+                drift += Math.abs(sum);
+            }
+        }
+        for (var entry : actual.entrySet()) {
+            var adder = counts.computeIfAbsent(entry.getKey(), k -> new LongAdder());
+            var delta = entry.getValue() - adder.sum();
+            adder.add(delta);
+            drift += Math.abs(delta);
+        }
+        return drift;
+    }
+}
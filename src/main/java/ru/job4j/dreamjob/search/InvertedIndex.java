@@ -0,0 +1,220 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@ThreadSafe
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private static final Comparator<SearchHit> WORST_FIRST = Comparator.comparingDouble(SearchHit::score)
+            .thenComparingInt(SearchHit::id);
+
+    private final TextAnalyzer analyzer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @GuardedBy("lock")
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    @GuardedBy("lock")
+    private final Map<Integer, Integer> ordinalsById = new HashMap<>();
+
+    @GuardedBy("lock")
+    private final BitSet deleted = new BitSet();
+
+    @GuardedBy("lock")
+    private int[] idsByOrdinal = new int[16];
+
+    @GuardedBy("lock")
+    private int[] lengths = new int[16];
+
+    @GuardedBy("lock")
+    private int nextOrdinal;
+
+    @GuardedBy("lock")
+    private int deletedCount;
+
+    @GuardedBy("lock")
+    private long totalLength;
+
+    public InvertedIndex(TextAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    public void put(int id, String title, String body) {
+        var frequencies = new HashMap<String, Integer>();
+        analyzer.analyze(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        analyzer.analyze(body).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        var length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            var ordinal = nextOrdinal++;
+            if (ordinal == idsByOrdinal.length) {
+                idsByOrdinal = Arrays.copyOf(idsByOrdinal, ordinal * 2);
+                lengths = Arrays.copyOf(lengths, ordinal * 2);
+            }
+            idsByOrdinal[ordinal] = id;
+            lengths[ordinal] = length;
+            totalLength += length;
+            ordinalsById.put(id, ordinal);
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new Postings()).add(ordinal, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(int id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        var terms = analyzer.analyze(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            var lists = new ArrayList<Postings>();
+            for (var term : terms) {
+                var list = postings.get(term);
+                if (list == null) {
+                    return SearchHits.EMPTY;
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Postings::size));
+            return collect(lists, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchHits collect(List<Postings> lists, int offset, int limit) {
+        var top = new PriorityQueue<>(WORST_FIRST);
+        var capacity = offset + limit;
+        var cursors = new int[lists.size()];
+        var idfs = lists.stream().mapToDouble(list -> idf(list.size())).toArray();
+        var averageLength = ordinalsById.isEmpty() ? 1 : Math.max(1, (double) totalLength / ordinalsById.size());
+        var lead = lists.get(0);
+        var total = 0;
+        candidates:
+        for (int index = 0; index < lead.size(); index++) {
+            var ordinal = lead.ordinal(index);
+            if (deleted.get(ordinal)) {
+                continue;
+            }
+            var norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+            var score = idfs[0] * weight(lead.frequency(index), norm);
+            for (int list = 1; list < lists.size(); list++) {
+                var other = lists.get(list);
+                cursors[list] = other.advance(cursors[list], ordinal);
+                if (cursors[list] == other.size()) {
+                    break candidates;
+                }
+                if (other.ordinal(cursors[list]) != ordinal) {
+                    continue candidates;
+                }
+                score += idfs[list] * weight(other.frequency(cursors[list]), norm);
+            }
+            total++;
+            offer(top, idsByOrdinal[ordinal], score, capacity);
+        }
+        return new SearchHits(page(top, offset), total);
+    }
+
+    private double idf(int documentFrequency) {
+        var documents = Math.max(ordinalsById.size(), documentFrequency);
+        return Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double weight(int frequency, double norm) {
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private void offer(PriorityQueue<SearchHit> top, int id, double score, int capacity) {
+        if (top.size() < capacity) {
+            top.add(new SearchHit(id, score));
+            return;
+        }
+        var worst = top.peek();
+        if (worst != null && (score > worst.score() || score == worst.score() && id > worst.id())) {
+            top.poll();
+            top.add(new SearchHit(id, score));
+        }
+    }
+
+    private List<SearchHit> page(PriorityQueue<SearchHit> top, int offset) {
+        var hits = new ArrayList<>(top);
+        hits.sort(WORST_FIRST.reversed());
+        return offset >= hits.size() ? List.of() : List.copyOf(hits.subList(offset, hits.size()));
+    }
+
+    private boolean removeLocked(int id) {
+        var ordinal = ordinalsById.remove(id);
+        if (ordinal == null) {
+            return false;
+        }
+        deleted.set(ordinal);
+        deletedCount++;
+        totalLength -= lengths[ordinal];
+        if (nextOrdinal >= MIN_COMPACTION_SIZE && deletedCount * 4 > nextOrdinal) {
+            compact();
+        }
+        return true;
+    }
+
+    private void compact() {
+        var newOrdinals = new int[nextOrdinal];
+        var live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (deleted.get(ordinal)) {
+                newOrdinals[ordinal] = -1;
+                continue;
+            }
+            newOrdinals[ordinal] = live;
+            idsByOrdinal[live] = idsByOrdinal[ordinal];
+            lengths[live] = lengths[ordinal];
+            ordinalsById.put(idsByOrdinal[live], live);
+            live++;
+        }
+        postings.values().forEach(list -> list.remap(newOrdinals));
+        postings.values().removeIf(list -> list.size() == 0);
+        nextOrdinal = live;
+        deletedCount = 0;
+        deleted.clear();
+    }
+}
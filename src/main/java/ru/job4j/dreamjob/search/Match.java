@@ -0,0 +1,4 @@
+package ru.job4j.dreamjob.search;
+
+public record Match(int id, String label, double score) {
+}
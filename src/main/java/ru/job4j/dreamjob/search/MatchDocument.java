@@ -0,0 +1,4 @@
+package ru.job4j.dreamjob.search;
+
+public record MatchDocument(int id, int cityId, String label, String text) {
+}
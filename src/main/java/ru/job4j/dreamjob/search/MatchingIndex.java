@@ -0,0 +1,288 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+@ThreadSafe
+public class MatchingIndex {
+
+    private static final double CITY_BONUS = 0.25;
+
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private static final Comparator<Match> BY_SCORE = Comparator.comparingDouble(Match::score)
+            .thenComparing(Comparator.comparingInt(Match::id).reversed());
+
+    private final TextAnalyzer analyzer;
+
+    private final int limit;
+
+    private final ForkJoinPool pool;
+
+    @GuardedBy("this")
+    private final Map<String, Integer> documentFrequencies = new HashMap<>();
+
+    private final Side vacancies = new Side();
+
+    private final Side candidates = new Side();
+
+    public MatchingIndex(TextAnalyzer analyzer, int limit, ForkJoinPool pool) {
+        this.analyzer = analyzer;
+        this.limit = limit;
+        this.pool = pool;
+    }
+
+    public List<Match> candidatesFor(int vacancyId) {
+        return vacancies.matches.getOrDefault(vacancyId, List.of());
+    }
+
+    public List<Match> vacanciesFor(int candidateId) {
+        return candidates.matches.getOrDefault(candidateId, List.of());
+    }
+
+    public synchronized void putVacancy(MatchDocument document) {
+        put(vacancies, candidates, document);
+    }
+
+    public synchronized void removeVacancy(int id) {
+        remove(vacancies, candidates, id);
+    }
+
+    public synchronized void putCandidate(MatchDocument document) {
+        put(candidates, vacancies, document);
+    }
+
+    public synchronized void removeCandidate(int id) {
+        remove(candidates, vacancies, id);
+    }
+
+    public synchronized void replaceAll(Collection<MatchDocument> vacancyDocuments,
+                                        Collection<MatchDocument> candidateDocuments) {
+        documentFrequencies.clear();
+        var vacancyTerms = vacancies.reset(vacancyDocuments, analyzer);
+        var candidateTerms = candidates.reset(candidateDocuments, analyzer);
+        vacancyTerms.values().forEach(terms -> count(terms.keySet()));
+        candidateTerms.values().forEach(terms -> count(terms.keySet()));
+        var documents = vacancyTerms.size() + candidateTerms.size();
+        vacancyDocuments.forEach(document -> vacancies.add(document, weigh(vacancyTerms.get(document.id()), documents)));
+        candidateDocuments.forEach(document -> candidates.add(document, weigh(candidateTerms.get(document.id()), documents)));
+        var vacancyMatches = new ConcurrentHashMap<Integer, List<Match>>();
+        var candidateMatches = new ConcurrentHashMap<Integer, List<Match>>();
+        pool.invoke(new TopMatchesTask(vacancies, candidates, vacancies.ids(), 0, vacancies.profiles.size(), vacancyMatches));
+        pool.invoke(new TopMatchesTask(candidates, vacancies, candidates.ids(), 0, candidates.profiles.size(), candidateMatches));
+        vacancies.matches = vacancyMatches;
+        candidates.matches = candidateMatches;
+    }
+
+    public synchronized int size() {
+        return vacancies.profiles.size() + candidates.profiles.size();
+    }
+
+    private void put(Side own, Side other, MatchDocument document) {
+        var affected = new HashSet<Integer>();
+        var previous = own.profiles.get(document.id());
+        if (previous != null) {
+            affected.addAll(scores(previous, other).keySet());
+            own.remove(previous);
+            uncount(previous.weights.keySet());
+        }
+        var terms = termFrequencies(document.text(), analyzer);
+        count(terms.keySet());
+        var profile = own.add(document, weigh(terms, size() + 1));
+        var scores = scores(profile, other);
+        own.matches.put(profile.id, top(profile, scores, other));
+        affected.addAll(scores.keySet());
+        for (var id : affected) {
+            var counterpart = other.profiles.get(id);
+            var current = other.matches.getOrDefault(id, List.of());
+            if (current.stream().anyMatch(match -> match.id() == profile.id)) {
+                other.matches.put(id, top(counterpart, scores(counterpart, own), own));
+            } else if (scores.containsKey(id)) {
+                other.matches.put(id, insert(current, toMatch(profile, counterpart, scores.get(id))));
+            }
+        }
+    }
+
+    private void remove(Side own, Side other, int id) {
+        var previous = own.profiles.get(id);
+        if (previous == null) {
+            return;
+        }
+        var affected = scores(previous, other).keySet();
+        own.remove(previous);
+        own.matches.remove(id);
+        uncount(previous.weights.keySet());
+        for (var counterpartId : affected) {
+            var current = other.matches.getOrDefault(counterpartId, List.of());
+            if (current.stream().anyMatch(match -> match.id() == id)) {
+                var counterpart = other.profiles.get(counterpartId);
+                other.matches.put(counterpartId, top(counterpart, scores(counterpart, own), own));
+            }
+        }
+    }
+
+    private void count(Set<String> terms) {
+        terms.forEach(term -> documentFrequencies.merge(term, 1, Integer::sum));
+    }
+
+    private void uncount(Set<String> terms) {
+        terms.forEach(term -> documentFrequencies.computeIfPresent(term, (key, count) -> count > 1 ? count - 1 : null));
+    }
+
+    private Map<String, Double> weigh(Map<String, Integer> terms, int documents) {
+        var weights = new HashMap<String, Double>();
+        var norm = 0.0;
+        for (var entry : terms.entrySet()) {
+            var frequency = documentFrequencies.getOrDefault(entry.getKey(), 1);
+            var weight = (1 + Math.log(entry.getValue())) * Math.log(1 + (double) documents / frequency);
+            weights.put(entry.getKey(), weight);
+            norm += weight * weight;
+        }
+        var length = Math.sqrt(norm);
+        if (length > 0) {
+            weights.replaceAll((term, weight) -> weight / length);
+        }
+        return weights;
+    }
+
+    private static Map<String, Integer> termFrequencies(String text, TextAnalyzer analyzer) {
+        var terms = new HashMap<String, Integer>();
+        analyzer.analyze(text).forEach(term -> terms.merge(term, 1, Integer::sum));
+        return terms;
+    }
+
+    private static Map<Integer, Double> scores(Profile profile, Side other) {
+        var scores = new HashMap<Integer, Double>();
+        profile.weights.forEach((term, weight) -> {
+            var ids = other.postings.get(term);
+            if (ids != null) {
+                for (var id : ids) {
+                    scores.merge(id, weight * other.profiles.get(id).weights.get(term), Double::sum);
+                }
+            }
+        });
+        return scores;
+    }
+
+    private List<Match> top(Profile profile, Map<Integer, Double> scores, Side other) {
+        var top = new PriorityQueue<>(BY_SCORE);
+        scores.forEach((id, score) -> {
+            var match = toMatch(other.profiles.get(id), profile, score);
+            if (top.size() < limit) {
+                top.add(match);
+            } else if (BY_SCORE.compare(match, top.peek()) > 0) {
+                top.poll();
+                top.add(match);
+            }
+        });
+        return top.stream().sorted(BY_SCORE.reversed()).toList();
+    }
+
+    private List<Match> insert(List<Match> current, Match match) {
+        if (current.size() >= limit && BY_SCORE.compare(match, current.get(current.size() - 1)) <= 0) {
+            return current;
+        }
+        return Stream.concat(current.stream(), Stream.of(match))
+                .sorted(BY_SCORE.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static Match toMatch(Profile matched, Profile target, double score) {
+        var bonus = matched.cityId == target.cityId ? CITY_BONUS : 0;
+        return new Match(matched.id, matched.label, score + bonus);
+    }
+
+    private record Profile(int id, int cityId, String label, Map<String, Double> weights) {
+    }
+
+    private static final class Side {
+
+        private final Map<Integer, Profile> profiles = new HashMap<>();
+
+        private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+        private volatile Map<Integer, List<Match>> matches = new ConcurrentHashMap<>();
+
+        private Map<Integer, Map<String, Integer>> reset(Collection<MatchDocument> documents, TextAnalyzer analyzer) {
+            profiles.clear();
+            postings.clear();
+            var terms = new HashMap<Integer, Map<String, Integer>>();
+            documents.forEach(document -> terms.put(document.id(), termFrequencies(document.text(), analyzer)));
+            return terms;
+        }
+
+        private Profile add(MatchDocument document, Map<String, Double> weights) {
+            var profile = new Profile(document.id(), document.cityId(), document.label(), weights);
+            profiles.put(profile.id, profile);
+            weights.keySet().forEach(term -> postings.computeIfAbsent(term, key -> new HashSet<>()).add(profile.id));
+            return profile;
+        }
+
+        private void remove(Profile profile) {
+            profiles.remove(profile.id);
+            profile.weights.keySet().forEach(term -> {
+                var ids = postings.get(term);
+                ids.remove(profile.id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            });
+        }
+
+        private int[] ids() {
+            return profiles.keySet().stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private final class TopMatchesTask extends RecursiveAction {
+
+        private final Side own;
+
+        private final Side other;
+
+        private final int[] ids;
+
+        private final int from;
+
+        private final int to;
+
+        private final Map<Integer, List<Match>> result;
+
+        private TopMatchesTask(Side own, Side other, int[] ids, int from, int to, Map<Integer, List<Match>> result) {
+            this.own = own;
+            this.other = other;
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int index = from; index < to; index++) {
+                    var profile = own.profiles.get(ids[index]);
+                    result.put(profile.id, top(profile, scores(profile, other), other));
+                }
+                return;
+            }
+            var middle = (from + to) >>> 1;
+            invokeAll(new TopMatchesTask(own, other, ids, from, middle, result),
+                    new TopMatchesTask(own, other, ids, middle, to, result));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package ru.job4j.dreamjob.search;
+
+public record NearDuplicate(int id, double similarity) {
+}
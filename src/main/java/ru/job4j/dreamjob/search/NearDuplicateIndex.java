@@ -0,0 +1,181 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@ThreadSafe
+public class NearDuplicateIndex {
+
+    private static final int SHINGLE_SIZE = 3;
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final TextAnalyzer analyzer;
+
+    private final int bands;
+
+    private final int rows;
+
+    private final double threshold;
+
+    private final long[] seeds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @GuardedBy("lock")
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    @GuardedBy("lock")
+    private final Map<Long, Set<Integer>> buckets = new HashMap<>();
+
+    public NearDuplicateIndex(TextAnalyzer analyzer, int bands, int rows, double threshold) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Bands and rows must be positive: " + bands + "x" + rows);
+        }
+        this.analyzer = analyzer;
+        this.bands = bands;
+        this.rows = rows;
+        this.threshold = threshold;
+        var random = new SplittableRandom(SEED);
+        this.seeds = random.longs(bands * rows).toArray();
+    }
+
+    public void put(int id, int cityId, String text) {
+        var signature = signature(text);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (signature.isEmpty()) {
+                return;
+            }
+            var document = new Document(cityId, signature.get(), bandKeys(signature.get()));
+            documents.put(id, document);
+            for (var key : document.bandKeys()) {
+                buckets.computeIfAbsent(key, value -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void removeLocked(int id) {
+        var document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (var key : document.bandKeys()) {
+            var bucket = buckets.get(key);
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    public Optional<NearDuplicate> findDuplicate(int id, int cityId, String text) {
+        var signature = signature(text);
+        if (signature.isEmpty()) {
+            return Optional.empty();
+        }
+        var keys = bandKeys(signature.get());
+        var checked = new HashSet<Integer>();
+        NearDuplicate best = null;
+        lock.readLock().lock();
+        try {
+            for (var key : keys) {
+                for (var candidate : buckets.getOrDefault(key, Set.of())) {
+                    if (candidate == id || !checked.add(candidate)) {
+                        continue;
+                    }
+                    var document = documents.get(candidate);
+                    if (document.cityId() != cityId) {
+                        continue;
+                    }
+                    var similarity = similarity(signature.get(), document.signature());
+                    if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                        best = new NearDuplicate(candidate, similarity);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Optional<int[]> signature(String text) {
+        var terms = analyzer.analyze(text);
+        if (terms.isEmpty()) {
+            return Optional.empty();
+        }
+        var signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        var shingles = Math.max(1, terms.size() - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingles; start++) {
+            var shingle = String.join(" ", terms.subList(start, Math.min(terms.size(), start + SHINGLE_SIZE))).hashCode();
+            for (int index = 0; index < seeds.length; index++) {
+                signature[index] = Math.min(signature[index], (int) mix(shingle ^ seeds[index]));
+            }
+        }
+        return Optional.of(signature);
+    }
+
+    private long[] bandKeys(int[] signature) {
+        var keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long key = band;
+            for (int row = band * rows; row < (band + 1) * rows; row++) {
+                key = mix(key * 31 + signature[row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private static double similarity(int[] left, int[] right) {
+        var equal = 0;
+        for (int index = 0; index < left.length; index++) {
+            if (left[index] == right[index]) {
+                equal++;
+            }
+        }
+        return (double) equal / left.length;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private record Document(int cityId, int[] signature, long[] bandKeys) {
+    }
+}
@@ -0,0 +1,117 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@ThreadSafe
+public class Percolator {
+
+    private final TextAnalyzer analyzer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @GuardedBy("lock")
+    private final Map<Integer, StoredQuery> queries = new HashMap<>();
+
+    @GuardedBy("lock")
+    private final Map<String, List<StoredQuery>> anchors = new HashMap<>();
+
+    public Percolator(TextAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    public boolean accepts(String query) {
+        return !analyzer.analyze(query).isEmpty();
+    }
+
+    public boolean put(int id, int ownerId, String query, Integer cityId) {
+        var terms = new HashSet<>(analyzer.analyze(query));
+        if (terms.isEmpty()) {
+            return false;
+        }
+        var anchor = terms.stream().max(Comparator.comparingInt(String::length).thenComparing(term -> term)).get();
+        var stored = new StoredQuery(id, ownerId, terms.toArray(String[]::new), cityId, anchor);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            queries.put(id, stored);
+            anchors.computeIfAbsent(anchor, key -> new ArrayList<>()).add(stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<PercolatorHit> percolate(String title, String description, int cityId) {
+        var terms = new HashSet<>(analyzer.analyze(title));
+        terms.addAll(analyzer.analyze(description));
+        var hits = new ArrayList<PercolatorHit>();
+        lock.readLock().lock();
+        try {
+            for (var term : terms) {
+                for (var query : anchors.getOrDefault(term, List.of())) {
+                    if (query.matches(terms, cityId)) {
+                        hits.add(new PercolatorHit(query.id, query.ownerId));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return queries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(int id) {
+        var previous = queries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        var bucket = anchors.get(previous.anchor);
+        bucket.remove(previous);
+        if (bucket.isEmpty()) {
+            anchors.remove(previous.anchor);
+        }
+    }
+
+    private record StoredQuery(int id, int ownerId, String[] terms, Integer cityId, String anchor) {
+
+        private boolean matches(Set<String> documentTerms, int documentCityId) {
+            if (cityId != null && cityId != documentCityId) {
+                return false;
+            }
+            for (var term : terms) {
+                if (!documentTerms.contains(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package ru.job4j.dreamjob.search;
+
+public record PercolatorHit(int queryId, int ownerId) {
+}
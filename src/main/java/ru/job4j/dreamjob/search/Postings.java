@@ -0,0 +1,72 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.NotThreadSafe;
+
+import java.util.Arrays;
+
+@NotThreadSafe
+class Postings {
+
+    private static final int MAX_FREQUENCY = 255;
+
+    private int[] ordinals = new int[2];
+
+    private byte[] frequencies = new byte[2];
+
+    private int size;
+
+    void add(int ordinal, int frequency) {
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        ordinals[size] = ordinal;
+        frequencies[size] = (byte) Math.min(frequency, MAX_FREQUENCY);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int ordinal(int index) {
+        return ordinals[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index] & 0xFF;
+    }
+
+    int advance(int from, int target) {
+        if (from >= size || ordinals[from] >= target) {
+            return from;
+        }
+        var step = 1;
+        var low = from;
+        var high = from + 1;
+        while (high < size && ordinals[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        var index = Arrays.binarySearch(ordinals, low + 1, Math.min(high, size - 1) + 1, target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    void remap(int[] newOrdinals) {
+        var kept = 0;
+        for (int index = 0; index < size; index++) {
+            var ordinal = newOrdinals[ordinals[index]];
+            if (ordinal >= 0) {
+                ordinals[kept] = ordinal;
+                frequencies[kept] = frequencies[index];
+                kept++;
+            }
+        }
+        size = kept;
+        if (size < ordinals.length / 4) {
+            ordinals = Arrays.copyOf(ordinals, Math.max(2, size));
+            frequencies = Arrays.copyOf(frequencies, Math.max(2, size));
+        }
+    }
+}
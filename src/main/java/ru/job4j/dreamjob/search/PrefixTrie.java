@@ -0,0 +1,201 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.Immutable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+@Immutable
+public final class PrefixTrie {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int MAX_WORDS = 4;
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final TextAnalyzer analyzer;
+
+    private final String[] titles;
+
+    private final char[] labels;
+
+    private final int[] labelOffsets;
+
+    private final int[] firstChildren;
+
+    private final int[] childCounts;
+
+    private final int[] suggestionOffsets;
+
+    private final int[] suggestions;
+
+    private PrefixTrie(TextAnalyzer analyzer, String[] titles, List<Node> nodes) {
+        this.analyzer = analyzer;
+        this.titles = titles;
+        this.labelOffsets = new int[nodes.size() + 1];
+        this.suggestionOffsets = new int[nodes.size() + 1];
+        this.firstChildren = new int[nodes.size()];
+        this.childCounts = new int[nodes.size()];
+        for (int index = 0; index < nodes.size(); index++) {
+            var node = nodes.get(index);
+            labelOffsets[index + 1] = labelOffsets[index] + node.label.length();
+            suggestionOffsets[index + 1] = suggestionOffsets[index] + node.top.length;
+            firstChildren[index] = node.firstChild;
+            childCounts[index] = node.children.size();
+        }
+        this.labels = new char[labelOffsets[nodes.size()]];
+        this.suggestions = new int[suggestionOffsets[nodes.size()]];
+        for (int index = 0; index < nodes.size(); index++) {
+            var node = nodes.get(index);
+            node.label.getChars(0, node.label.length(), labels, labelOffsets[index]);
+            System.arraycopy(node.top, 0, suggestions, suggestionOffsets[index], node.top.length);
+        }
+    }
+
+    public static PrefixTrie build(Map<String, Integer> titleCounts, TextAnalyzer analyzer) {
+        var ranked = rank(titleCounts, analyzer);
+        var keys = new ArrayList<Key>();
+        for (int ordinal = 0; ordinal < ranked.size(); ordinal++) {
+            var tokens = analyzer.tokenize(ranked.get(ordinal));
+            for (int word = 0; word < Math.min(tokens.size(), MAX_WORDS); word++) {
+                var text = String.join(" ", tokens.subList(word, tokens.size()));
+                keys.add(new Key(text.substring(0, Math.min(text.length(), MAX_KEY_LENGTH)), ordinal));
+            }
+        }
+        keys.sort(Comparator.comparing(Key::text).thenComparingInt(Key::ordinal));
+        var root = new Node("");
+        buildChildren(root, keys, 0, keys.size(), 0);
+        return new PrefixTrie(analyzer, ranked.toArray(String[]::new), flatten(root));
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        var key = String.join(" ", analyzer.tokenize(prefix));
+        if (key.isEmpty() || titles.length == 0) {
+            return List.of();
+        }
+        var node = 0;
+        var position = 0;
+        while (position < key.length()) {
+            node = findChild(node, key.charAt(position));
+            if (node < 0) {
+                return List.of();
+            }
+            var start = labelOffsets[node];
+            var compared = Math.min(labelOffsets[node + 1] - start, key.length() - position);
+            for (int offset = 0; offset < compared; offset++) {
+                if (labels[start + offset] != key.charAt(position + offset)) {
+                    return List.of();
+                }
+            }
+            position += compared;
+        }
+        var from = suggestionOffsets[node];
+        var to = Math.min(suggestionOffsets[node + 1], from + limit);
+        return IntStream.range(from, to).mapToObj(index -> titles[suggestions[index]]).toList();
+    }
+
+    public int size() {
+        return titles.length;
+    }
+
+    private int findChild(int node, char symbol) {
+        var low = firstChildren[node];
+        var high = low + childCounts[node] - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var first = labels[labelOffsets[middle]];
+            if (first < symbol) {
+                low = middle + 1;
+            } else if (first > symbol) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> rank(Map<String, Integer> titleCounts, TextAnalyzer analyzer) {
+        var totals = new HashMap<String, Integer>();
+        var displays = new HashMap<String, String>();
+        titleCounts.forEach((title, count) -> {
+            var normalized = String.join(" ", analyzer.tokenize(title));
+            if (count <= 0 || normalized.isEmpty()) {
+                return;
+            }
+            totals.merge(normalized, count, Integer::sum);
+            displays.merge(normalized, title, (current, candidate) ->
+                    titleCounts.get(candidate) > titleCounts.get(current) ? candidate : current);
+        });
+        return totals.keySet().stream()
+                .sorted(Comparator.comparing((String normalized) -> -totals.get(normalized))
+                        .thenComparing(normalized -> normalized))
+                .map(displays::get)
+                .toList();
+    }
+
+    private static void buildChildren(Node node, List<Key> keys, int from, int to, int depth) {
+        var candidates = new ArrayList<Integer>();
+        var index = from;
+        while (index < to && keys.get(index).text.length() == depth) {
+            candidates.add(keys.get(index++).ordinal);
+        }
+        while (index < to) {
+            var symbol = keys.get(index).text.charAt(depth);
+            var end = index;
+            while (end < to && keys.get(end).text.charAt(depth) == symbol) {
+                end++;
+            }
+            var first = keys.get(index).text;
+            var last = keys.get(end - 1).text;
+            var common = depth + 1;
+            while (common < Math.min(first.length(), last.length()) && first.charAt(common) == last.charAt(common)) {
+                common++;
+            }
+            var child = new Node(first.substring(depth, common));
+            buildChildren(child, keys, index, end, common);
+            node.children.add(child);
+            Arrays.stream(child.top).forEach(candidates::add);
+            index = end;
+        }
+        node.top = candidates.stream().mapToInt(Integer::intValue).sorted().distinct().limit(MAX_SUGGESTIONS).toArray();
+    }
+
+    private static List<Node> flatten(Node root) {
+        var nodes = new ArrayList<Node>();
+        var queue = new ArrayDeque<Node>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            var node = queue.poll();
+            nodes.add(node);
+            node.firstChild = nodes.size() + queue.size();
+            queue.addAll(node.children);
+        }
+        return nodes;
+    }
+
+    private record Key(String text, int ordinal) {
+    }
+
+    private static final class Node {
+
+        private final String label;
+
+        private final List<Node> children = new ArrayList<>();
+
+        private int[] top;
+
+        private int firstChild;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
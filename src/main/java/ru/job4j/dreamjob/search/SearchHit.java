@@ -0,0 +1,4 @@
+package ru.job4j.dreamjob.search;
+
+public record SearchHit(int id, double score) {
+}
@@ -0,0 +1,8 @@
+package ru.job4j.dreamjob.search;
+
+import java.util.List;
+
+public record SearchHits(List<SearchHit> hits, int total) {
+
+    public static final SearchHits EMPTY = new SearchHits(List.of(), 0);
+}
@@ -0,0 +1,35 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.function.Consumer;
+
+@ThreadSafe
+public class SearchIndex {
+
+    private final SwappableIndex<InvertedIndex> index;
+
+    public SearchIndex(TextAnalyzer analyzer) {
+        this.index = new SwappableIndex<>(() -> new InvertedIndex(analyzer));
+    }
+
+    public void put(int id, String title, String body) {
+        index.apply(current -> current.put(id, title, body));
+    }
+
+    public void remove(int id) {
+        index.apply(current -> current.remove(id));
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        return index.current().search(query, offset, limit);
+    }
+
+    public int size() {
+        return index.current().size();
+    }
+
+    public boolean rebuild(Consumer<InvertedIndex> loader) {
+        return index.rebuild(loader);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@ThreadSafe
+public class SwappableIndex<T> {
+
+    private final Supplier<T> factory;
+
+    private final Object writeLock = new Object();
+
+    @GuardedBy("writeLock")
+    private List<Consumer<T>> pendingUpdates;
+
+    private volatile T current;
+
+    public SwappableIndex(Supplier<T> factory) {
+        this.factory = factory;
+        this.current = factory.get();
+    }
+
+    public T current() {
+        return current;
+    }
+
+    public void apply(Consumer<T> update) {
+        synchronized (writeLock) {
+            update.accept(current);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        }
+    }
+
+    public boolean rebuild(Consumer<T> loader) {
+        synchronized (writeLock) {
+            if (pendingUpdates != null) {
+                return false;
+            }
+            pendingUpdates = new ArrayList<>();
+        }
+        var fresh = factory.get();
+        try {
+            loader.accept(fresh);
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                pendingUpdates = null;
+            }
+            throw e;
+        }
+        synchronized (writeLock) {
+            pendingUpdates.forEach(update -> update.accept(fresh));
+            pendingUpdates = null;
+            current = fresh;
+        }
+        return true;
+    }
+}
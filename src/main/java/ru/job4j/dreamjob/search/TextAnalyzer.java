@@ -0,0 +1,100 @@
+package ru.job4j.dreamjob.search;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@ThreadSafe
+public class TextAnalyzer {
+
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "и", "в", "во", "не", "что", "на", "с", "со", "как", "а", "то", "все", "так", "но", "да", "к", "у", "же",
+            "за", "бы", "по", "от", "о", "об", "из", "для", "при", "или", "до", "без", "под", "над", "это",
+            "the", "a", "an", "and", "or", "of", "to", "in", "on", "for", "with", "is", "are", "be", "at", "by",
+            "as", "from", "it", "this", "that"
+    );
+
+    private static final List<String> RUSSIAN_ENDINGS = List.of(
+            "иями", "ями", "ами", "ого", "его", "ому", "ему", "ыми", "ими", "иях", "ией", "ием",
+            "ах", "ях", "ая", "яя", "ое", "ее", "ые", "ие", "ый", "ий", "ой", "ом", "ем", "ам", "ям",
+            "ов", "ев", "ей", "ую", "юю", "ию", "ия", "ью", "ья", "ым", "им",
+            "а", "я", "о", "е", "ы", "и", "у", "ю", "ь", "й"
+    );
+
+    public List<String> tokenize(String text) {
+        var tokens = new ArrayList<String>();
+        if (text == null) {
+            return tokens;
+        }
+        var normalized = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        var start = -1;
+        for (int index = 0; index <= normalized.length(); index++) {
+            var inToken = index < normalized.length() && isTokenChar(normalized.charAt(index), start >= 0);
+            if (inToken && start < 0) {
+                start = index;
+            } else if (!inToken && start >= 0) {
+                tokens.add(normalized.substring(start, index));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public List<String> analyze(String text) {
+        var terms = new ArrayList<String>();
+        for (var token : tokenize(text)) {
+            if (!STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    public String stem(String token) {
+        if (isCyrillic(token)) {
+            return stemRussian(token);
+        }
+        if (token.chars().allMatch(symbol -> symbol >= 'a' && symbol <= 'z')) {
+            return stemEnglish(token);
+        }
+        return token;
+    }
+
+    private boolean isTokenChar(char symbol, boolean continuing) {
+        return Character.isLetterOrDigit(symbol) || continuing && (symbol == '+' || symbol == '#');
+    }
+
+    private boolean isCyrillic(String token) {
+        return token.chars().allMatch(symbol -> Character.UnicodeBlock.of(symbol) == Character.UnicodeBlock.CYRILLIC);
+    }
+
+    private String stemRussian(String token) {
+        for (var ending : RUSSIAN_ENDINGS) {
+            if (token.endsWith(ending) && token.length() - ending.length() >= MIN_STEM_LENGTH) {
+                return token.substring(0, token.length() - ending.length());
+            }
+        }
+        return token;
+    }
+
+    private String stemEnglish(String token) {
+        if (token.endsWith("ies") && token.length() > 4) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.endsWith("sses")) {
+            return token.substring(0, token.length() - 2);
+        }
+        for (var suffix : List.of("ing", "ed", "es", "s")) {
+            if (token.endsWith(suffix) && !token.endsWith("ss") && token.length() - suffix.length() >= MIN_STEM_LENGTH
+                    && (!"es".equals(suffix) || token.matches(".*(x|z|ch|sh)es"))) {
+                return token.substring(0, token.length() - suffix.length());
+            }
+        }
+        return token;
+    }
+}
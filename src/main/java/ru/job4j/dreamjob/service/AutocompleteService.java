@@ -0,0 +1,12 @@
+package ru.job4j.dreamjob.service;
+
+import java.util.List;
+
+public interface AutocompleteService {
+
+    List<String> suggest(String prefix, int limit);
+
+    void titleAdded(String title);
+
+    void titleRemoved(String title);
+}
@@ -0,0 +1,146 @@
+package ru.job4j.dreamjob.service;
+
+import net.jcip.annotations.ThreadSafe;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import ru.job4j.dreamjob.cache.CacheStats;
+import ru.job4j.dreamjob.cache.MonitoredCache;
+import ru.job4j.dreamjob.cache.OffHeapBlob;
+import ru.job4j.dreamjob.cache.OffHeapBlobResource;
+import ru.job4j.dreamjob.cache.OffHeapBlobStore;
+import ru.job4j.dreamjob.cache.WeightedLfuCache;
+import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.FileResource;
+import ru.job4j.dreamjob.model.File;
+import ru.job4j.dreamjob.repository.UnitOfWork;
+import ru.job4j.dreamjob.storage.ImageVariantGenerator;
+import ru.job4j.dreamjob.storage.ImageVariantsReadyEvent;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@ThreadSafe
+@Service
+public class CachingFileService implements FileService, MonitoredCache {
+
+    private static final int MAX_ALLOCATION_EVICTIONS = 16;
+
+    private final FileService fileService;
+
+    private final long maxEntryBytes;
+
+    private final OffHeapBlobStore blobStore;
+
+    private final WeightedLfuCache<FileKey, CachedFile> cache;
+
+    private final ImageVariantGenerator imageVariants;
+
+    private final UnitOfWork unitOfWork;
+
+    public CachingFileService(FileService simpleFileService,
+                              @Value("${cache.file.max-bytes}") DataSize maxBytes,
+                              @Value("${cache.file.max-entry-bytes}") DataSize maxEntryBytes,
+                              ImageVariantGenerator imageVariants,
+                              UnitOfWork unitOfWork) {
+        this.fileService = simpleFileService;
+        this.maxEntryBytes = maxEntryBytes.toBytes();
+        this.blobStore = new OffHeapBlobStore(maxBytes.toBytes(), (int) maxEntryBytes.toBytes());
+        this.cache = new WeightedLfuCache<>(maxBytes.toBytes(), CachedFile::weight, CachedFile::release);
+        this.imageVariants = imageVariants;
+        this.unitOfWork = unitOfWork;
+    }
+
+    @Override
+    public File save(FileDto fileDto) {
+        return fileService.save(fileDto);
+    }
+
+    @Override
+    public Optional<FileDto> getFileById(int id) {
+        return fileService.getFileById(id);
+    }
+
+    @Override
+    public Optional<FileResource> getResourceById(int id) {
+        return getResourceById(id, 0);
+    }
+
+    @Override
+    public Optional<FileResource> getResourceById(int id, int width) {
+        var key = new FileKey(id, imageVariants.selectWidth(width));
+        return cache.get(key, this::load).map(CachedFile::toResource);
+    }
+
+    private Optional<CachedFile> load(FileKey key) {
+        return fileService.getResourceById(key.id, key.width).map(resource -> read(key, resource));
+    }
+
+    private CachedFile read(FileKey key, FileResource resource) {
+        var content = resource.getContent();
+        try {
+            if (!content.isReadable() || content.contentLength() > maxEntryBytes) {
+                return new CachedFile(resource, null, 0);
+            }
+            try (var channel = content.readableChannel()) {
+                var blob = blobStore.allocate(channel, content.contentLength());
+                for (int i = 0; blob.isEmpty() && i < MAX_ALLOCATION_EVICTIONS && cache.evictFor(key); i++) {
+                    blob = blobStore.allocate(channel, content.contentLength());
+                }
+                return new CachedFile(resource, blob.orElse(null), content.lastModified());
+            }
+        } catch (IOException e) {
+            return new CachedFile(resource, null, 0);
+        }
+    }
+
+    @Override
+    public void deleteById(int id) {
+        fileService.deleteById(id);
+        invalidate(id);
+        unitOfWork.afterCommit(() -> invalidate(id));
+    }
+
+    @EventListener
+    public void onVariantsReady(ImageVariantsReadyEvent event) {
+        invalidate(event.fileId());
+    }
+
+    private void invalidate(int id) {
+        cache.invalidateIf(key -> key.id == id);
+    }
+
+    @Override
+    public String getName() {
+        return "files";
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private record FileKey(int id, int width) {
+    }
+
+    private record CachedFile(FileResource resource, OffHeapBlob blob, long lastModified) {
+
+        private long weight() {
+            return blob == null ? Long.MAX_VALUE : blob.capacity();
+        }
+
+        private void release() {
+            if (blob != null) {
+                blob.release();
+            }
+        }
+
+        private FileResource toResource() {
+            if (blob == null || !blob.tryRetain()) {
+                return resource;
+            }
+            return new FileResource(resource.getFile(), new OffHeapBlobResource(blob, lastModified), resource.isProvisional());
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package ru.job4j.dreamjob.service;
 
+import ru.job4j.dreamjob.dto.FacetCounts;
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.Page;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.dto.SearchResult;
 import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.CandidateSummary;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -17,4 +23,13 @@ public interface CandidateService {
     Optional<Candidate> findById(int id);
 
     Collection<Candidate> findAll();
+
+    Page<Candidate> findPage(ListingFilter filter, PageCursor after, int size);
+
+    Page<CandidateSummary> findSummaryPage(ListingFilter filter, PageCursor after, int size);
+
+    SearchResult<CandidateSummary> search(String query, int page, int size);
+
+    FacetCounts countFacets();
+
 }
@@ -0,0 +1,13 @@
+package ru.job4j.dreamjob.service;
+
+import ru.job4j.dreamjob.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    long exportVacancies(ExportFormat format, OutputStream out) throws IOException;
+
+    long exportCandidates(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,22 @@
+package ru.job4j.dreamjob.service;
+
+import ru.job4j.dreamjob.dto.FacetCounts;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.Vacancy;
+
+public interface FacetService {
+
+    void vacancyAdded(Vacancy vacancy);
+
+    void vacancyRemoved(Vacancy vacancy);
+
+    void candidateAdded(Candidate candidate);
+
+    void candidateRemoved(Candidate candidate);
+
+    FacetCounts countVacancies(ListingFilter filter);
+
+    FacetCounts countCandidates();
+
+}
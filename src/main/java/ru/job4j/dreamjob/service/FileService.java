@@ -1,6 +1,7 @@
 package ru.job4j.dreamjob.service;
 
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.FileResource;
 import ru.job4j.dreamjob.model.File;
 
 import java.util.Optional;
@@ -11,5 +12,9 @@ public interface FileService {
 
     Optional<FileDto> getFileById(int id);
 
+    Optional<FileResource> getResourceById(int id);
+
+    Optional<FileResource> getResourceById(int id, int width);
+
     void deleteById(int id);
 }
\ No newline at end of file
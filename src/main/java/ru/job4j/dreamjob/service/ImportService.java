@@ -0,0 +1,12 @@
+package ru.job4j.dreamjob.service;
+
+import ru.job4j.dreamjob.dto.ImportReport;
+
+import java.io.Reader;
+
+public interface ImportService {
+
+    ImportReport importVacancies(Reader reader, int batchSize);
+
+    ImportReport importCandidates(Reader reader, int batchSize);
+}
@@ -0,0 +1,4 @@
+package ru.job4j.dreamjob.service;
+
+public record ListingsImportedEvent(Class<?> listingType, long imported) {
+}
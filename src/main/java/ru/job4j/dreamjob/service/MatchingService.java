@@ -0,0 +1,22 @@
+package ru.job4j.dreamjob.service;
+
+import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.search.Match;
+
+import java.util.List;
+
+public interface MatchingService {
+
+    void vacancyChanged(Vacancy vacancy);
+
+    void vacancyRemoved(int id);
+
+    void candidateChanged(Candidate candidate);
+
+    void candidateRemoved(int id);
+
+    List<Match> findCandidates(int vacancyId);
+
+    List<Match> findVacancies(int candidateId);
+}
@@ -0,0 +1,14 @@
+package ru.job4j.dreamjob.service;
+
+import ru.job4j.dreamjob.model.Notification;
+
+import java.util.Collection;
+
+public interface NotificationService {
+
+    Collection<Notification> findByUserId(int userId, int limit);
+
+    int countUnseen(int userId);
+
+    void markSeen(int userId);
+}
@@ -0,0 +1,15 @@
+package ru.job4j.dreamjob.service;
+
+import ru.job4j.dreamjob.model.SavedSearch;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface SavedSearchService {
+
+    Optional<SavedSearch> save(SavedSearch savedSearch);
+
+    boolean deleteById(int id, int userId);
+
+    Collection<SavedSearch> findByUserId(int userId);
+}
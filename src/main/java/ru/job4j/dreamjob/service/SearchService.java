@@ -0,0 +1,20 @@
+package ru.job4j.dreamjob.service;
+
+import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.search.SearchHits;
+
+public interface SearchService {
+
+    void indexVacancy(Vacancy vacancy);
+
+    void removeVacancy(int id);
+
+    void indexCandidate(Candidate candidate);
+
+    void removeCandidate(int id);
+
+    SearchHits searchVacancies(String query, int offset, int limit);
+
+    SearchHits searchCandidates(String query, int offset, int limit);
+}
@@ -0,0 +1,138 @@
+package ru.job4j.dreamjob.service;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.VacancyRepository;
+import ru.job4j.dreamjob.search.PrefixTrie;
+import ru.job4j.dreamjob.search.TextAnalyzer;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@ThreadSafe
+@Service
+public class SimpleAutocompleteService implements AutocompleteService, ApplicationRunner, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleAutocompleteService.class);
+
+    private final VacancyRepository vacancyRepository;
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private Map<String, Integer> titleCounts = new HashMap<>();
+
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        var thread = new Thread(task, "autocomplete-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile PrefixTrie trie = PrefixTrie.build(Map.of(), analyzer);
+
+    public SimpleAutocompleteService(VacancyRepository sql2oVacancyRepository) {
+        this.vacancyRepository = sql2oVacancyRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reload();
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, Math.min(limit, PrefixTrie.MAX_SUGGESTIONS));
+    }
+
+    @Override
+    public void titleAdded(String title) {
+        if (title == null) {
+            return;
+        }
+        synchronized (lock) {
+            titleCounts.merge(title, 1, Integer::sum);
+        }
+        scheduleRefresh();
+    }
+
+    @Override
+    public void titleRemoved(String title) {
+        synchronized (lock) {
+            titleCounts.computeIfPresent(title, (key, count) -> count > 1 ? count - 1 : null);
+        }
+        scheduleRefresh();
+    }
+
+    @EventListener
+    public void onVacancyCreated(VacancyCreatedEvent event) {
+        titleAdded(event.vacancy().getTitle());
+    }
+
+    @EventListener
+    public void onVacancyUpdated(VacancyUpdatedEvent event) {
+        var previousTitle = event.previous().getTitle();
+        if (!event.vacancy().getTitle().equals(previousTitle)) {
+            titleRemoved(previousTitle);
+            titleAdded(event.vacancy().getTitle());
+        }
+    }
+
+    @EventListener
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        titleRemoved(event.vacancy().getTitle());
+    }
+
+    @EventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        if (event.listingType() == Vacancy.class) {
+            executor.execute(this::reload);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${autocomplete.reload-interval}", fixedDelayString = "${autocomplete.reload-interval}")
+    public void reload() {
+        var counts = new HashMap<>(vacancyRepository.countTitles());
+        synchronized (lock) {
+            titleCounts = counts;
+        }
+        refresh();
+        LOGGER.info("Loaded {} distinct vacancy titles for autocomplete", trie.size());
+    }
+
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            executor.execute(this::refresh);
+        }
+    }
+
+    private synchronized void refresh() {
+        refreshScheduled.set(false);
+        Map<String, Integer> snapshot;
+        synchronized (lock) {
+            snapshot = Map.copyOf(titleCounts);
+        }
+        trie = PrefixTrie.build(snapshot, analyzer);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,10 +1,19 @@
 package ru.job4j.dreamjob.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.dto.FacetCounts;
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.Page;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.dto.SearchResult;
 import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.CandidateSummary;
 import ru.job4j.dreamjob.repository.CandidateRepository;
+import ru.job4j.dreamjob.repository.UnitOfWork;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
 
@@ -15,14 +24,33 @@ public class SimpleCandidateService implements CandidateService {
 
     private final FileService fileService;
 
-    public SimpleCandidateService(CandidateRepository sql2oCandidateRepository, FileService fileService) {
-        this.candidateRepository = sql2oCandidateRepository;
-        this.fileService = fileService;
+    private final UnitOfWork unitOfWork;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final SearchService searchService;
+
+    private final FacetService facetService;
+
+    public SimpleCandidateService(CandidateRepository cachingCandidateRepository, FileService cachingFileService,
+                                  UnitOfWork unitOfWork, ApplicationEventPublisher eventPublisher,
+                                  SearchService searchService, FacetService facetService) {
+        this.candidateRepository = cachingCandidateRepository;
+        this.fileService = cachingFileService;
+        this.unitOfWork = unitOfWork;
+        this.eventPublisher = eventPublisher;
+        this.searchService = searchService;
+        this.facetService = facetService;
     }
 
     @Override
     public Candidate save(Candidate candidate, FileDto image) {
-        return candidateRepository.save(candidate);
+        return unitOfWork.inTransaction(() -> {
+            saveNewFile(candidate, image);
+            var saved = candidateRepository.save(candidate);
+            unitOfWork.afterCommit(() -> onSaved(Optional.empty(), saved));
+            return saved;
+        });
     }
 
     private void saveNewFile(Candidate candidate, FileDto image) {
@@ -32,28 +60,48 @@ public class SimpleCandidateService implements CandidateService {
 
     @Override
     public boolean deleteById(int id) {
-        boolean isDeleted = false;
-        var fileOptional = findById(id);
-        if (fileOptional.isPresent()) {
-            candidateRepository.deleteById(id);
-            fileService.deleteById(fileOptional.get().getFileId());
-        }
-        return isDeleted;
+        var previous = candidateRepository.findById(id);
+        return unitOfWork.inTransaction(() -> {
+            var fileId = candidateRepository.deleteByIdReturningFileId(id);
+            fileId.filter(value -> value != 0).ifPresent(fileService::deleteById);
+            if (fileId.isPresent()) {
+                unitOfWork.afterCommit(() -> onDeleted(previous));
+            }
+            return fileId.isPresent();
+        });
     }
 
     @Override
     public boolean update(Candidate candidate, FileDto image) {
-        var isNewFileEmpty = image.getContent().length == 0;
-        if (isNewFileEmpty) {
-            return candidateRepository.update(candidate);
+        var previous = candidateRepository.findById(candidate.getId());
+        if (image.isEmpty()) {
+            return afterUpdate(previous, candidate, candidateRepository.update(candidate));
+        }
+        return unitOfWork.inTransaction(() -> {
+            var oldFileId = candidate.getFileId();
+            saveNewFile(candidate, image);
+            var isUpdated = candidateRepository.update(candidate);
+            fileService.deleteById(isUpdated ? oldFileId : candidate.getFileId());
+            return afterUpdate(previous, candidate, isUpdated);
+        });
+    }
+
+    private boolean afterUpdate(Optional<Candidate> previous, Candidate candidate, boolean isUpdated) {
+        if (isUpdated) {
+            unitOfWork.afterCommit(() -> onSaved(previous, candidate));
         }
-        var oldFileId = candidate.getFileId();
-        saveNewFile(candidate, image);
-        var isUpdated = candidateRepository.update(candidate);
-        fileService.deleteById(oldFileId);
         return isUpdated;
     }
 
+    private void onSaved(Optional<Candidate> previous, Candidate candidate) {
+        eventPublisher.publishEvent(previous.<Object>map(value -> new CandidateUpdatedEvent(value, candidate))
+                .orElseGet(() -> new CandidateCreatedEvent(candidate)));
+    }
+
+    private void onDeleted(Optional<Candidate> previous) {
+        previous.ifPresent(value -> eventPublisher.publishEvent(new CandidateDeletedEvent(value)));
+    }
+
     @Override
     public Optional<Candidate> findById(int id) {
         return candidateRepository.findById(id);
@@ -63,4 +111,32 @@ public class SimpleCandidateService implements CandidateService {
     public Collection<Candidate> findAll() {
         return candidateRepository.findAll();
     }
+
+    @Override
+    public Page<Candidate> findPage(ListingFilter filter, PageCursor after, int size) {
+        var rows = new ArrayList<>(candidateRepository.findPage(filter, after, size + 1));
+        return Page.of(rows, size, candidate -> new PageCursor(candidate.getCreationDate(), candidate.getId()));
+    }
+
+    @Override
+    public Page<CandidateSummary> findSummaryPage(ListingFilter filter, PageCursor after, int size) {
+        var rows = new ArrayList<>(candidateRepository.findSummaryPage(filter, after, size + 1));
+        return Page.of(rows, size, summary -> new PageCursor(summary.getCreationDate(), summary.getId()));
+    }
+
+    @Override
+    public SearchResult<CandidateSummary> search(String query, int page, int size) {
+        var hits = searchService.searchCandidates(query, page * size, size);
+        var items = hits.hits().stream()
+                .map(hit -> candidateRepository.findById(hit.id()))
+                .flatMap(Optional::stream)
+                .map(CandidateSummary::of)
+                .toList();
+        return new SearchResult<>(items, hits.total(), page, size);
+    }
+
+    @Override
+    public FacetCounts countFacets() {
+        return facetService.countCandidates();
+    }
 }
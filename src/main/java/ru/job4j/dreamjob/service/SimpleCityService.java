@@ -1,22 +1,54 @@
 package ru.job4j.dreamjob.service;
 
+import net.jcip.annotations.ThreadSafe;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import ru.job4j.dreamjob.model.City;
 import ru.job4j.dreamjob.repository.CityRepository;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@ThreadSafe
 @Service
 public class SimpleCityService implements CityService {
 
     private final CityRepository cityRepository;
 
+    private volatile Snapshot snapshot;
+
     public SimpleCityService(CityRepository sql2oCityRepository) {
         this.cityRepository = sql2oCityRepository;
+        refresh();
     }
 
     @Override
     public Collection<City> findAll() {
-        return cityRepository.findAll();
+        return snapshot.sorted;
+    }
+
+    @Override
+    public Optional<City> findById(int id) {
+        return Optional.ofNullable(snapshot.byId.get(id));
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${city.cache.refresh-interval}", fixedDelayString = "${city.cache.refresh-interval}")
+    public void refresh() {
+        var cities = cityRepository.findAll();
+        var sorted = cities.stream()
+                .sorted(Comparator.comparing(City::getName))
+                .toList();
+        var byId = cities.stream()
+                .collect(Collectors.toUnmodifiableMap(City::getId, Function.identity()));
+        snapshot = new Snapshot(sorted, byId);
+    }
+
+    private record Snapshot(List<City> sorted, Map<Integer, City> byId) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package ru.job4j.dreamjob.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.csv.CsvWriter;
+import ru.job4j.dreamjob.dto.ExportFormat;
+import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.CandidateRepository;
+import ru.job4j.dreamjob.repository.VacancyRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Service
+public class SimpleExportService implements ExportService {
+
+    private static final List<String> VACANCY_COLUMNS = List.of("id", "title", "description", "creation_date", "visible", "city_id", "file_id");
+
+    private static final List<String> CANDIDATE_COLUMNS = List.of("id", "name", "description", "creation_date", "city_id", "file_id");
+
+    private final VacancyRepository vacancyRepository;
+
+    private final CandidateRepository candidateRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final int fetchSize;
+
+    public SimpleExportService(VacancyRepository cachingVacancyRepository,
+                               CandidateRepository cachingCandidateRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${export.fetch-size}") int fetchSize) {
+        this.vacancyRepository = cachingVacancyRepository;
+        this.candidateRepository = cachingCandidateRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public long exportVacancies(ExportFormat format, OutputStream out) throws IOException {
+        return export(format, out, VACANCY_COLUMNS, this::toVacancyValues,
+                (Consumer<Vacancy> consumer) -> vacancyRepository.exportAll(fetchSize, consumer));
+    }
+
+    @Override
+    public long exportCandidates(ExportFormat format, OutputStream out) throws IOException {
+        return export(format, out, CANDIDATE_COLUMNS, this::toCandidateValues,
+                (Consumer<Candidate> consumer) -> candidateRepository.exportAll(fetchSize, consumer));
+    }
+
+    private <T> long export(ExportFormat format, OutputStream out, List<String> columns,
+                            Function<T, List<String>> toValues, ToLongFunction<Consumer<T>> source) throws IOException {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                return exportJson(out, source);
+            }
+            return exportCsv(out, columns, toValues, source);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> long exportCsv(OutputStream out, List<String> columns,
+                               Function<T, List<String>> toValues, ToLongFunction<Consumer<T>> source) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+        var csv = new CsvWriter(writer);
+        csv.writeRecord(columns);
+        var count = source.applyAsLong(row -> {
+            try {
+                csv.writeRecord(toValues.apply(row));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return count;
+    }
+
+    private <T> long exportJson(OutputStream out, ToLongFunction<Consumer<T>> source) throws IOException {
+        var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        var generator = objectMapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (generator) {
+            generator.setRootValueSeparator(null);
+            return source.applyAsLong(row -> {
+                try {
+                    writer.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private List<String> toVacancyValues(Vacancy vacancy) {
+        return Arrays.asList(String.valueOf(vacancy.getId()), vacancy.getTitle(), vacancy.getDescription(),
+                Objects.toString(vacancy.getCreationDate(), null), String.valueOf(vacancy.getVisible()),
+                String.valueOf(vacancy.getCityId()), fileIdOf(vacancy.getFileId()));
+    }
+
+    private List<String> toCandidateValues(Candidate candidate) {
+        return Arrays.asList(String.valueOf(candidate.getId()), candidate.getName(), candidate.getDescription(),
+                Objects.toString(candidate.getCreationDate(), null),
+                String.valueOf(candidate.getCityId()), fileIdOf(candidate.getFileId()));
+    }
+
+    private String fileIdOf(int fileId) {
+        return fileId == 0 ? null : String.valueOf(fileId);
+    }
+}
@@ -0,0 +1,147 @@
+package ru.job4j.dreamjob.service;
+
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.dto.FacetCounts;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.VacancyFacet;
+import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.CandidateRepository;
+import ru.job4j.dreamjob.repository.VacancyRepository;
+import ru.job4j.dreamjob.search.FacetCounter;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@ThreadSafe
+@Service
+public class SimpleFacetService implements FacetService, ApplicationRunner, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleFacetService.class);
+
+    private final VacancyRepository vacancyRepository;
+
+    private final CandidateRepository candidateRepository;
+
+    private final FacetCounter<VacancyFacet> vacancies = new FacetCounter<>();
+
+    private final FacetCounter<Integer> candidates = new FacetCounter<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        var thread = new Thread(task, "facet-reconciliation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimpleFacetService(VacancyRepository sql2oVacancyRepository,
+                              CandidateRepository sql2oCandidateRepository) {
+        this.vacancyRepository = sql2oVacancyRepository;
+        this.candidateRepository = sql2oCandidateRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconcile();
+    }
+
+    @Override
+    public void vacancyAdded(Vacancy vacancy) {
+        vacancies.increment(new VacancyFacet(vacancy.getCityId(), vacancy.getVisible()));
+    }
+
+    @Override
+    public void vacancyRemoved(Vacancy vacancy) {
+        vacancies.decrement(new VacancyFacet(vacancy.getCityId(), vacancy.getVisible()));
+    }
+
+    @Override
+    public void candidateAdded(Candidate candidate) {
+        candidates.increment(candidate.getCityId());
+    }
+
+    @Override
+    public void candidateRemoved(Candidate candidate) {
+        candidates.decrement(candidate.getCityId());
+    }
+
+    @Override
+    public FacetCounts countVacancies(ListingFilter filter) {
+        var cities = new HashMap<Integer, Long>();
+        var visibility = new HashMap<Boolean, Long>();
+        vacancies.snapshot().forEach((facet, count) -> {
+            if (filter.getVisible() == null || filter.getVisible() == facet.visible()) {
+                cities.merge(facet.cityId(), count, Long::sum);
+            }
+            if (filter.getCityId() == null || filter.getCityId() == facet.cityId()) {
+                visibility.merge(facet.visible(), count, Long::sum);
+            }
+        });
+        return new FacetCounts(cities, visibility);
+    }
+
+    @Override
+    public FacetCounts countCandidates() {
+        return new FacetCounts(candidates.snapshot(), Map.of());
+    }
+
+    @EventListener
+    public void onVacancyCreated(VacancyCreatedEvent event) {
+        vacancyAdded(event.vacancy());
+    }
+
+    @EventListener
+    public void onVacancyUpdated(VacancyUpdatedEvent event) {
+        vacancyRemoved(event.previous());
+        vacancyAdded(event.vacancy());
+    }
+
+    @EventListener
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        vacancyRemoved(event.vacancy());
+    }
+
+    @EventListener
+    public void onCandidateCreated(CandidateCreatedEvent event) {
+        candidateAdded(event.candidate());
+    }
+
+    @EventListener
+    public void onCandidateUpdated(CandidateUpdatedEvent event) {
+        candidateRemoved(event.previous());
+        candidateAdded(event.candidate());
+    }
+
+    @EventListener
+    public void onCandidateDeleted(CandidateDeletedEvent event) {
+        candidateRemoved(event.candidate());
+    }
+
+    @EventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        executor.execute(this::reconcile);
+    }
+
+    @Scheduled(initialDelayString = "${facet.reconcile-interval}", fixedDelayString = "${facet.reconcile-interval}")
+    public synchronized void reconcile() {
+        var drift = vacancies.reconcile(vacancyRepository.countByCityAndVisibility())
+                + candidates.reconcile(candidateRepository.countByCity());
+        if (drift > 0) {
+            LOGGER.info("Corrected facet counts drift of {}", drift);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,55 +1,96 @@
 package ru.job4j.dreamjob.service;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.FileResource;
 import ru.job4j.dreamjob.model.File;
 import ru.job4j.dreamjob.repository.FileRepository;
+import ru.job4j.dreamjob.repository.UnitOfWork;
+import ru.job4j.dreamjob.storage.BlobDeletionQueue;
+import ru.job4j.dreamjob.storage.BlobLocks;
+import ru.job4j.dreamjob.storage.BlobStorage;
+import ru.job4j.dreamjob.storage.ImageVariantGenerator;
+import ru.job4j.dreamjob.storage.ShardedFileLayout;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 public class SimpleFileService implements FileService {
 
+    private static final String CHECKSUM_ALGORITHM = "SHA-256";
+
     private final FileRepository fileRepository;
 
-    private final String storageDirectory;
+    private final ShardedFileLayout fileLayout;
+
+    private final BlobStorage blobStorage;
+
+    private final ImageVariantGenerator imageVariants;
+
+    private final BlobDeletionQueue deletionQueue;
+
+    private final UnitOfWork unitOfWork;
+
+    private final BlobLocks blobLocks;
 
     public SimpleFileService(FileRepository sql2oFileRepository,
-                             @Value("${file.directory}") String storageDirectory) {
+                             ShardedFileLayout fileLayout,
+                             BlobStorage blobStorage,
+                             ImageVariantGenerator imageVariants,
+                             BlobDeletionQueue deletionQueue,
+                             UnitOfWork unitOfWork,
+                             BlobLocks blobLocks) {
         this.fileRepository = sql2oFileRepository;
-        this.storageDirectory = storageDirectory;
-        createStorageDirectory(storageDirectory);
-    }
-
-    private void createStorageDirectory(String path) {
-        try {
-            Files.createDirectories(Path.of(path));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        this.fileLayout = fileLayout;
+        this.blobStorage = blobStorage;
+        this.imageVariants = imageVariants;
+        this.deletionQueue = deletionQueue;
+        this.unitOfWork = unitOfWork;
+        this.blobLocks = blobLocks;
     }
 
     @Override
     public File save(FileDto fileDto) {
-        var path = getNewFilePath(fileDto.getName());
-        writeFileBytes(path, fileDto.getContent());
-        return fileRepository.save(new File(fileDto.getName(), path));
+        var temporaryPath = fileLayout.newTemporaryPath().toString();
+        var content = writeFileContent(fileDto, temporaryPath);
+        return unitOfWork.inTransaction(() -> {
+            var uploadLock = blobLocks.forUpload(content.getChecksum());
+            uploadLock.lock();
+            unitOfWork.afterCommit(uploadLock::unlock);
+            unitOfWork.afterRollback(uploadLock::unlock);
+            var location = blobStorage.store(content.getChecksum(), Path.of(temporaryPath));
+            var file = fileRepository.saveOrAcquire(new File(content.getName(), location, content.getSize(), content.getChecksum()));
+            if (file.getRefCount() == 1) {
+                unitOfWork.afterRollback(() -> deletionQueue.enqueue(location));
+                unitOfWork.afterCommit(() -> imageVariants.generateAsync(file));
+            }
+            return file;
+        });
     }
 
-    private String getNewFilePath(String sourceName) {
-        return storageDirectory + java.io.File.separator + UUID.randomUUID() + sourceName;
+    private File writeFileContent(FileDto fileDto, String path) {
+        var digest = createDigest();
+        try (var input = new DigestInputStream(fileDto.getInputStream(), digest)) {
+            var size = Files.copy(input, Path.of(path));
+            return new File(fileDto.getName(), path, size, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException e) {
+            deleteFile(path);
+            throw new RuntimeException(e);
+        }
     }
 
-    private void writeFileBytes(String path, byte[] content) {
+    private MessageDigest createDigest() {
         try {
-            Files.write(Path.of(path), content);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
@@ -63,9 +104,25 @@ public class SimpleFileService implements FileService {
         return Optional.of(new FileDto(fileOptional.get().getName(), content));
     }
 
-    private byte[] readFileAsBytes(String path) {
+    @Override
+    public Optional<FileResource> getResourceById(int id) {
+        return getResourceById(id, 0);
+    }
+
+    @Override
+    public Optional<FileResource> getResourceById(int id, int width) {
+        var variantWidth = imageVariants.selectWidth(width);
+        return fileRepository.findById(id).map(file -> {
+            var pending = variantWidth != 0 && imageVariants.isPending(file);
+            var variant = imageVariants.findVariant(file, variantWidth);
+            var served = variant.orElse(file);
+            return new FileResource(served, blobStorage.open(served.getPath()), pending && variant.isEmpty());
+        });
+    }
+
+    private byte[] readFileAsBytes(String location) {
         try {
-            return Files.readAllBytes(Path.of(path));
+            return blobStorage.open(location).getContentAsByteArray();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -73,11 +130,11 @@ public class SimpleFileService implements FileService {
 
     @Override
     public void deleteById(int id) {
-        var fileOptional = fileRepository.findById(id);
-        if (fileOptional.isPresent()) {
-            deleteFile(fileOptional.get().getPath());
-            fileRepository.deleteById(id);
-        }
+        fileRepository.releaseById(id)
+                .ifPresent(file -> unitOfWork.afterCommit(() -> {
+                    deletionQueue.enqueue(file.getPath());
+                    deletionQueue.enqueueAll(imageVariants.findVariantLocations(file));
+                }));
     }
 
     private void deleteFile(String path) {
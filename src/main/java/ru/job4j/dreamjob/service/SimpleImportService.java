@@ -0,0 +1,195 @@
+package ru.job4j.dreamjob.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.csv.CsvReader;
+import ru.job4j.dreamjob.csv.CsvRecord;
+import ru.job4j.dreamjob.dto.ImportReport;
+import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.CandidateRepository;
+import ru.job4j.dreamjob.repository.UnitOfWork;
+import ru.job4j.dreamjob.repository.VacancyRepository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+@Service
+public class SimpleImportService implements ImportService {
+
+    private static final List<String> VACANCY_COLUMNS = List.of("title", "description", "creation_date", "visible", "city_id");
+
+    private static final List<String> CANDIDATE_COLUMNS = List.of("name", "description", "creation_date", "city_id");
+
+    private final VacancyRepository vacancyRepository;
+
+    private final CandidateRepository candidateRepository;
+
+    private final CityService cityService;
+
+    private final UnitOfWork unitOfWork;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SimpleImportService(VacancyRepository cachingVacancyRepository,
+                               CandidateRepository cachingCandidateRepository,
+                               CityService cityService,
+                               UnitOfWork unitOfWork,
+                               ApplicationEventPublisher eventPublisher) {
+        this.vacancyRepository = cachingVacancyRepository;
+        this.candidateRepository = cachingCandidateRepository;
+        this.cityService = cityService;
+        this.unitOfWork = unitOfWork;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ImportReport importVacancies(Reader reader, int batchSize) {
+        return importRecords(reader, Vacancy.class, new Batch<>(batchSize, VACANCY_COLUMNS, this::toVacancy, vacancyRepository::importAll));
+    }
+
+    @Override
+    public ImportReport importCandidates(Reader reader, int batchSize) {
+        return importRecords(reader, Candidate.class, new Batch<>(batchSize, CANDIDATE_COLUMNS, this::toCandidate, candidateRepository::importAll));
+    }
+
+    private <T> ImportReport importRecords(Reader reader, Class<T> listingType, Batch<T> batch) {
+        var started = System.nanoTime();
+        var report = new ImportReport();
+        var csv = new CsvReader(reader);
+        try (csv) {
+            var header = csv.next().map(this::toHeader).orElse(Map.of());
+            var missing = batch.columns.stream().filter(column -> !header.containsKey(column)).toList();
+            if (!missing.isEmpty()) {
+                report.recordFailed(0, 1, "Missing columns " + missing);
+                return report.finish(Duration.ofNanos(System.nanoTime() - started));
+            }
+            for (var record = csv.next(); record.isPresent(); record = csv.next()) {
+                if (!record.get().isBlank() && batch.add(new CsvRow(record.get(), header), report)) {
+                    flush(batch, report);
+                }
+            }
+            flush(batch, report);
+        } catch (IOException | IllegalArgumentException e) {
+            report.recordFailed(0, csv.getLine(), e.getMessage());
+        }
+        if (report.getImported() > 0) {
+            eventPublisher.publishEvent(new ListingsImportedEvent(listingType, report.getImported()));
+        }
+        return report.finish(Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private Map<String, Integer> toHeader(CsvRecord record) {
+        var header = new HashMap<String, Integer>();
+        for (int index = 0; index < record.values().size(); index++) {
+            header.put(record.values().get(index).trim().toLowerCase(), index);
+        }
+        return header;
+    }
+
+    private <T> void flush(Batch<T> batch, ImportReport report) {
+        if (batch.items.isEmpty()) {
+            return;
+        }
+        try {
+            report.recordImported(unitOfWork.inTransaction(() -> batch.sink.applyAsInt(batch.items)));
+        } catch (RuntimeException e) {
+            report.recordFailed(batch.items.size(), batch.firstLine, "Batch ending at line " + batch.lastLine + " failed: " + e.getMessage());
+        }
+        batch.items.clear();
+    }
+
+    private Vacancy toVacancy(CsvRow row) {
+        return new Vacancy(0, row.required("title"), row.required("description"), row.creationDate(),
+                row.bool("visible"), cityOf(row), 0);
+    }
+
+    private Candidate toCandidate(CsvRow row) {
+        return new Candidate(0, row.required("name"), row.required("description"), row.creationDate(), cityOf(row), 0);
+    }
+
+    private int cityOf(CsvRow row) {
+        var cityId = Integer.parseInt(row.required("city_id"));
+        if (cityService.findById(cityId).isEmpty()) {
+            throw new IllegalArgumentException("Unknown city " + cityId);
+        }
+        return cityId;
+    }
+
+    private static class Batch<T> {
+
+        private final int size;
+
+        private final List<String> columns;
+
+        private final Function<CsvRow, T> parser;
+
+        private final ToIntFunction<List<T>> sink;
+
+        private final List<T> items = new ArrayList<>();
+
+        private long firstLine;
+
+        private long lastLine;
+
+        Batch(int size, List<String> columns, Function<CsvRow, T> parser, ToIntFunction<List<T>> sink) {
+            this.size = size;
+            this.columns = columns;
+            this.parser = parser;
+            this.sink = sink;
+        }
+
+        boolean add(CsvRow row, ImportReport report) {
+            try {
+                var item = parser.apply(row);
+                if (items.isEmpty()) {
+                    firstLine = row.line();
+                }
+                items.add(item);
+                lastLine = row.line();
+            } catch (RuntimeException e) {
+                report.recordFailed(1, row.line(), e.getMessage());
+            }
+            return items.size() >= size;
+        }
+    }
+
+    private record CsvRow(CsvRecord record, Map<String, Integer> header) {
+
+        long line() {
+            return record.line();
+        }
+
+        String required(String column) {
+            var index = header.get(column);
+            if (index >= record.values().size() || record.values().get(index).isBlank()) {
+                throw new IllegalArgumentException("Column " + column + " is empty");
+            }
+            return record.values().get(index);
+        }
+
+        LocalDateTime creationDate() {
+            var index = header.get("creation_date");
+            if (index >= record.values().size() || record.values().get(index).isBlank()) {
+                return LocalDateTime.now();
+            }
+            return LocalDateTime.parse(record.values().get(index).trim());
+        }
+
+        boolean bool(String column) {
+            var value = required(column).trim();
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                throw new IllegalArgumentException("Column " + column + " is not a boolean: " + value);
+            }
+            return Boolean.parseBoolean(value);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package ru.job4j.dreamjob.service;
+
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.CandidateRepository;
+import ru.job4j.dreamjob.repository.VacancyRepository;
+import ru.job4j.dreamjob.search.Match;
+import ru.job4j.dreamjob.search.MatchDocument;
+import ru.job4j.dreamjob.search.MatchingIndex;
+import ru.job4j.dreamjob.search.TextAnalyzer;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+@ThreadSafe
+@Service
+public class SimpleMatchingService implements MatchingService, ApplicationRunner, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleMatchingService.class);
+
+    private final VacancyRepository vacancyRepository;
+
+    private final CandidateRepository candidateRepository;
+
+    private final int fetchSize;
+
+    private final ForkJoinPool pool;
+
+    private final MatchingIndex index;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        var thread = new Thread(task, "matching-update");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimpleMatchingService(VacancyRepository sql2oVacancyRepository,
+                                 CandidateRepository sql2oCandidateRepository,
+                                 @Value("${matching.fetch-size}") int fetchSize,
+                                 @Value("${matching.limit}") int limit,
+                                 @Value("${matching.parallelism}") int parallelism) {
+        this.vacancyRepository = sql2oVacancyRepository;
+        this.candidateRepository = sql2oCandidateRepository;
+        this.fetchSize = fetchSize;
+        this.pool = new ForkJoinPool(parallelism);
+        this.index = new MatchingIndex(new TextAnalyzer(), limit, pool);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        executor.execute(this::rebuild);
+    }
+
+    @Override
+    public void vacancyChanged(Vacancy vacancy) {
+        var document = toDocument(vacancy);
+        executor.execute(() -> {
+            if (vacancy.getVisible()) {
+                index.putVacancy(document);
+            } else {
+                index.removeVacancy(document.id());
+            }
+        });
+    }
+
+    @Override
+    public void vacancyRemoved(int id) {
+        executor.execute(() -> index.removeVacancy(id));
+    }
+
+    @Override
+    public void candidateChanged(Candidate candidate) {
+        var document = toDocument(candidate);
+        executor.execute(() -> index.putCandidate(document));
+    }
+
+    @Override
+    public void candidateRemoved(int id) {
+        executor.execute(() -> index.removeCandidate(id));
+    }
+
+    @Override
+    public List<Match> findCandidates(int vacancyId) {
+        return index.candidatesFor(vacancyId);
+    }
+
+    @Override
+    public List<Match> findVacancies(int candidateId) {
+        return index.vacanciesFor(candidateId);
+    }
+
+    @EventListener
+    public void onVacancyCreated(VacancyCreatedEvent event) {
+        vacancyChanged(event.vacancy());
+    }
+
+    @EventListener
+    public void onVacancyUpdated(VacancyUpdatedEvent event) {
+        vacancyChanged(event.vacancy());
+    }
+
+    @EventListener
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        vacancyRemoved(event.vacancy().getId());
+    }
+
+    @EventListener
+    public void onCandidateCreated(CandidateCreatedEvent event) {
+        candidateChanged(event.candidate());
+    }
+
+    @EventListener
+    public void onCandidateUpdated(CandidateUpdatedEvent event) {
+        candidateChanged(event.candidate());
+    }
+
+    @EventListener
+    public void onCandidateDeleted(CandidateDeletedEvent event) {
+        candidateRemoved(event.candidate().getId());
+    }
+
+    @EventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        executor.execute(this::rebuild);
+    }
+
+    @Scheduled(initialDelayString = "${matching.rebuild-interval}", fixedDelayString = "${matching.rebuild-interval}")
+    public void scheduleRebuild() {
+        executor.execute(this::rebuild);
+    }
+
+    private void rebuild() {
+        var started = System.nanoTime();
+        var vacancies = new ArrayList<MatchDocument>();
+        var candidates = new ArrayList<MatchDocument>();
+        vacancyRepository.exportAll(fetchSize, vacancy -> {
+            if (vacancy.getVisible()) {
+                vacancies.add(toDocument(vacancy));
+            }
+        });
+        candidateRepository.exportAll(fetchSize, candidate -> candidates.add(toDocument(candidate)));
+        index.replaceAll(vacancies, candidates);
+        LOGGER.info("Matched {} vacancies and {} candidates in {} ms", vacancies.size(), candidates.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static MatchDocument toDocument(Vacancy vacancy) {
+        return new MatchDocument(vacancy.getId(), vacancy.getCityId(), vacancy.getTitle(),
+                vacancy.getTitle() + " " + vacancy.getDescription());
+    }
+
+    private static MatchDocument toDocument(Candidate candidate) {
+        return new MatchDocument(candidate.getId(), candidate.getCityId(), candidate.getName(), candidate.getDescription());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,32 @@
+package ru.job4j.dreamjob.service;
+
+import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.model.Notification;
+import ru.job4j.dreamjob.repository.NotificationRepository;
+
+import java.util.Collection;
+
+@Service
+public class SimpleNotificationService implements NotificationService {
+
+    private final NotificationRepository notificationRepository;
+
+    public SimpleNotificationService(NotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    @Override
+    public Collection<Notification> findByUserId(int userId, int limit) {
+        return notificationRepository.findByUserId(userId, limit);
+    }
+
+    @Override
+    public int countUnseen(int userId) {
+        return notificationRepository.countUnseen(userId);
+    }
+
+    @Override
+    public void markSeen(int userId) {
+        notificationRepository.markSeen(userId);
+    }
+}
@@ -0,0 +1,118 @@
+package ru.job4j.dreamjob.service;
+
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.model.Notification;
+import ru.job4j.dreamjob.model.SavedSearch;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.NotificationRepository;
+import ru.job4j.dreamjob.repository.SavedSearchRepository;
+import ru.job4j.dreamjob.search.Percolator;
+import ru.job4j.dreamjob.search.PercolatorHit;
+import ru.job4j.dreamjob.search.TextAnalyzer;
+
+import java.io.Closeable;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@ThreadSafe
+@Service
+public class SimpleSavedSearchService implements SavedSearchService, ApplicationRunner, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleSavedSearchService.class);
+
+    private final SavedSearchRepository savedSearchRepository;
+
+    private final NotificationRepository notificationRepository;
+
+    private final Percolator percolator = new Percolator(new TextAnalyzer());
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        var thread = new Thread(task, "saved-search-percolator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimpleSavedSearchService(SavedSearchRepository savedSearchRepository,
+                                    NotificationRepository notificationRepository) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.notificationRepository = notificationRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        savedSearchRepository.findAll().forEach(this::register);
+        LOGGER.info("Loaded {} saved searches", percolator.size());
+    }
+
+    @Override
+    public Optional<SavedSearch> save(SavedSearch savedSearch) {
+        if (!percolator.accepts(savedSearch.getQuery())) {
+            return Optional.empty();
+        }
+        var saved = savedSearchRepository.save(savedSearch);
+        register(saved);
+        return Optional.of(saved);
+    }
+
+    private void register(SavedSearch savedSearch) {
+        percolator.put(savedSearch.getId(), savedSearch.getUserId(), savedSearch.getQuery(), savedSearch.getCityId());
+    }
+
+    @Override
+    public boolean deleteById(int id, int userId) {
+        var isDeleted = savedSearchRepository.deleteById(id, userId);
+        if (isDeleted) {
+            percolator.remove(id);
+        }
+        return isDeleted;
+    }
+
+    @Override
+    public Collection<SavedSearch> findByUserId(int userId) {
+        return savedSearchRepository.findByUserId(userId);
+    }
+
+    @EventListener
+    public void onVacancyCreated(VacancyCreatedEvent event) {
+        if (event.vacancy().getVisible()) {
+            executor.execute(() -> percolate(event.vacancy()));
+        }
+    }
+
+    @EventListener
+    public void onVacancyUpdated(VacancyUpdatedEvent event) {
+        if (event.vacancy().getVisible() && !event.previous().getVisible()) {
+            executor.execute(() -> percolate(event.vacancy()));
+        }
+    }
+
+    private void percolate(Vacancy vacancy) {
+        var notifications = new LinkedHashMap<Integer, Notification>();
+        var now = LocalDateTime.now();
+        for (PercolatorHit hit : percolator.percolate(vacancy.getTitle(), vacancy.getDescription(), vacancy.getCityId())) {
+            notifications.putIfAbsent(hit.ownerId(),
+                    new Notification(0, hit.ownerId(), hit.queryId(), vacancy.getId(), vacancy.getTitle(), now, false));
+        }
+        try {
+            var delivered = notificationRepository.saveAll(notifications.values());
+            LOGGER.debug("Delivered {} notifications about vacancy {}", delivered, vacancy.getId());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not deliver notifications about vacancy {}", vacancy.getId(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,140 @@
+package ru.job4j.dreamjob.service;
+
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.CandidateRepository;
+import ru.job4j.dreamjob.repository.VacancyRepository;
+import ru.job4j.dreamjob.search.SearchHits;
+import ru.job4j.dreamjob.search.SearchIndex;
+import ru.job4j.dreamjob.search.TextAnalyzer;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@ThreadSafe
+@Service
+public class SimpleSearchService implements SearchService, ApplicationRunner, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleSearchService.class);
+
+    private final VacancyRepository vacancyRepository;
+
+    private final CandidateRepository candidateRepository;
+
+    private final int fetchSize;
+
+    private final SearchIndex vacancies;
+
+    private final SearchIndex candidates;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        var thread = new Thread(task, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimpleSearchService(VacancyRepository sql2oVacancyRepository,
+                               CandidateRepository sql2oCandidateRepository,
+                               @Value("${search.fetch-size}") int fetchSize) {
+        this.vacancyRepository = sql2oVacancyRepository;
+        this.candidateRepository = sql2oCandidateRepository;
+        this.fetchSize = fetchSize;
+        var analyzer = new TextAnalyzer();
+        this.vacancies = new SearchIndex(analyzer);
+        this.candidates = new SearchIndex(analyzer);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    @Override
+    public void indexVacancy(Vacancy vacancy) {
+        vacancies.put(vacancy.getId(), vacancy.getTitle(), vacancy.getDescription());
+    }
+
+    @Override
+    public void removeVacancy(int id) {
+        vacancies.remove(id);
+    }
+
+    @Override
+    public void indexCandidate(Candidate candidate) {
+        candidates.put(candidate.getId(), candidate.getName(), candidate.getDescription());
+    }
+
+    @Override
+    public void removeCandidate(int id) {
+        candidates.remove(id);
+    }
+
+    @Override
+    public SearchHits searchVacancies(String query, int offset, int limit) {
+        return vacancies.search(query, offset, limit);
+    }
+
+    @Override
+    public SearchHits searchCandidates(String query, int offset, int limit) {
+        return candidates.search(query, offset, limit);
+    }
+
+    @EventListener
+    public void onVacancyCreated(VacancyCreatedEvent event) {
+        indexVacancy(event.vacancy());
+    }
+
+    @EventListener
+    public void onVacancyUpdated(VacancyUpdatedEvent event) {
+        indexVacancy(event.vacancy());
+    }
+
+    @EventListener
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        removeVacancy(event.vacancy().getId());
+    }
+
+    @EventListener
+    public void onCandidateCreated(CandidateCreatedEvent event) {
+        indexCandidate(event.candidate());
+    }
+
+    @EventListener
+    public void onCandidateUpdated(CandidateUpdatedEvent event) {
+        indexCandidate(event.candidate());
+    }
+
+    @EventListener
+    public void onCandidateDeleted(CandidateDeletedEvent event) {
+        removeCandidate(event.candidate().getId());
+    }
+
+    @EventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        executor.execute(this::rebuild);
+    }
+
+    private void rebuild() {
+        var started = System.nanoTime();
+        vacancies.rebuild(index -> vacancyRepository.exportAll(fetchSize,
+                vacancy -> index.put(vacancy.getId(), vacancy.getTitle(), vacancy.getDescription())));
+        candidates.rebuild(index -> candidateRepository.exportAll(fetchSize,
+                candidate -> index.put(candidate.getId(), candidate.getName(), candidate.getDescription())));
+        LOGGER.info("Indexed {} vacancies and {} candidates in {} ms", vacancies.size(), candidates.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
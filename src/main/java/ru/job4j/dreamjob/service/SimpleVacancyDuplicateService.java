@@ -0,0 +1,106 @@
+package ru.job4j.dreamjob.service;
+
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.VacancyRepository;
+import ru.job4j.dreamjob.search.NearDuplicate;
+import ru.job4j.dreamjob.search.NearDuplicateIndex;
+import ru.job4j.dreamjob.search.SwappableIndex;
+import ru.job4j.dreamjob.search.TextAnalyzer;
+
+import java.io.Closeable;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@ThreadSafe
+@Service
+public class SimpleVacancyDuplicateService implements VacancyDuplicateService, ApplicationRunner, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleVacancyDuplicateService.class);
+
+    private final VacancyRepository vacancyRepository;
+
+    private final int fetchSize;
+
+    private final SwappableIndex<NearDuplicateIndex> index;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        var thread = new Thread(task, "duplicate-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimpleVacancyDuplicateService(VacancyRepository sql2oVacancyRepository,
+                                         @Value("${search.fetch-size}") int fetchSize,
+                                         @Value("${search.duplicates.bands}") int bands,
+                                         @Value("${search.duplicates.rows}") int rows,
+                                         @Value("${search.duplicates.threshold}") double threshold) {
+        this.vacancyRepository = sql2oVacancyRepository;
+        this.fetchSize = fetchSize;
+        var analyzer = new TextAnalyzer();
+        this.index = new SwappableIndex<>(() -> new NearDuplicateIndex(analyzer, bands, rows, threshold));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    @Override
+    public Optional<NearDuplicate> findDuplicate(Vacancy vacancy) {
+        return index.current().findDuplicate(vacancy.getId(), vacancy.getCityId(), textOf(vacancy));
+    }
+
+    @EventListener
+    public void onVacancyCreated(VacancyCreatedEvent event) {
+        index.apply(current -> put(current, event.vacancy()));
+    }
+
+    @EventListener
+    public void onVacancyUpdated(VacancyUpdatedEvent event) {
+        index.apply(current -> put(current, event.vacancy()));
+    }
+
+    @EventListener
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        index.apply(current -> current.remove(event.vacancy().getId()));
+    }
+
+    @EventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        if (event.listingType() == Vacancy.class) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    private static void put(NearDuplicateIndex index, Vacancy vacancy) {
+        if (vacancy.getVisible()) {
+            index.put(vacancy.getId(), vacancy.getCityId(), textOf(vacancy));
+        } else {
+            index.remove(vacancy.getId());
+        }
+    }
+
+    private static String textOf(Vacancy vacancy) {
+        return vacancy.getTitle() + " " + vacancy.getDescription();
+    }
+
+    private void rebuild() {
+        if (index.rebuild(fresh -> vacancyRepository.exportAll(fetchSize, vacancy -> put(fresh, vacancy)))) {
+            LOGGER.info("Indexed {} published vacancies for duplicate detection", index.current().size());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,259 @@
+package ru.job4j.dreamjob.service;
+
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.job4j.dreamjob.dto.FeedEventType;
+import ru.job4j.dreamjob.dto.VacancyFeedEvent;
+import ru.job4j.dreamjob.feed.CoalescingBuffer;
+import ru.job4j.dreamjob.model.Vacancy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ThreadSafe
+@Service
+public class SimpleVacancyFeedService implements VacancyFeedService, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleVacancyFeedService.class);
+
+    private static final String OVERFLOW_EVENT = "overflow";
+
+    private static final long IDLE = 0;
+
+    private final int bufferCapacity;
+
+    private final long timeout;
+
+    private final long sendTimeout;
+
+    private final Semaphore slots;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService pump = Executors.newSingleThreadScheduledExecutor(task -> {
+        var thread = new Thread(task, "vacancy-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService senders;
+
+    public SimpleVacancyFeedService(@Value("${feed.buffer-capacity}") int bufferCapacity,
+                                    @Value("${feed.max-subscribers}") int maxSubscribers,
+                                    @Value("${feed.send-threads}") int sendThreads,
+                                    @Value("${feed.timeout}") Duration timeout,
+                                    @Value("${feed.send-timeout}") Duration sendTimeout,
+                                    @Value("${feed.flush-interval}") Duration flushInterval,
+                                    @Value("${feed.heartbeat-interval}") Duration heartbeatInterval) {
+        this.bufferCapacity = bufferCapacity;
+        this.timeout = timeout.toMillis();
+        this.sendTimeout = sendTimeout.toNanos();
+        this.slots = new Semaphore(maxSubscribers);
+        var senderNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(sendThreads, Math.max(sendThreads, maxSubscribers), 1, TimeUnit.MINUTES,
+                new SynchronousQueue<>(), task -> {
+                    var thread = new Thread(task, "vacancy-feed-send-" + senderNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pump.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        pump.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<SseEmitter> subscribe() {
+        if (!slots.tryAcquire()) {
+            LOGGER.warn("Vacancy feed is full, {} subscribers already connected", subscribers.size());
+            return Optional.empty();
+        }
+        var emitter = newEmitter(timeout);
+        var subscriber = new Subscriber(emitter, new CoalescingBuffer<>(bufferCapacity, VacancyFeedEvent::coalesce));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    SseEmitter newEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            slots.release();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onVacancyCreated(VacancyCreatedEvent event) {
+        if (event.vacancy().getVisible()) {
+            publish(VacancyFeedEvent.of(FeedEventType.CREATED, event.vacancy()));
+        }
+    }
+
+    @EventListener
+    public void onVacancyUpdated(VacancyUpdatedEvent event) {
+        var wasVisible = event.previous().getVisible();
+        if (event.vacancy().getVisible()) {
+            publish(VacancyFeedEvent.of(wasVisible ? FeedEventType.UPDATED : FeedEventType.CREATED, event.vacancy()));
+        } else if (wasVisible) {
+            publish(VacancyFeedEvent.of(FeedEventType.DELETED, event.vacancy()));
+        }
+    }
+
+    @EventListener
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        if (event.vacancy().getVisible()) {
+            publish(VacancyFeedEvent.of(FeedEventType.DELETED, event.vacancy()));
+        }
+    }
+
+    @EventListener
+    public void onListingsImported(ListingsImportedEvent event) {
+        if (event.listingType() == Vacancy.class && event.imported() > 0) {
+            for (var subscriber : subscribers) {
+                subscriber.buffer.skip(event.imported());
+            }
+        }
+    }
+
+    private void publish(VacancyFeedEvent event) {
+        for (var subscriber : subscribers) {
+            subscriber.buffer.offer(event.id(), event);
+        }
+    }
+
+    void flush() {
+        expireStalledSends();
+        for (var subscriber : subscribers) {
+            if (!subscriber.buffer.isEmpty()) {
+                send(subscriber, () -> deliver(subscriber));
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (var subscriber : subscribers) {
+            send(subscriber, () -> subscriber.emitter.send(SseEmitter.event().comment("ping")));
+        }
+    }
+
+    private void send(Subscriber subscriber, Delivery delivery) {
+        if (!subscriber.sendStarted.compareAndSet(IDLE, System.nanoTime())) {
+            return;
+        }
+        try {
+            senders.execute(() -> {
+                subscriber.sender = Thread.currentThread();
+                try {
+                    delivery.run();
+                } catch (Exception e) {
+                    disconnect(subscriber, e);
+                } finally {
+                    subscriber.sender = null;
+                    subscriber.sendStarted.set(IDLE);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            subscriber.sendStarted.set(IDLE);
+        }
+    }
+
+    private void expireStalledSends() {
+        var now = System.nanoTime();
+        for (var subscriber : subscribers) {
+            var started = subscriber.sendStarted.get();
+            if (started != IDLE && now - started > sendTimeout) {
+                disconnect(subscriber, new IOException("Vacancy feed send took longer than " + sendTimeout / 1_000_000 + " ms"));
+                var sender = subscriber.sender;
+                if (sender != null && subscriber.sendStarted.get() == started) {
+                    sender.interrupt();
+                }
+            }
+        }
+    }
+
+    private void deliver(Subscriber subscriber) throws IOException {
+        var dropped = subscriber.buffer.takeDropped();
+        var events = subscriber.buffer.drain();
+        if (dropped > 0) {
+            subscriber.emitter.send(SseEmitter.event().name(OVERFLOW_EVENT).data(dropped));
+        }
+        for (var event : events) {
+            subscriber.emitter.send(SseEmitter.event()
+                    .name(event.type().eventName())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void disconnect(Subscriber subscriber, Exception e) {
+        if (remove(subscriber)) {
+            subscriber.emitter.completeWithError(e);
+            LOGGER.debug("Vacancy feed subscriber disconnected", e);
+        }
+    }
+
+    @EventListener
+    public void onContextClosed(ContextClosedEvent event) {
+        subscribers.forEach(subscriber -> {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        });
+    }
+
+    @Override
+    public void close() {
+        pump.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private interface Delivery {
+
+        void run() throws IOException;
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final CoalescingBuffer<Integer, VacancyFeedEvent> buffer;
+
+        private final AtomicLong sendStarted = new AtomicLong(IDLE);
+
+        private volatile Thread sender;
+
+        private Subscriber(SseEmitter emitter, CoalescingBuffer<Integer, VacancyFeedEvent> buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
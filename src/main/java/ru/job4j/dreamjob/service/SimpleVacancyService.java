@@ -1,10 +1,19 @@
 package ru.job4j.dreamjob.service;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import ru.job4j.dreamjob.dto.FacetCounts;
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.Page;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.dto.SearchResult;
 import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.model.VacancySummary;
 import ru.job4j.dreamjob.repository.VacancyRepository;
+import ru.job4j.dreamjob.repository.UnitOfWork;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
 
@@ -14,15 +23,50 @@ public class SimpleVacancyService implements VacancyService {
 
     private final FileService fileService;
 
-    public SimpleVacancyService(VacancyRepository sql2oVacancyRepository, FileService fileService) {
-        this.vacancyRepository = sql2oVacancyRepository;
-        this.fileService = fileService;
+    private final UnitOfWork unitOfWork;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final SearchService searchService;
+
+    private final FacetService facetService;
+
+    private final VacancyDuplicateService duplicateService;
+
+    public SimpleVacancyService(VacancyRepository cachingVacancyRepository, FileService cachingFileService,
+                                UnitOfWork unitOfWork, ApplicationEventPublisher eventPublisher,
+                                SearchService searchService, FacetService facetService,
+                                VacancyDuplicateService duplicateService) {
+        this.vacancyRepository = cachingVacancyRepository;
+        this.fileService = cachingFileService;
+        this.unitOfWork = unitOfWork;
+        this.eventPublisher = eventPublisher;
+        this.searchService = searchService;
+        this.facetService = facetService;
+        this.duplicateService = duplicateService;
     }
 
     @Override
     public Vacancy save(Vacancy vacancy, FileDto image) {
-        saveNewFile(vacancy, image);
-        return vacancyRepository.save(vacancy);
+        if (vacancy.getVisible()) {
+            rejectDuplicate(vacancy);
+        }
+        return unitOfWork.inTransaction(() -> {
+            saveNewFile(vacancy, image);
+            var saved = vacancyRepository.save(vacancy);
+            unitOfWork.afterCommit(() -> onSaved(Optional.empty(), saved));
+            return saved;
+        });
+    }
+
+    private void rejectDuplicate(Vacancy vacancy) {
+        duplicateService.findDuplicate(vacancy)
+                .flatMap(duplicate -> vacancyRepository.findById(duplicate.id()))
+                .filter(Vacancy::getVisible)
+                .ifPresent(duplicate -> {
+                    throw new IllegalArgumentException("Похожая вакансия уже опубликована: «"
+                            + duplicate.getTitle() + "» (№ " + duplicate.getId() + ")");
+                });
     }
 
     private void saveNewFile(Vacancy vacancy, FileDto image) {
@@ -32,28 +76,48 @@ public class SimpleVacancyService implements VacancyService {
 
     @Override
     public boolean deleteById(int id) {
-        boolean isDeleted = false;
-        var fileOptional = findById(id);
-        if (fileOptional.isPresent()) {
-            isDeleted = vacancyRepository.deleteById(id);
-            fileService.deleteById(fileOptional.get().getFileId());
-        }
-        return isDeleted;
+        var previous = vacancyRepository.findById(id);
+        return unitOfWork.inTransaction(() -> {
+            var fileId = vacancyRepository.deleteByIdReturningFileId(id);
+            fileId.filter(value -> value != 0).ifPresent(fileService::deleteById);
+            if (fileId.isPresent()) {
+                unitOfWork.afterCommit(() -> onDeleted(previous));
+            }
+            return fileId.isPresent();
+        });
     }
 
     @Override
     public boolean update(Vacancy vacancy, FileDto image) {
-        var isNewFileEmpty = image.getContent().length == 0;
-        if (isNewFileEmpty) {
-            return vacancyRepository.update(vacancy);
+        var previous = vacancyRepository.findById(vacancy.getId());
+        if (image.isEmpty()) {
+            return afterUpdate(previous, vacancy, vacancyRepository.update(vacancy));
+        }
+        return unitOfWork.inTransaction(() -> {
+            var oldFileId = vacancy.getFileId();
+            saveNewFile(vacancy, image);
+            var isUpdated = vacancyRepository.update(vacancy);
+            fileService.deleteById(isUpdated ? oldFileId : vacancy.getFileId());
+            return afterUpdate(previous, vacancy, isUpdated);
+        });
+    }
+
+    private boolean afterUpdate(Optional<Vacancy> previous, Vacancy vacancy, boolean isUpdated) {
+        if (isUpdated) {
+            unitOfWork.afterCommit(() -> onSaved(previous, vacancy));
         }
-        var oldFileId = vacancy.getFileId();
-        saveNewFile(vacancy, image);
-        var isUpdated = vacancyRepository.update(vacancy);
-        fileService.deleteById(oldFileId);
         return isUpdated;
     }
 
+    private void onSaved(Optional<Vacancy> previous, Vacancy vacancy) {
+        eventPublisher.publishEvent(previous.<Object>map(value -> new VacancyUpdatedEvent(value, vacancy))
+                .orElseGet(() -> new VacancyCreatedEvent(vacancy)));
+    }
+
+    private void onDeleted(Optional<Vacancy> previous) {
+        previous.ifPresent(value -> eventPublisher.publishEvent(new VacancyDeletedEvent(value)));
+    }
+
     @Override
     public Optional<Vacancy> findById(int id) {
         return vacancyRepository.findById(id);
@@ -63,4 +127,32 @@ public class SimpleVacancyService implements VacancyService {
     public Collection<Vacancy> findAll() {
         return vacancyRepository.findAll();
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<Vacancy> findPage(ListingFilter filter, PageCursor after, int size) {
+        var rows = new ArrayList<>(vacancyRepository.findPage(filter, after, size + 1));
+        return Page.of(rows, size, vacancy -> new PageCursor(vacancy.getCreationDate(), vacancy.getId()));
+    }
+
+    @Override
+    public Page<VacancySummary> findSummaryPage(ListingFilter filter, PageCursor after, int size) {
+        var rows = new ArrayList<>(vacancyRepository.findSummaryPage(filter, after, size + 1));
+        return Page.of(rows, size, summary -> new PageCursor(summary.getCreationDate(), summary.getId()));
+    }
+
+    @Override
+    public SearchResult<VacancySummary> search(String query, int page, int size) {
+        var hits = searchService.searchVacancies(query, page * size, size);
+        var items = hits.hits().stream()
+                .map(hit -> vacancyRepository.findById(hit.id()))
+                .flatMap(Optional::stream)
+                .map(VacancySummary::of)
+                .toList();
+        return new SearchResult<>(items, hits.total(), page, size);
+    }
+
+    @Override
+    public FacetCounts countFacets(ListingFilter filter) {
+        return facetService.countVacancies(filter);
+    }
+}
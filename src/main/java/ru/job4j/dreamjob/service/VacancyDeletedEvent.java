@@ -0,0 +1,6 @@
+package ru.job4j.dreamjob.service;
+
+import ru.job4j.dreamjob.model.Vacancy;
+
+public record VacancyDeletedEvent(Vacancy vacancy) {
+}
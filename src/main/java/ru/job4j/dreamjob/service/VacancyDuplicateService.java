@@ -0,0 +1,11 @@
+package ru.job4j.dreamjob.service;
+
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.search.NearDuplicate;
+
+import java.util.Optional;
+
+public interface VacancyDuplicateService {
+
+    Optional<NearDuplicate> findDuplicate(Vacancy vacancy);
+}
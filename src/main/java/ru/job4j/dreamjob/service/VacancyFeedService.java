@@ -0,0 +1,12 @@
+package ru.job4j.dreamjob.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+public interface VacancyFeedService {
+
+    Optional<SseEmitter> subscribe();
+
+    int subscriberCount();
+}
@@ -1,7 +1,13 @@
 package ru.job4j.dreamjob.service;
 
+import ru.job4j.dreamjob.dto.FacetCounts;
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.Page;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.dto.SearchResult;
 import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.model.VacancySummary;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -17,4 +23,12 @@ public interface VacancyService {
     Optional<Vacancy> findById(int id);
 
     Collection<Vacancy> findAll();
+
+    Page<Vacancy> findPage(ListingFilter filter, PageCursor after, int size);
+
+    Page<VacancySummary> findSummaryPage(ListingFilter filter, PageCursor after, int size);
+
+    SearchResult<VacancySummary> search(String query, int page, int size);
+
+    FacetCounts countFacets(ListingFilter filter);
 }
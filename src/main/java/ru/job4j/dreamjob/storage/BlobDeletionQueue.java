@@ -0,0 +1,143 @@
+package ru.job4j.dreamjob.storage;
+
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.job4j.dreamjob.repository.FileRepository;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@ThreadSafe
+@Component
+public class BlobDeletionQueue implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlobDeletionQueue.class);
+
+    private static final Pattern VARIANT_NAME = Pattern.compile("([0-9a-f]{64})-\\d+$");
+
+    private final BlobStorage blobStorage;
+
+    private final FileRepository fileRepository;
+
+    private final BlobLocks blobLocks;
+
+    private final int batchSize;
+
+    private final BlockingQueue<String> locations;
+
+    private final Thread worker;
+
+    public BlobDeletionQueue(BlobStorage blobStorage,
+                             FileRepository sql2oFileRepository,
+                             BlobLocks blobLocks,
+                             @Value("${file.deletion.batch-size}") int batchSize,
+                             @Value("${file.deletion.queue-capacity}") int queueCapacity) {
+        this.blobStorage = blobStorage;
+        this.fileRepository = sql2oFileRepository;
+        this.blobLocks = blobLocks;
+        this.batchSize = batchSize;
+        this.locations = new ArrayBlockingQueue<>(queueCapacity);
+        this.worker = new Thread(this::drain, "blob-deletion");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public void enqueue(String location) {
+        if (!locations.offer(location)) {
+            LOGGER.warn("Deletion queue is full, {} is left to the orphan sweeper", location);
+        }
+    }
+
+    public void enqueueAll(Collection<String> locations) {
+        locations.forEach(this::enqueue);
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    private void drain() {
+        var batch = new ArrayList<String>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(locations.take());
+                locations.drainTo(batch, batchSize - 1);
+                deleteUnowned(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not delete blobs {}", batch, e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void deleteUnowned(List<String> batch) {
+        var pending = batch;
+        while (!pending.isEmpty()) {
+            var locks = new ArrayList<Lock>();
+            var locked = new ArrayList<String>();
+            var deferred = new ArrayList<String>();
+            var first = blobLocks.forDeletion(pending.get(0));
+            first.lock();
+            locks.add(first);
+            try {
+                for (var location : pending) {
+                    var lock = blobLocks.forDeletion(location);
+                    if (locks.contains(lock)) {
+                        locked.add(location);
+                    } else if (lock.tryLock()) {
+                        locks.add(lock);
+                        locked.add(location);
+                    } else {
+                        deferred.add(location);
+                    }
+                }
+                var owned = findOwned(locked);
+                if (!owned.isEmpty()) {
+                    LOGGER.debug("{} were reused before deletion, keeping them", owned);
+                }
+                blobStorage.deleteAll(locked.stream().filter(location -> !owned.contains(location)).toList());
+            } finally {
+                locks.forEach(Lock::unlock);
+            }
+            pending = deferred;
+        }
+    }
+
+    public Set<String> findOwned(Collection<String> locations) {
+        var owners = new HashMap<String, String>();
+        for (var location : locations) {
+            var variant = VARIANT_NAME.matcher(location);
+            if (!variant.find()) {
+                owners.put(location, location);
+            } else {
+                blobStorage.find(variant.group(1)).ifPresent(owner -> owners.put(location, owner));
+            }
+        }
+        var existing = fileRepository.findExistingPaths(new HashSet<>(owners.values()));
+        return owners.entrySet().stream()
+                .filter(owner -> existing.contains(owner.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void close() {
+        worker.interrupt();
+    }
+}
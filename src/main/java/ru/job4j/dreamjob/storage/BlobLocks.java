@@ -0,0 +1,39 @@
+package ru.job4j.dreamjob.storage;
+
+import net.jcip.annotations.ThreadSafe;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@ThreadSafe
+@Component
+public class BlobLocks {
+
+    private static final int STRIPES = 64;
+
+    private static final Pattern CHECKSUM = Pattern.compile("[0-9a-f]{64}");
+
+    private final ReadWriteLock[] locks = new ReadWriteLock[STRIPES];
+
+    public BlobLocks() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            locks[stripe] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public Lock forUpload(String checksum) {
+        return stripe(checksum).readLock();
+    }
+
+    public Lock forDeletion(String location) {
+        var checksum = CHECKSUM.matcher(location);
+        return stripe(checksum.find() ? checksum.group() : location).writeLock();
+    }
+
+    private ReadWriteLock stripe(String key) {
+        return locks[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+}
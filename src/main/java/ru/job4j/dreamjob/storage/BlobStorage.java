@@ -0,0 +1,22 @@
+package ru.job4j.dreamjob.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface BlobStorage {
+
+    String store(String key, Path source);
+
+    Optional<String> find(String key);
+
+    Resource open(String location);
+
+    void delete(String location);
+
+    default void deleteAll(Collection<String> locations) {
+        locations.forEach(this::delete);
+    }
+}
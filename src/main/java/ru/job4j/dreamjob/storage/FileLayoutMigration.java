@@ -0,0 +1,73 @@
+package ru.job4j.dreamjob.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.job4j.dreamjob.model.File;
+import ru.job4j.dreamjob.repository.FileRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@Component
+@ConditionalOnProperty(name = "file.storage.migrate", havingValue = "true")
+public class FileLayoutMigration implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileLayoutMigration.class);
+
+    private final FileRepository fileRepository;
+
+    private final ShardedFileLayout fileLayout;
+
+    public FileLayoutMigration(FileRepository sql2oFileRepository, ShardedFileLayout fileLayout) {
+        this.fileRepository = sql2oFileRepository;
+        this.fileLayout = fileLayout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        LOGGER.info("Migrated {} files to the sharded layout", migrate());
+    }
+
+    public int migrate() {
+        int migrated = 0;
+        for (var file : fileRepository.findAll()) {
+            if (migrate(file)) {
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    private boolean migrate(File file) {
+        var source = Path.of(file.getPath());
+        if (fileLayout.isSharded(source)) {
+            return false;
+        }
+        var target = fileLayout.resolve(source.getFileName().toString());
+        if (!Files.exists(source) || Files.exists(target)) {
+            LOGGER.warn("Skipped file {}: {} is missing or {} is taken", file.getId(), source, target);
+            return false;
+        }
+        move(source, target);
+        try {
+            return fileRepository.updatePath(file.getId(), target.toString());
+        } catch (RuntimeException e) {
+            move(target, source);
+            throw e;
+        }
+    }
+
+    private void move(Path source, Path target) {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.job4j.dreamjob.storage;
+
+import net.jcip.annotations.ThreadSafe;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+@ThreadSafe
+@Component
+@ConditionalOnProperty(name = "file.storage.backend", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemBlobStorage implements BlobStorage {
+
+    private final ShardedFileLayout fileLayout;
+
+    public FileSystemBlobStorage(ShardedFileLayout fileLayout) {
+        this.fileLayout = fileLayout;
+    }
+
+    @Override
+    public String store(String key, Path source) {
+        var path = fileLayout.resolve(key);
+        try {
+            if (Files.exists(path)) {
+                Files.delete(source);
+            } else {
+                Files.move(source, path, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return path.toString();
+        } catch (IOException e) {
+            delete(source.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Optional<String> find(String key) {
+        var path = fileLayout.locate(key);
+        return Files.exists(path) ? Optional.of(path.toString()) : Optional.empty();
+    }
+
+    @Override
+    public Resource open(String location) {
+        return new FileSystemResource(Path.of(location));
+    }
+
+    @Override
+    public void delete(String location) {
+        try {
+            Files.deleteIfExists(Path.of(location));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package ru.job4j.dreamjob.storage;
+
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import ru.job4j.dreamjob.model.File;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import java.awt.Color;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ThreadSafe
+@Component
+public class ImageVariantGenerator implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageVariantGenerator.class);
+
+    private static final String VARIANT_FORMAT = "jpg";
+
+    private static final long MAX_PIXELS = 40_000_000;
+
+    private final BlobStorage blobStorage;
+
+    private final ShardedFileLayout fileLayout;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final List<Integer> widths;
+
+    private final float quality;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantGenerator(BlobStorage blobStorage,
+                                 ShardedFileLayout fileLayout,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${file.variants.widths}") List<Integer> widths,
+                                 @Value("${file.variants.quality}") float quality,
+                                 @Value("${file.variants.threads}") int threads,
+                                 @Value("${file.variants.queue-capacity}") int queueCapacity) {
+        this.blobStorage = blobStorage;
+        this.fileLayout = fileLayout;
+        this.eventPublisher = eventPublisher;
+        this.widths = widths.stream().sorted().toList();
+        this.quality = quality;
+        var threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    var thread = new Thread(task, "image-variants-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void generateAsync(File file) {
+        if (file.getChecksum() == null || widths.isEmpty() || !pending.add(file.getChecksum())) {
+            return;
+        }
+        try {
+            executor.execute(() -> generate(file));
+        } catch (RejectedExecutionException e) {
+            pending.remove(file.getChecksum());
+            LOGGER.warn("Image variant queue is full, variants of file {} are skipped", file.getId());
+        }
+    }
+
+    public boolean isPending(File file) {
+        return file.getChecksum() != null && pending.contains(file.getChecksum());
+    }
+
+    public int selectWidth(int requested) {
+        if (requested <= 0) {
+            return 0;
+        }
+        return widths.stream().filter(width -> width >= requested).findFirst().orElse(0);
+    }
+
+    public Optional<File> findVariant(File file, int width) {
+        if (width == 0 || file.getChecksum() == null) {
+            return Optional.empty();
+        }
+        return blobStorage.find(variantKey(file, width)).map(location -> {
+            var variant = new File(variantName(file.getName(), width), location, 0, variantKey(file, width));
+            variant.setId(file.getId());
+            return variant;
+        });
+    }
+
+    public List<String> findVariantLocations(File file) {
+        if (file.getChecksum() == null) {
+            return List.of();
+        }
+        return widths.stream()
+                .map(width -> blobStorage.find(variantKey(file, width)))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private void generate(File file) {
+        try {
+            storeVariants(file);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not generate image variants of file {}", file.getId(), e);
+        } finally {
+            pending.remove(file.getChecksum());
+        }
+        eventPublisher.publishEvent(new ImageVariantsReadyEvent(file.getId()));
+    }
+
+    private void storeVariants(File file) throws IOException {
+        var image = readImage(blobStorage.open(file.getPath()));
+        if (image.isEmpty()) {
+            return;
+        }
+        for (var width : widths) {
+            if (width < image.get().getWidth()) {
+                storeVariant(variantKey(file, width), resize(image.get(), width));
+            }
+        }
+    }
+
+    private Optional<BufferedImage> readImage(Resource resource) throws IOException {
+        try (var stream = resource.getInputStream(); var input = ImageIO.createImageInputStream(stream)) {
+            var readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            var reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return Optional.empty();
+                }
+                return Optional.of(reader.read(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int width) {
+        var height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        var target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        var graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void storeVariant(String key, BufferedImage image) throws IOException {
+        var temporaryPath = fileLayout.newTemporaryPath();
+        try {
+            writeImage(image, temporaryPath);
+            blobStorage.store(key, temporaryPath);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    private void writeImage(BufferedImage image, Path path) throws IOException {
+        var writer = ImageIO.getImageWritersByFormatName(VARIANT_FORMAT).next();
+        var parameters = writer.getDefaultWriteParam();
+        parameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        parameters.setCompressionQuality(quality);
+        try (var output = ImageIO.createImageOutputStream(path.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), parameters);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private String variantKey(File file, int width) {
+        return file.getChecksum() + "-" + width;
+    }
+
+    private String variantName(String name, int width) {
+        var base = name == null ? "image" : name;
+        var extension = base.lastIndexOf('.');
+        if (extension > 0) {
+            base = base.substring(0, extension);
+        }
+        return base + "-" + width + "." + VARIANT_FORMAT;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
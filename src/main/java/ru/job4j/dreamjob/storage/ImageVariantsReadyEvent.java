@@ -0,0 +1,4 @@
+package ru.job4j.dreamjob.storage;
+
+public record ImageVariantsReadyEvent(int fileId) {
+}
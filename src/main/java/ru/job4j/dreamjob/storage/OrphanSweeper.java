@@ -0,0 +1,167 @@
+package ru.job4j.dreamjob.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.job4j.dreamjob.model.File;
+import ru.job4j.dreamjob.repository.FileRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+public class OrphanSweeper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrphanSweeper.class);
+
+    private static final int LOOKUP_CHUNK = 500;
+
+    private final FileRepository fileRepository;
+
+    private final ShardedFileLayout fileLayout;
+
+    private final BlobDeletionQueue deletionQueue;
+
+    private final ImageVariantGenerator imageVariants;
+
+    private final int maxDeletions;
+
+    private final int maxExamined;
+
+    private final Duration gracePeriod;
+
+    private volatile Path cursor;
+
+    public OrphanSweeper(FileRepository sql2oFileRepository,
+                         ShardedFileLayout fileLayout,
+                         BlobDeletionQueue deletionQueue,
+                         ImageVariantGenerator imageVariants,
+                         @Value("${file.sweeper.max-deletions}") int maxDeletions,
+                         @Value("${file.sweeper.max-examined}") int maxExamined,
+                         @Value("${file.sweeper.grace-period}") Duration gracePeriod) {
+        this.fileRepository = sql2oFileRepository;
+        this.fileLayout = fileLayout;
+        this.deletionQueue = deletionQueue;
+        this.imageVariants = imageVariants;
+        this.maxDeletions = maxDeletions;
+        this.maxExamined = maxExamined;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(initialDelayString = "${file.sweeper.interval}", fixedDelayString = "${file.sweeper.interval}")
+    public void sweep() {
+        var rows = sweepRows(maxDeletions);
+        var files = sweepFiles(maxDeletions - rows, Clock.systemUTC());
+        if (rows + files > 0) {
+            LOGGER.info("Swept {} orphan file rows and {} orphan files", rows, files);
+        }
+    }
+
+    public int sweepRows(int limit) {
+        var swept = 0;
+        for (var file : fileRepository.findUnreferenced(limit)) {
+            try {
+                var deleted = fileRepository.deleteIfUnreferenced(file.getId());
+                if (deleted.isPresent()) {
+                    enqueue(deleted.get());
+                    swept++;
+                }
+            } catch (RuntimeException e) {
+                LOGGER.debug("File {} became referenced while sweeping", file.getId(), e);
+            }
+        }
+        return swept;
+    }
+
+    private void enqueue(File file) {
+        deletionQueue.enqueue(file.getPath());
+        deletionQueue.enqueueAll(imageVariants.findVariantLocations(file));
+    }
+
+    public int sweepFiles(int limit, Clock clock) {
+        if (limit <= 0) {
+            return 0;
+        }
+        var examined = new ArrayList<Path>();
+        try {
+            collect(fileLayout.getRoot(), examined);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        var modifiedBefore = FileTime.from(clock.instant().minus(gracePeriod));
+        var candidates = examined.stream().filter(path -> isModifiedBefore(path, modifiedBefore)).toList();
+        var orphans = new ArrayList<Path>();
+        for (int from = 0; from < candidates.size() && orphans.size() < limit; from += LOOKUP_CHUNK) {
+            var chunk = candidates.subList(from, Math.min(from + LOOKUP_CHUNK, candidates.size()));
+            var owned = deletionQueue.findOwned(chunk.stream().map(Path::toString).toList());
+            chunk.stream()
+                    .filter(path -> !owned.contains(path.toString()))
+                    .limit(limit - orphans.size())
+                    .forEach(orphans::add);
+        }
+        if (orphans.size() >= limit) {
+            cursor = orphans.get(orphans.size() - 1);
+        } else {
+            cursor = examined.size() < maxExamined ? null : examined.get(examined.size() - 1);
+        }
+        deletionQueue.enqueueAll(orphans.stream().map(Path::toString).toList());
+        return orphans.size();
+    }
+
+    private void collect(Path directory, List<Path> examined) throws IOException {
+        List<Path> children;
+        try (var paths = Files.list(directory)) {
+            children = paths.sorted(Comparator.comparing(path -> path.getFileName().toString())).toList();
+        }
+        var packs = fileLayout.getRoot().resolve(PackFileBlobStorage.DIRECTORY);
+        for (var child : children) {
+            if (examined.size() >= maxExamined) {
+                return;
+            }
+            if (child.equals(packs) || isSwept(child)) {
+                continue;
+            }
+            if (Files.isDirectory(child)) {
+                collect(child, examined);
+            } else if (Files.isRegularFile(child)) {
+                examined.add(child);
+            }
+        }
+    }
+
+    private boolean isSwept(Path path) {
+        if (cursor == null) {
+            return false;
+        }
+        if (cursor.startsWith(path)) {
+            return cursor.equals(path);
+        }
+        var root = fileLayout.getRoot();
+        var names = root.relativize(path).iterator();
+        var cursorNames = root.relativize(cursor).iterator();
+        while (names.hasNext() && cursorNames.hasNext()) {
+            var order = names.next().toString().compareTo(cursorNames.next().toString());
+            if (order != 0) {
+                return order < 0;
+            }
+        }
+        return false;
+    }
+
+    private boolean isModifiedBefore(Path path, FileTime time) {
+        try {
+            return Files.getLastModifiedTime(path).compareTo(time) < 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
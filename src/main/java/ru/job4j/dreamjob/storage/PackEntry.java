@@ -0,0 +1,8 @@
+package ru.job4j.dreamjob.storage;
+
+record PackEntry(String key, int segmentId, long offset, long dataOffset, long length, long writtenAt) {
+
+    long recordLength() {
+        return dataOffset - offset + length;
+    }
+}
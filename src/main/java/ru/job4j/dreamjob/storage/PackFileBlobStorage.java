@@ -0,0 +1,271 @@
+package ru.job4j.dreamjob.storage;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.DescriptiveResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+@ThreadSafe
+@Component
+@ConditionalOnProperty(name = "file.storage.backend", havingValue = "pack")
+public class PackFileBlobStorage implements BlobStorage, Closeable {
+
+    static final String DIRECTORY = "packs";
+
+    private static final String LOCATION_PREFIX = "pack:";
+
+    private final Path directory;
+
+    private final BlobStorage largeBlobs;
+
+    private final long maxBlobSize;
+
+    private final long segmentSize;
+
+    private final double compactionThreshold;
+
+    @GuardedBy("this")
+    private final Map<String, PackEntry> index = new HashMap<>();
+
+    @GuardedBy("this")
+    private final TreeMap<Integer, PackSegment> segments = new TreeMap<>();
+
+    @GuardedBy("this")
+    private PackSegment active;
+
+    public PackFileBlobStorage(ShardedFileLayout fileLayout,
+                               @Value("${file.storage.pack.max-blob-size}") DataSize maxBlobSize,
+                               @Value("${file.storage.pack.segment-size}") DataSize segmentSize,
+                               @Value("${file.storage.pack.compaction-threshold}") double compactionThreshold) {
+        this.directory = fileLayout.getRoot().resolve(DIRECTORY);
+        this.largeBlobs = new FileSystemBlobStorage(fileLayout);
+        this.maxBlobSize = maxBlobSize.toBytes();
+        this.segmentSize = Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+        this.compactionThreshold = compactionThreshold;
+        try {
+            Files.createDirectories(directory);
+            load();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private synchronized void load() throws IOException {
+        var ids = new ArrayList<Integer>();
+        try (var files = Files.list(directory)) {
+            files.map(PackSegment::idOf).flatMap(Optional::stream).sorted().forEach(ids::add);
+        }
+        for (var id : ids) {
+            var segment = PackSegment.open(directory, id);
+            segments.put(id, segment);
+            for (var entry : segment.load()) {
+                var previous = index.put(entry.key(), entry);
+                if (previous != null) {
+                    segments.get(previous.segmentId()).markDeleted(previous);
+                }
+            }
+        }
+        active = ids.isEmpty() ? openSegment(1) : segments.get(ids.get(ids.size() - 1));
+        rollIfFull();
+    }
+
+    @Override
+    public String store(String key, Path source) {
+        try {
+            if (Files.size(source) > maxBlobSize) {
+                return largeBlobs.store(key, source);
+            }
+            append(key, source);
+            Files.delete(source);
+            return LOCATION_PREFIX + key;
+        } catch (IOException e) {
+            largeBlobs.delete(source.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    private synchronized void append(String key, Path source) throws IOException {
+        if (index.containsKey(key)) {
+            return;
+        }
+        try (var channel = FileChannel.open(source)) {
+            index.put(key, active.append(key, System.currentTimeMillis(), channel, channel.size()));
+        }
+        rollIfFull();
+    }
+
+    @Override
+    public Optional<String> find(String key) {
+        synchronized (this) {
+            if (index.containsKey(key)) {
+                return Optional.of(LOCATION_PREFIX + key);
+            }
+        }
+        return largeBlobs.find(key);
+    }
+
+    @Override
+    public Resource open(String location) {
+        if (!location.startsWith(LOCATION_PREFIX)) {
+            return largeBlobs.open(location);
+        }
+        try {
+            return read(location.substring(LOCATION_PREFIX.length()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private synchronized Resource read(String key) throws IOException {
+        var entry = index.get(key);
+        if (entry == null) {
+            return new DescriptiveResource("Missing pack blob " + key);
+        }
+        var buffer = segments.get(entry.segmentId()).read(entry);
+        return new ByteBufferResource(buffer, entry.writtenAt(), "Pack blob " + key);
+    }
+
+    @Override
+    public void delete(String location) {
+        deleteAll(List.of(location));
+    }
+
+    @Override
+    public void deleteAll(Collection<String> locations) {
+        var keys = new ArrayList<String>();
+        for (var location : locations) {
+            if (location.startsWith(LOCATION_PREFIX)) {
+                keys.add(location.substring(LOCATION_PREFIX.length()));
+            } else {
+                largeBlobs.delete(location);
+            }
+        }
+        try {
+            remove(keys);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private synchronized void remove(List<String> keys) throws IOException {
+        for (var key : keys) {
+            var entry = index.remove(key);
+            if (entry != null) {
+                segments.get(entry.segmentId()).markDeleted(entry);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${file.storage.pack.compaction-interval}",
+            fixedDelayString = "${file.storage.pack.compaction-interval}")
+    public void compact() {
+        try {
+            for (var id : findSparseSegments()) {
+                compact(id);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private synchronized List<Integer> findSparseSegments() {
+        return segments.values().stream()
+                .filter(segment -> segment != active && segment.getDeadRatio() >= compactionThreshold)
+                .map(PackSegment::getId)
+                .toList();
+    }
+
+    private void compact(int id) throws IOException {
+        var compaction = startCompaction(id);
+        if (compaction == null) {
+            return;
+        }
+        var copies = new ArrayList<PackEntry>(compaction.live.size());
+        for (var entry : compaction.live.entrySet()) {
+            var original = entry.getKey();
+            copies.add(compaction.target.append(original.key(), original.writtenAt(), entry.getValue()));
+        }
+        compaction.target.force();
+        finishCompaction(compaction, copies);
+    }
+
+    private synchronized Compaction startCompaction(int id) throws IOException {
+        var segment = segments.get(id);
+        if (segment == null) {
+            return null;
+        }
+        var live = new LinkedHashMap<PackEntry, ByteBuffer>();
+        for (var entry : index.values()) {
+            if (entry.segmentId() == id) {
+                live.put(entry, segment.read(entry));
+            }
+        }
+        if (live.isEmpty()) {
+            segments.remove(id);
+            segment.delete();
+            return null;
+        }
+        return new Compaction(segment, openSegment(nextSegmentId()), live);
+    }
+
+    private synchronized void finishCompaction(Compaction compaction, List<PackEntry> copies) throws IOException {
+        var originals = compaction.live.keySet().iterator();
+        for (var copy : copies) {
+            var original = originals.next();
+            if (original.equals(index.get(original.key()))) {
+                index.put(copy.key(), copy);
+            } else {
+                compaction.target.markDeleted(copy);
+            }
+        }
+        segments.remove(compaction.source.getId());
+        compaction.source.delete();
+    }
+
+    private void rollIfFull() throws IOException {
+        if (active.getSize() >= segmentSize) {
+            active = openSegment(nextSegmentId());
+        }
+    }
+
+    private int nextSegmentId() {
+        return segments.isEmpty() ? 1 : segments.lastKey() + 1;
+    }
+
+    private PackSegment openSegment(int id) throws IOException {
+        var segment = PackSegment.open(directory, id);
+        segment.load();
+        segments.put(id, segment);
+        return segment;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (var segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    private record Compaction(PackSegment source, PackSegment target, Map<PackEntry, ByteBuffer> live) {
+    }
+}
@@ -0,0 +1,220 @@
+package ru.job4j.dreamjob.storage;
+
+import net.jcip.annotations.NotThreadSafe;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@NotThreadSafe
+class PackSegment implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".pack";
+
+    private static final String DELETES_SUFFIX = ".del";
+
+    private static final int MAX_KEY_LENGTH = 1024;
+
+    private final int id;
+
+    private final Path path;
+
+    private final Path deletesPath;
+
+    private final FileChannel channel;
+
+    private long size;
+
+    private long deadBytes;
+
+    private MappedByteBuffer mapping;
+
+    private PackSegment(int id, Path path, Path deletesPath, FileChannel channel) {
+        this.id = id;
+        this.path = path;
+        this.deletesPath = deletesPath;
+        this.channel = channel;
+    }
+
+    static PackSegment open(Path directory, int id) throws IOException {
+        var path = directory.resolve("%08d%s".formatted(id, SEGMENT_SUFFIX));
+        var deletesPath = directory.resolve("%08d%s".formatted(id, DELETES_SUFFIX));
+        var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new PackSegment(id, path, deletesPath, channel);
+    }
+
+    static Optional<Integer> idOf(Path file) {
+        var name = file.getFileName().toString();
+        if (!name.endsWith(SEGMENT_SUFFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    int getId() {
+        return id;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    double getDeadRatio() {
+        return size == 0 ? 0 : (double) deadBytes / size;
+    }
+
+    List<PackEntry> load() throws IOException {
+        var deleted = readDeletedOffsets();
+        var entries = new ArrayList<PackEntry>();
+        var position = 0L;
+        var entry = readEntry(position);
+        while (entry.isPresent()) {
+            if (deleted.contains(position)) {
+                deadBytes += entry.get().recordLength();
+            } else {
+                entries.add(entry.get());
+            }
+            position += entry.get().recordLength();
+            entry = readEntry(position);
+        }
+        if (position < channel.size()) {
+            channel.truncate(position);
+        }
+        size = position;
+        return entries;
+    }
+
+    private Optional<PackEntry> readEntry(long position) throws IOException {
+        var keyLength = ByteBuffer.allocate(Integer.BYTES);
+        if (!readFully(keyLength, position)) {
+            return Optional.empty();
+        }
+        var keySize = keyLength.getInt(0);
+        var header = ByteBuffer.allocate(keySize + Long.BYTES * 2);
+        if (keySize <= 0 || keySize > MAX_KEY_LENGTH || !readFully(header, position + Integer.BYTES)) {
+            return Optional.empty();
+        }
+        header.flip();
+        var key = new byte[keySize];
+        header.get(key);
+        var writtenAt = header.getLong();
+        var length = header.getLong();
+        var dataOffset = position + Integer.BYTES + header.capacity();
+        if (length < 0 || dataOffset + length > channel.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(new PackEntry(new String(key, StandardCharsets.UTF_8), id, position, dataOffset, length, writtenAt));
+    }
+
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<Long> readDeletedOffsets() throws IOException {
+        var offsets = new HashSet<Long>();
+        if (Files.exists(deletesPath)) {
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(deletesPath));
+            while (buffer.remaining() >= Long.BYTES) {
+                offsets.add(buffer.getLong());
+            }
+        }
+        return offsets;
+    }
+
+    PackEntry append(String key, long writtenAt, FileChannel source, long length) throws IOException {
+        var entry = writeHeader(key, writtenAt, length);
+        var written = 0L;
+        while (written < length) {
+            var transferred = channel.transferFrom(source, entry.dataOffset() + written, length - written);
+            if (transferred == 0) {
+                throw new EOFException("Blob source ended before " + length + " bytes");
+            }
+            written += transferred;
+        }
+        force();
+        return complete(entry);
+    }
+
+    PackEntry append(String key, long writtenAt, ByteBuffer data) throws IOException {
+        var entry = writeHeader(key, writtenAt, data.remaining());
+        var source = data.duplicate();
+        var position = entry.dataOffset();
+        while (source.hasRemaining()) {
+            position += channel.write(source, position);
+        }
+        return complete(entry);
+    }
+
+    private PackEntry writeHeader(String key, long writtenAt, long length) throws IOException {
+        var keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        var header = ByteBuffer.allocate(Integer.BYTES + keyBytes.length + Long.BYTES * 2)
+                .putInt(keyBytes.length)
+                .put(keyBytes)
+                .putLong(writtenAt)
+                .putLong(length)
+                .flip();
+        var position = size;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+        return new PackEntry(key, id, size, position, length, writtenAt);
+    }
+
+    private PackEntry complete(PackEntry entry) {
+        size = entry.dataOffset() + entry.length();
+        return entry;
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    ByteBuffer read(PackEntry entry) throws IOException {
+        if (mapping == null || mapping.capacity() < entry.dataOffset() + entry.length()) {
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        return mapping.slice((int) entry.dataOffset(), (int) entry.length()).asReadOnlyBuffer();
+    }
+
+    void markDeleted(PackEntry entry) throws IOException {
+        var offset = ByteBuffer.allocate(Long.BYTES).putLong(entry.offset()).flip();
+        try (var deletes = FileChannel.open(deletesPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (offset.hasRemaining()) {
+                deletes.write(offset);
+            }
+        }
+        deadBytes += entry.recordLength();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(deletesPath);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
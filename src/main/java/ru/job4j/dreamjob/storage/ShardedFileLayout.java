@@ -0,0 +1,66 @@
+package ru.job4j.dreamjob.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+@Component
+public class ShardedFileLayout {
+
+    private static final int SHARD_WIDTH = 2;
+
+    private static final int SHARD_LEVELS = 2;
+
+    static final String TEMPORARY_SUFFIX = ".part";
+
+    private final Path root;
+
+    public ShardedFileLayout(@Value("${file.directory}") String storageDirectory) {
+        this.root = Path.of(storageDirectory);
+        createDirectories(root);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public Path newTemporaryPath() {
+        return root.resolve(UUID.randomUUID() + TEMPORARY_SUFFIX);
+    }
+
+    public Path resolve(String key) {
+        var directory = getShardDirectory(key);
+        createDirectories(directory);
+        return directory.resolve(key);
+    }
+
+    public Path locate(String key) {
+        return getShardDirectory(key).resolve(key);
+    }
+
+    public boolean isSharded(Path path) {
+        return path.equals(locate(path.getFileName().toString()));
+    }
+
+    private Path getShardDirectory(String key) {
+        var directory = root;
+        if (key.length() > SHARD_WIDTH * SHARD_LEVELS) {
+            for (int level = 0; level < SHARD_LEVELS; level++) {
+                directory = directory.resolve(key.substring(level * SHARD_WIDTH, (level + 1) * SHARD_WIDTH));
+            }
+        }
+        return directory;
+    }
+
+    private void createDirectories(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
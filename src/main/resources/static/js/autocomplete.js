@@ -0,0 +1,25 @@
+document.querySelectorAll('input[data-suggest]').forEach(function (input) {
+    var list = document.getElementById(input.getAttribute('list'));
+    var pending;
+    input.addEventListener('input', function () {
+        clearTimeout(pending);
+        var prefix = input.value.trim();
+        if (prefix.length === 0) {
+            list.replaceChildren();
+            return;
+        }
+        pending = setTimeout(function () {
+            fetch(input.dataset.suggest + '?q=' + encodeURIComponent(prefix))
+                .then(function (response) {
+                    return response.ok ? response.json() : [];
+                })
+                .then(function (titles) {
+                    list.replaceChildren.apply(list, titles.map(function (title) {
+                        var option = document.createElement('option');
+                        option.value = title;
+                        return option;
+                    }));
+                });
+        }, 150);
+    });
+});
@@ -0,0 +1,13 @@
+document.querySelectorAll('[data-feed]').forEach(function (banner) {
+    var source = new EventSource(banner.dataset.feed);
+    ['created', 'updated', 'deleted'].forEach(function (type) {
+        var counter = banner.querySelector('[data-feed-' + type + ']');
+        source.addEventListener(type, function () {
+            counter.textContent = Number(counter.textContent) + 1;
+            banner.classList.remove('d-none');
+        });
+    });
+    source.addEventListener('overflow', function () {
+        banner.classList.remove('d-none');
+    });
+});
@@ -0,0 +1,59 @@
+package ru.job4j.dreamjob.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LruCacheTest {
+
+    @Test
+    public void whenGetTwiceThenLoadOnceAndCountHit() {
+        var cache = new LruCache<Integer, String>(10, Duration.ofMinutes(1));
+        var loads = new AtomicLong();
+        cache.get(1, key -> Optional.of("value" + loads.incrementAndGet()));
+        var value = cache.get(1, key -> Optional.of("value" + loads.incrementAndGet()));
+        assertThat(value).contains("value1");
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenSizeExceededThenEvictLeastRecentlyUsed() {
+        var cache = new LruCache<Integer, String>(2, Duration.ofMinutes(1));
+        cache.get(1, key -> Optional.of("one"));
+        cache.get(2, key -> Optional.of("two"));
+        cache.get(1, key -> Optional.of("reloaded"));
+        cache.get(3, key -> Optional.of("three"));
+        assertThat(cache.get(1, key -> Optional.of("reloaded"))).contains("one");
+        assertThat(cache.get(2, key -> Optional.of("reloaded"))).contains("reloaded");
+        assertThat(cache.stats().getEvictions()).isEqualTo(2);
+    }
+
+    @Test
+    public void whenTtlExpiredThenReload() {
+        var now = new AtomicLong();
+        var cache = new LruCache<Integer, String>(10, Duration.ofNanos(100), now::get);
+        cache.get(1, key -> Optional.of("old"));
+        now.addAndGet(101);
+        assertThat(cache.get(1, key -> Optional.of("new"))).contains("new");
+    }
+
+    @Test
+    public void whenInvalidatedThenReload() {
+        var cache = new LruCache<Integer, String>(10, Duration.ofMinutes(1));
+        cache.get(1, key -> Optional.of("old"));
+        cache.invalidate(1);
+        assertThat(cache.get(1, key -> Optional.of("new"))).contains("new");
+    }
+
+    @Test
+    public void whenLoaderFindsNothingThenNothingCached() {
+        var cache = new LruCache<Integer, String>(10, Duration.ofMinutes(1));
+        cache.get(1, key -> Optional.empty());
+        assertThat(cache.size()).isZero();
+    }
+}
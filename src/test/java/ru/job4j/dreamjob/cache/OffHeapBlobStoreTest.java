@@ -0,0 +1,81 @@
+package ru.job4j.dreamjob.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffHeapBlobStoreTest {
+
+    private static ReadableByteChannel channelOf(String content) {
+        return Channels.newChannel(new ByteArrayInputStream(content.getBytes()));
+    }
+
+    @Test
+    public void whenAllocateThenReadSameBytesFromResource() throws Exception {
+        var store = new OffHeapBlobStore(8192, 4096);
+        var blob = store.allocate(channelOf("content"), 7).get();
+        try (var resource = new OffHeapBlobResource(blob, 1L)) {
+            assertThat(resource.contentLength()).isEqualTo(7);
+            assertThat(resource.getInputStream().readAllBytes()).isEqualTo("content".getBytes());
+        }
+        assertThat(blob.tryRetain()).isFalse();
+    }
+
+    @Test
+    public void whenCapacityExhaustedThenReuseReleasedChunk() throws Exception {
+        var store = new OffHeapBlobStore(4096, 4096);
+        var first = store.allocate(channelOf("first"), 5).get();
+        var rejected = store.allocate(channelOf("second"), 6);
+        first.release();
+        var second = store.allocate(channelOf("second"), 6);
+        assertThat(rejected).isEmpty();
+        assertThat(second).isPresent();
+        assertThat(store.getReservedBytes()).isEqualTo(4096);
+    }
+
+    @Test
+    public void whenRetainedThenKeepChunkUntilLastRelease() throws Exception {
+        var store = new OffHeapBlobStore(4096, 4096);
+        var blob = store.allocate(channelOf("shared"), 6).get();
+        assertThat(blob.tryRetain()).isTrue();
+        blob.release();
+        assertThat(store.allocate(channelOf("other"), 5)).isEmpty();
+        blob.release();
+        assertThat(store.allocate(channelOf("other"), 5)).isPresent();
+    }
+
+    @Test
+    public void whenBlobExceedsSlabThenNotAllocated() throws Exception {
+        var store = new OffHeapBlobStore(8192, 4096);
+        assertThat(store.allocate(channelOf("large"), 5000)).isEmpty();
+    }
+
+    @Test
+    public void whenSlabFullyFreedThenReassignedToOtherChunkSize() throws Exception {
+        var store = new OffHeapBlobStore(8192, 8192);
+        var small = store.allocate(channelOf("small"), 5).get();
+        var large = store.allocate(channelOf("x".repeat(6000)), 6000);
+        assertThat(large).isEmpty();
+        small.release();
+        assertThat(store.getUnassignedBytes()).isEqualTo(8192);
+        large = store.allocate(channelOf("x".repeat(6000)), 6000);
+        assertThat(large).isPresent();
+        assertThat(store.getReservedBytes()).isEqualTo(8192);
+        assertThat(store.getUnassignedBytes()).isZero();
+    }
+
+    @Test
+    public void whenSlabPartiallyUsedThenKeptForItsChunkSize() throws Exception {
+        var store = new OffHeapBlobStore(8192, 8192);
+        var first = store.allocate(channelOf("first"), 5).get();
+        var second = store.allocate(channelOf("second"), 6).get();
+        first.release();
+        assertThat(store.getUnassignedBytes()).isZero();
+        assertThat(store.allocate(channelOf("third"), 5)).isPresent();
+        assertThat(second.asReadOnlyBuffer().remaining()).isEqualTo(6);
+    }
+}
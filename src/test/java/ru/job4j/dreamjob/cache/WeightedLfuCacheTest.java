@@ -0,0 +1,88 @@
+package ru.job4j.dreamjob.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WeightedLfuCacheTest {
+
+    @Test
+    public void whenGetTwiceThenCountHitAndResidentBytes() {
+        var cache = new WeightedLfuCache<Integer, String>(10, String::length);
+        cache.get(1, key -> Optional.of("abc"));
+        var value = cache.get(1, key -> Optional.of("reloaded"));
+        assertThat(value).contains("abc");
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+        assertThat(cache.stats().getResidentBytes()).isEqualTo(3);
+    }
+
+    @Test
+    public void whenBudgetExceededThenEvictToFitFrequentEntry() {
+        var cache = new WeightedLfuCache<Integer, String>(10, String::length);
+        cache.get(1, key -> Optional.of("aaaa"));
+        cache.get(2, key -> Optional.of("bbbb"));
+        cache.get(3, key -> Optional.empty());
+        cache.get(3, key -> Optional.empty());
+        cache.get(3, key -> Optional.of("cccccc"));
+        assertThat(cache.weight()).isEqualTo(10);
+        assertThat(cache.get(3, key -> Optional.of("reloaded"))).contains("cccccc");
+        assertThat(cache.stats().getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenCandidateIsRarerThanVictimThenRejectIt() {
+        var cache = new WeightedLfuCache<Integer, String>(4, String::length);
+        cache.get(1, key -> Optional.of("aaaa"));
+        cache.get(1, key -> Optional.of("reloaded"));
+        cache.get(2, key -> Optional.of("bbbb"));
+        assertThat(cache.get(1, key -> Optional.of("reloaded"))).contains("aaaa");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenValueExceedsBudgetThenNothingCached() {
+        var cache = new WeightedLfuCache<Integer, String>(2, String::length);
+        cache.get(1, key -> Optional.of("abc"));
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    public void whenInvalidatedThenReloadAndReleaseBytes() {
+        var cache = new WeightedLfuCache<Integer, String>(10, String::length);
+        cache.get(1, key -> Optional.of("old"));
+        cache.invalidate(1);
+        assertThat(cache.weight()).isZero();
+        assertThat(cache.get(1, key -> Optional.of("new"))).contains("new");
+    }
+
+    @Test
+    public void whenValueLeavesCacheThenNotifyListener() {
+        var removed = new ArrayList<String>();
+        var cache = new WeightedLfuCache<Integer, String>(4, String::length, removed::add);
+        cache.get(1, key -> Optional.of("aaaa"));
+        cache.get(1, key -> Optional.of("reloaded"));
+        cache.get(2, key -> Optional.of("bbbb"));
+        cache.get(3, key -> Optional.of("too long"));
+        cache.invalidate(1);
+        assertThat(removed).containsExactly("bbbb", "too long", "aaaa");
+    }
+
+    @Test
+    public void whenEvictForFrequentKeyThenEldestEntryReleased() {
+        var removed = new ArrayList<String>();
+        var cache = new WeightedLfuCache<Integer, String>(10, String::length, removed::add);
+        cache.get(1, key -> Optional.of("aaaa"));
+        cache.get(2, key -> Optional.empty());
+        assertThat(cache.evictFor(2)).isFalse();
+        cache.get(2, key -> Optional.empty());
+        assertThat(cache.evictFor(2)).isTrue();
+        assertThat(removed).containsExactly("aaaa");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.evictFor(2)).isFalse();
+    }
+}
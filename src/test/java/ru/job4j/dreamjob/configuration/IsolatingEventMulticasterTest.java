@@ -0,0 +1,48 @@
+package ru.job4j.dreamjob.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IsolatingEventMulticasterTest {
+
+    @Test
+    public void whenListenerFailsOnPublishedObjectThenOtherListenersStillRun() {
+        var received = new ArrayList<Object>();
+        var multicaster = createMulticaster(List.of(
+                event -> {
+                    throw new IllegalStateException("index is broken");
+                },
+                event -> received.add(((PayloadApplicationEvent<?>) event).getPayload())));
+
+        multicaster.multicastEvent(new PayloadApplicationEvent<>(this, "vacancy saved"));
+
+        assertThat(received).containsExactly("vacancy saved");
+    }
+
+    @Test
+    public void whenListenerFailsOnFrameworkEventThenFailurePropagates() {
+        var multicaster = createMulticaster(List.of(event -> {
+            throw new IllegalStateException("shutdown failed");
+        }));
+
+        assertThatThrownBy(() -> multicaster.multicastEvent(new ContextClosedEvent(new GenericApplicationContext())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("shutdown failed");
+    }
+
+    private static IsolatingEventMulticaster createMulticaster(List<ApplicationListener<?>> listeners) {
+        var multicaster = new IsolatingEventMulticaster(new DefaultListableBeanFactory());
+        listeners.forEach(multicaster::addApplicationListener);
+        return multicaster;
+    }
+}
@@ -8,10 +8,16 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.ui.ConcurrentModel;
 import org.springframework.web.multipart.MultipartFile;
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.Page;
+import ru.job4j.dreamjob.dto.SearchResult;
 import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.CandidateSummary;
 import ru.job4j.dreamjob.model.City;
+import ru.job4j.dreamjob.search.Match;
 import ru.job4j.dreamjob.service.CandidateService;
 import ru.job4j.dreamjob.service.CityService;
+import ru.job4j.dreamjob.service.MatchingService;
 
 import java.util.List;
 
@@ -23,6 +29,7 @@ public class CandidateControllerTest {
 
     private CandidateService candidateService;
     private CityService cityService;
+    private MatchingService matchingService;
     private CandidateController candidateController;
     private MultipartFile testFile;
 
@@ -30,7 +37,8 @@ public class CandidateControllerTest {
     public void initServices() {
         candidateService = mock(CandidateService.class);
         cityService = mock(CityService.class);
-        candidateController = new CandidateController(candidateService, cityService);
+        matchingService = mock(MatchingService.class);
+        candidateController = new CandidateController(candidateService, cityService, matchingService);
         testFile = new MockMultipartFile("testFile.img", new byte[] {1, 2, 3});
     }
 
@@ -38,14 +46,16 @@ public class CandidateControllerTest {
     public void whenRequestCandidateListPageThenGetPageWithCandidates() {
         var candidate1 = new Candidate(1, "John Doe", "Desc", now(), 1, 1);
         var candidate2 = new Candidate(2, "Jane Doe", "Description", now(), 2, 2);
-        var expectedCandidates = List.of(candidate1, candidate2);
-        when(candidateService.findAll()).thenReturn(expectedCandidates);
+        var expectedCandidates = List.of(CandidateSummary.of(candidate1), CandidateSummary.of(candidate2));
+        when(candidateService.findSummaryPage(ListingFilter.NONE, null, 20)).thenReturn(new Page<>(expectedCandidates, null));
 
         var model = new ConcurrentModel();
         var session = mock(HttpSession.class);
-        var view = candidateController.getAll(model, session);
+        var view = candidateController.getAll(model, session, null, 20, null, null);
+        var actualCandidates = model.getAttribute("candidates");
 
         assertThat(view).isEqualTo("candidates/list");
+        assertThat(actualCandidates).isEqualTo(expectedCandidates);
     }
 
     @Test
@@ -72,7 +82,9 @@ public class CandidateControllerTest {
 
         assertThat(view).isEqualTo("redirect:/candidates");
         assertThat(actualCandidate).isEqualTo(candidate);
-        assertThat(fileDto).usingRecursiveComparison().isEqualTo(actualFileDto);
+        assertThat(actualFileDto.getName()).isEqualTo(fileDto.getName());
+        assertThat(actualFileDto.getSize()).isEqualTo(fileDto.getSize());
+        assertThat(actualFileDto.getInputStream().readAllBytes()).isEqualTo(fileDto.getContent());
     }
 
     @Test
@@ -93,6 +105,8 @@ public class CandidateControllerTest {
         var candidate = new Candidate(1, "John Doe", "Desc", now(), 1, 1);
         when(candidateService.findById(1)).thenReturn(java.util.Optional.of(candidate));
         when(cityService.findAll()).thenReturn(List.of(new City(1, "Москва"), new City(2, "Санкт-Петербург")));
+        var matches = List.of(new Match(3, "Java разработчик", 0.75));
+        when(matchingService.findVacancies(1)).thenReturn(matches);
 
         var model = new ConcurrentModel();
         var session = mock(HttpSession.class);
@@ -100,6 +114,7 @@ public class CandidateControllerTest {
 
         assertThat(view).isEqualTo("candidates/one");
         assertThat(model.getAttribute("candidate")).isEqualTo(candidate);
+        assertThat(model.getAttribute("matches")).isEqualTo(matches);
         assertThat(model.getAttribute("cities")).isNotNull(); // cities добавлены в модель
     }
 
@@ -171,4 +186,27 @@ public class CandidateControllerTest {
         assertThat(view).isEqualTo("errors/404");
         assertThat(model.getAttribute("message")).isEqualTo("Кандидат с указанным идентификатором не найден");
     }
+
+    @Test
+    public void whenSearchThenGetSearchPageWithResult() {
+        var summaries = List.of(CandidateSummary.of(new Candidate(1, "John Doe", "Java", now(), 1, 1)));
+        var result = new SearchResult<>(summaries, 1, 0, 20);
+        when(candidateService.search("java", 0, 20)).thenReturn(result);
+
+        var model = new ConcurrentModel();
+        var view = candidateController.search(model, mock(HttpSession.class), "java", 0, 20);
+
+        assertThat(view).isEqualTo("candidates/search");
+        assertThat(model.getAttribute("candidates")).isEqualTo(summaries);
+        assertThat(model.getAttribute("result")).isEqualTo(result);
+    }
+
+    @Test
+    public void whenSearchWithOutOfRangePageThenClamp() {
+        when(candidateService.search("java", 100, 100)).thenReturn(new SearchResult<>(List.of(), 0, 100, 100));
+
+        candidateController.search(new ConcurrentModel(), mock(HttpSession.class), "java", 1_000_000, 1_000);
+
+        verify(candidateService).search("java", 100, 100);
+    }
 }
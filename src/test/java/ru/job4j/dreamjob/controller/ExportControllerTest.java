@@ -0,0 +1,47 @@
+package ru.job4j.dreamjob.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import ru.job4j.dreamjob.dto.ExportFormat;
+import ru.job4j.dreamjob.service.ExportService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ExportControllerTest {
+
+    private ExportService exportService;
+
+    private ExportController exportController;
+
+    @BeforeEach
+    public void initServices() {
+        exportService = mock(ExportService.class);
+        exportController = new ExportController(exportService);
+    }
+
+    @Test
+    public void whenExportVacanciesAsNdjsonThenStreamFromService() throws IOException {
+        var response = exportController.exportVacancies(ExportFormat.NDJSON);
+        var out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(exportService).exportVacancies(eq(ExportFormat.NDJSON), any());
+        assertThat(response.getHeaders().getContentType()).isEqualTo(ExportFormat.NDJSON.getMediaType());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).contains("vacancies.ndjson");
+    }
+
+    @Test
+    public void whenExportCandidatesAsCsvThenStreamFromService() throws IOException {
+        var response = exportController.exportCandidates(ExportFormat.CSV);
+        response.getBody().writeTo(new ByteArrayOutputStream());
+        verify(exportService).exportCandidates(eq(ExportFormat.CSV), any());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).contains("candidates.csv");
+    }
+}
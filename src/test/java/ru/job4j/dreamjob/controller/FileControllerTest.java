@@ -2,10 +2,16 @@ package ru.job4j.dreamjob.controller;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import ru.job4j.dreamjob.dto.FileResource;
 import ru.job4j.dreamjob.model.File;
 import ru.job4j.dreamjob.service.FileService;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,9 +31,62 @@ class FileControllerTest {
     @Test
     public void whenGetByIdWithNonExistingFileThenReturnNotFound() {
         int fileId = 2;
-        when(fileService.getFileById(fileId)).thenReturn(Optional.empty());
-        ResponseEntity<?> response = fileController.getById(fileId);
+        when(fileService.getResourceById(fileId, 0)).thenReturn(Optional.empty());
+        ResponseEntity<?> response = fileController.getById(fileId, 0);
         assertThat(response).isNotNull();
         assertThat(response.getStatusCodeValue()).isEqualTo(404);
     }
+
+    @Test
+    public void whenGetByIdWithExistingFileThenReturnStreamedResourceWithCachingHeaders(@TempDir Path directory) throws Exception {
+        var path = Files.write(directory.resolve("logo.png"), new byte[] {1, 2, 3});
+        var file = new File("logo.png", path.toString(), 3, "abc");
+        var resource = new FileSystemResource(path);
+        when(fileService.getResourceById(1, 0)).thenReturn(Optional.of(new FileResource(file, resource)));
+
+        var response = fileController.getById(1, 0);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isSameAs(resource);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc\"");
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(Files.getLastModifiedTime(path).toMillis() / 1000 * 1000);
+    }
+
+    @Test
+    public void whenFileIsMissingOnDiskThenReturnNotFound(@TempDir Path directory) {
+        var path = directory.resolve("missing.png");
+        var file = new File("missing.png", path.toString(), 3, "abc");
+        when(fileService.getResourceById(1, 0)).thenReturn(Optional.of(new FileResource(file, new FileSystemResource(path))));
+
+        assertThat(fileController.getById(1, 0).getStatusCodeValue()).isEqualTo(404);
+    }
+
+    @Test
+    public void whenGetByIdWithSizeThenReturnVariant(@TempDir Path directory) throws Exception {
+        var path = Files.write(directory.resolve("logo-320.jpg"), new byte[] {1, 2});
+        var variant = new File("logo-320.jpg", path.toString(), 2, "abc-320");
+        when(fileService.getResourceById(1, 300)).thenReturn(Optional.of(new FileResource(variant, new FileSystemResource(path))));
+
+        var response = fileController.getById(1, 300);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc-320\"");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("max-age=604800, private");
+    }
+
+    @Test
+    public void whenVariantNotReadyThenServeOriginalWithoutLongCaching(@TempDir Path directory) throws Exception {
+        var path = Files.write(directory.resolve("logo.jpg"), new byte[] {1, 2, 3});
+        var original = new File("logo.jpg", path.toString(), 3, "abc");
+        when(fileService.getResourceById(1, 300))
+                .thenReturn(Optional.of(new FileResource(original, new FileSystemResource(path), true)));
+
+        var response = fileController.getById(1, 300);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache, private");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"abc\"");
+    }
 }
@@ -0,0 +1,47 @@
+package ru.job4j.dreamjob.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.job4j.dreamjob.dto.ImportReport;
+import ru.job4j.dreamjob.service.ImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImportControllerTest {
+
+    private ImportService importService;
+
+    private ImportController importController;
+
+    @BeforeEach
+    public void initServices() {
+        importService = mock(ImportService.class);
+        importController = new ImportController(importService);
+    }
+
+    @Test
+    public void whenImportVacanciesThenReturnReport() {
+        var report = new ImportReport();
+        when(importService.importVacancies(any(Reader.class), anyInt())).thenReturn(report);
+        var actual = importController.importVacancies(new ByteArrayInputStream(new byte[0]), 100);
+        assertThat(actual).isSameAs(report);
+        verify(importService).importVacancies(any(Reader.class), eq(100));
+    }
+
+    @Test
+    public void whenBatchSizeOutOfRangeThenClamp() {
+        importController.importCandidates(new ByteArrayInputStream(new byte[0]), 0);
+        importController.importCandidates(new ByteArrayInputStream(new byte[0]), Integer.MAX_VALUE);
+        verify(importService).importCandidates(any(Reader.class), eq(1));
+        verify(importService).importCandidates(any(Reader.class), eq(10_000));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.job4j.dreamjob.controller;
+
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ui.ConcurrentModel;
+import ru.job4j.dreamjob.model.Notification;
+import ru.job4j.dreamjob.model.User;
+import ru.job4j.dreamjob.service.NotificationService;
+
+import java.util.List;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class NotificationControllerTest {
+
+    private NotificationService notificationService;
+
+    private NotificationController notificationController;
+
+    @BeforeEach
+    public void initServices() {
+        notificationService = mock(NotificationService.class);
+        notificationController = new NotificationController(notificationService);
+    }
+
+    @Test
+    public void whenRequestInboxThenGetNotificationsAndMarkSeen() {
+        var session = mock(HttpSession.class);
+        when(session.getAttribute("user")).thenReturn(new User(7, "user@yandex.ru", "user", "password"));
+        var notifications = List.of(new Notification(1, 7, 2, 3, "Java", now(), false));
+        when(notificationService.findByUserId(7, 50)).thenReturn(notifications);
+
+        var model = new ConcurrentModel();
+        var view = notificationController.getAll(model, session);
+
+        assertThat(view).isEqualTo("notifications/list");
+        assertThat(model.getAttribute("notifications")).isEqualTo(notifications);
+        verify(notificationService).markSeen(7);
+    }
+
+    @Test
+    public void whenGuestRequestsInboxThenRedirectToLogin() {
+        var view = notificationController.getAll(new ConcurrentModel(), mock(HttpSession.class));
+
+        assertThat(view).isEqualTo("redirect:/users/login");
+        verifyNoInteractions(notificationService);
+    }
+}
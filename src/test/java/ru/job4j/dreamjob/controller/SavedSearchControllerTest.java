@@ -0,0 +1,94 @@
+package ru.job4j.dreamjob.controller;
+
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ui.ConcurrentModel;
+import ru.job4j.dreamjob.model.City;
+import ru.job4j.dreamjob.model.SavedSearch;
+import ru.job4j.dreamjob.model.User;
+import ru.job4j.dreamjob.service.CityService;
+import ru.job4j.dreamjob.service.SavedSearchService;
+
+import java.util.List;
+import java.util.Optional;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class SavedSearchControllerTest {
+
+    private SavedSearchService savedSearchService;
+
+    private CityService cityService;
+
+    private SavedSearchController savedSearchController;
+
+    private HttpSession session;
+
+    @BeforeEach
+    public void initServices() {
+        savedSearchService = mock(SavedSearchService.class);
+        cityService = mock(CityService.class);
+        savedSearchController = new SavedSearchController(savedSearchService, cityService);
+        session = mock(HttpSession.class);
+        when(session.getAttribute("user")).thenReturn(new User(7, "user@yandex.ru", "user", "password"));
+    }
+
+    @Test
+    public void whenRequestListThenGetUserSearches() {
+        var searches = List.of(new SavedSearch(1, 7, "java", null, now()));
+        when(savedSearchService.findByUserId(7)).thenReturn(searches);
+        when(cityService.findAll()).thenReturn(List.of(new City(1, "Москва")));
+
+        var model = new ConcurrentModel();
+        var view = savedSearchController.getAll(model, session);
+
+        assertThat(view).isEqualTo("searches/list");
+        assertThat(model.getAttribute("searches")).isEqualTo(searches);
+    }
+
+    @Test
+    public void whenGuestRequestsListThenRedirectToLogin() {
+        var view = savedSearchController.getAll(new ConcurrentModel(), mock(HttpSession.class));
+
+        assertThat(view).isEqualTo("redirect:/users/login");
+        verifyNoInteractions(savedSearchService);
+    }
+
+    @Test
+    public void whenCreateThenSaveForSessionUser() {
+        var savedSearch = new SavedSearch(0, 99, "java", 1, now());
+        var captor = ArgumentCaptor.forClass(SavedSearch.class);
+        when(savedSearchService.save(captor.capture())).thenReturn(Optional.of(savedSearch));
+
+        var view = savedSearchController.create(savedSearch, new ConcurrentModel(), session);
+
+        assertThat(view).isEqualTo("redirect:/searches");
+        assertThat(captor.getValue().getUserId()).isEqualTo(7);
+    }
+
+    @Test
+    public void whenCreateWithoutTermsThenGetErrorPage() {
+        when(savedSearchService.save(any())).thenReturn(Optional.empty());
+
+        var model = new ConcurrentModel();
+        var view = savedSearchController.create(new SavedSearch(0, 7, "и", null, now()), model, session);
+
+        assertThat(view).isEqualTo("errors/404");
+        assertThat(model.getAttribute("message")).isEqualTo("Запрос не содержит слов для поиска");
+    }
+
+    @Test
+    public void whenDeleteOtherUsersSearchThenGetErrorPage() {
+        when(savedSearchService.deleteById(1, 7)).thenReturn(false);
+
+        var model = new ConcurrentModel();
+        var view = savedSearchController.delete(model, 1, session);
+
+        assertThat(view).isEqualTo("errors/404");
+        assertThat(model.getAttribute("message")).isEqualTo("Подписка с указанным идентификатором не найдена");
+    }
+}
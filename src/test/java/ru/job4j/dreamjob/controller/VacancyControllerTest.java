@@ -7,13 +7,23 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.ui.ConcurrentModel;
 import org.springframework.web.multipart.MultipartFile;
+import ru.job4j.dreamjob.dto.FacetCounts;
 import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.Page;
+import ru.job4j.dreamjob.dto.SearchResult;
 import ru.job4j.dreamjob.model.City;
 import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.model.VacancySummary;
+import ru.job4j.dreamjob.search.Match;
+import ru.job4j.dreamjob.service.AutocompleteService;
 import ru.job4j.dreamjob.service.CityService;
+import ru.job4j.dreamjob.service.MatchingService;
 import ru.job4j.dreamjob.service.VacancyService;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static java.time.LocalDateTime.now;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -25,6 +35,10 @@ public class VacancyControllerTest {
 
     private CityService cityService;
 
+    private AutocompleteService autocompleteService;
+
+    private MatchingService matchingService;
+
     private VacancyController vacancyController;
 
     private MultipartFile testFile;
@@ -33,7 +47,9 @@ public class VacancyControllerTest {
     public void initServices() {
         vacancyService = mock(VacancyService.class);
         cityService = mock(CityService.class);
-        vacancyController = new VacancyController(vacancyService, cityService);
+        autocompleteService = mock(AutocompleteService.class);
+        matchingService = mock(MatchingService.class);
+        vacancyController = new VacancyController(vacancyService, cityService, autocompleteService, matchingService);
         testFile = new MockMultipartFile("testFile.img", new byte[] {1, 2, 3});
     }
 
@@ -41,12 +57,12 @@ public class VacancyControllerTest {
     public void whenRequestVacancyListPageThenGetPageWithVacancies() {
         var vacancy1 = new Vacancy(1, "test1", "desc1", now(), true, 1, 2);
         var vacancy2 = new Vacancy(2, "test2", "desc2", now(), false, 3, 4);
-        var expectedVacancies = List.of(vacancy1, vacancy2);
-        when(vacancyService.findAll()).thenReturn(expectedVacancies);
+        var expectedVacancies = List.of(VacancySummary.of(vacancy1), VacancySummary.of(vacancy2));
+        when(vacancyService.findSummaryPage(ListingFilter.NONE, null, 20)).thenReturn(new Page<>(expectedVacancies, null));
 
         var model = new ConcurrentModel();
         var session = mock(HttpSession.class);
-        var view = vacancyController.getAll(model, session);
+        var view = vacancyController.getAll(model, session, null, 20, null, null, null);
 
         var actualVacancies = model.getAttribute("vacancies");
 
@@ -54,6 +70,24 @@ public class VacancyControllerTest {
         assertThat(actualVacancies).isEqualTo(expectedVacancies);
     }
 
+    @Test
+    public void whenRequestVacancyListPageWithFilterThenPassFilterToService() {
+        var createdAfter = LocalDate.of(2024, 1, 1);
+        var expectedFilter = new ListingFilter(1, true, createdAfter.atStartOfDay());
+        var facets = new FacetCounts(Map.of(1, 5L), Map.of(true, 5L, false, 2L));
+        when(vacancyService.findSummaryPage(expectedFilter, null, 20)).thenReturn(new Page<>(List.of(), null));
+        when(vacancyService.countFacets(expectedFilter)).thenReturn(facets);
+
+        var model = new ConcurrentModel();
+        var session = mock(HttpSession.class);
+        var view = vacancyController.getAll(model, session, null, 20, 1, true, createdAfter);
+
+        assertThat(view).isEqualTo("vacancies/list");
+        assertThat(model.getAttribute("filter")).isEqualTo(expectedFilter);
+        assertThat(model.getAttribute("facets")).isEqualTo(facets);
+        verify(vacancyService).findSummaryPage(expectedFilter, null, 20);
+    }
+
     @Test
     public void whenRequestVacancyCreationPageThenGetPageWithCities() {
         var city1 = new City(1, "Москва");
@@ -79,13 +113,15 @@ public class VacancyControllerTest {
         when(vacancyService.save(vacancyArgumentCaptor.capture(), fileDtoArgumentCaptor.capture())).thenReturn(vacancy);
 
         var model = new ConcurrentModel();
-        var view = vacancyController.create(vacancy, testFile, model);
+        var view = vacancyController.create(vacancy, testFile, model, mock(HttpSession.class));
         var actualVacancy = vacancyArgumentCaptor.getValue();
         var actualFileDto = fileDtoArgumentCaptor.getValue();
 
         assertThat(view).isEqualTo("redirect:/vacancies");
         assertThat(actualVacancy).isEqualTo(vacancy);
-        assertThat(fileDto).usingRecursiveComparison().isEqualTo(actualFileDto);
+        assertThat(actualFileDto.getName()).isEqualTo(fileDto.getName());
+        assertThat(actualFileDto.getSize()).isEqualTo(fileDto.getSize());
+        assertThat(actualFileDto.getInputStream().readAllBytes()).isEqualTo(fileDto.getContent());
 
     }
 
@@ -95,11 +131,12 @@ public class VacancyControllerTest {
         when(vacancyService.save(any(), any())).thenThrow(expectedException);
 
         var model = new ConcurrentModel();
-        var view = vacancyController.create(new Vacancy(), testFile, model);
+        var view = vacancyController.create(new Vacancy(), testFile, model, mock(HttpSession.class));
         var actualExceptionMessage = model.getAttribute("message");
 
         assertThat(view).isEqualTo("errors/404");
         assertThat(actualExceptionMessage).isEqualTo(expectedException.getMessage());
+        assertThat(model.getAttribute("user")).isNotNull();
     }
 
     @Test
@@ -109,8 +146,11 @@ public class VacancyControllerTest {
         var city2 = new City(2, "Санкт-Петербург");
         var cities = List.of(city1, city2);
 
+        var matches = List.of(new Match(5, "Иван Иванов", 1.1));
+
         when(vacancyService.findById(1)).thenReturn(java.util.Optional.of(vacancy));
         when(cityService.findAll()).thenReturn(cities);
+        when(matchingService.findCandidates(1)).thenReturn(matches);
 
         var model = new ConcurrentModel();
         var session = mock(HttpSession.class);
@@ -120,6 +160,7 @@ public class VacancyControllerTest {
         assertThat(view).isEqualTo("vacancies/one");
         assertThat(model.getAttribute("vacancy")).isEqualTo(vacancy);
         assertThat(model.getAttribute("cities")).isEqualTo(cities);
+        assertThat(model.getAttribute("matches")).isEqualTo(matches);
         assertThat(model.getAttribute("user")).isNotNull();
     }
 
@@ -200,4 +241,36 @@ public class VacancyControllerTest {
         assertThat(view).isEqualTo("errors/404");
         assertThat(model.getAttribute("message")).isEqualTo("Вакансия с указанным идентификатором не найдена");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenSearchThenGetSearchPageWithResult() {
+        var summaries = List.of(VacancySummary.of(new Vacancy(1, "Java разработчик", "desc", now(), true, 1, 2)));
+        var result = new SearchResult<>(summaries, 1, 0, 20);
+        when(vacancyService.search("java", 0, 20)).thenReturn(result);
+
+        var model = new ConcurrentModel();
+        var view = vacancyController.search(model, mock(HttpSession.class), "java", 0, 20);
+
+        assertThat(view).isEqualTo("vacancies/search");
+        assertThat(model.getAttribute("vacancies")).isEqualTo(summaries);
+        assertThat(model.getAttribute("result")).isEqualTo(result);
+    }
+
+    @Test
+    public void whenSearchWithOutOfRangePageThenClamp() {
+        when(vacancyService.search("java", 100, 100)).thenReturn(new SearchResult<>(List.of(), 0, 100, 100));
+
+        vacancyController.search(new ConcurrentModel(), mock(HttpSession.class), "java", 1_000_000, 1_000);
+
+        verify(vacancyService).search("java", 100, 100);
+    }
+
+    @Test
+    public void whenSuggestThenGetTitlesWithClampedLimit() {
+        when(autocompleteService.suggest("jav", 10)).thenReturn(List.of("Java разработчик"));
+
+        var titles = vacancyController.suggest("jav", 1_000);
+
+        assertThat(titles).isEqualTo(List.of("Java разработчик"));
+    }
+}
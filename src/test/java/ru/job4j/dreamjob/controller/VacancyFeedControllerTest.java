@@ -0,0 +1,49 @@
+package ru.job4j.dreamjob.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.job4j.dreamjob.service.VacancyFeedService;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VacancyFeedControllerTest {
+
+    private VacancyFeedService vacancyFeedService;
+
+    private VacancyFeedController vacancyFeedController;
+
+    @BeforeEach
+    public void initServices() {
+        vacancyFeedService = mock(VacancyFeedService.class);
+        vacancyFeedController = new VacancyFeedController(vacancyFeedService);
+    }
+
+    @Test
+    public void whenSubscribeThenReturnEmitter() {
+        var emitter = new SseEmitter();
+        when(vacancyFeedService.subscribe()).thenReturn(Optional.of(emitter));
+
+        var response = vacancyFeedController.subscribe();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(emitter);
+    }
+
+    @Test
+    public void whenFeedIsFullThenServiceUnavailableWithRetryAfter() {
+        when(vacancyFeedService.subscribe()).thenReturn(Optional.empty());
+
+        var response = vacancyFeedController.subscribe();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(response.getBody()).isNull();
+    }
+}
@@ -0,0 +1,60 @@
+package ru.job4j.dreamjob.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    private List<CsvRecord> readAll(String text) throws IOException {
+        var records = new ArrayList<CsvRecord>();
+        try (var reader = new CsvReader(new StringReader(text))) {
+            for (var record = reader.next(); record.isPresent(); record = reader.next()) {
+                records.add(record.get());
+            }
+        }
+        return records;
+    }
+
+    @Test
+    public void whenPlainRecordsThenSplitByComma() throws IOException {
+        var records = readAll("a,b,c\n1,2,3\n");
+        assertThat(records).extracting(CsvRecord::values)
+                .containsExactly(List.of("a", "b", "c"), List.of("1", "2", "3"));
+    }
+
+    @Test
+    public void whenQuotedValuesThenUnescapeQuotesAndKeepCommas() throws IOException {
+        var records = readAll("\"a,b\",\"say \"\"hi\"\"\",\n");
+        assertThat(records.get(0).values()).containsExactly("a,b", "say \"hi\"", "");
+    }
+
+    @Test
+    public void whenEmbeddedNewlineAndCrLfThenTrackLines() throws IOException {
+        var records = readAll("first,\"multi\r\nline\"\r\nsecond,x");
+        assertThat(records.get(0).values()).containsExactly("first", "multi\r\nline");
+        assertThat(records.get(1).line()).isEqualTo(3);
+        assertThat(records.get(1).values()).containsExactly("second", "x");
+    }
+
+    @Test
+    public void whenUnterminatedQuoteThenThrow() {
+        assertThatThrownBy(() -> readAll("a,\"open\n")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void whenWrittenThenReadBackSame() throws IOException {
+        var values = Arrays.asList("plain", "with,comma", "with \"quote\"", "line\nbreak", "");
+        var out = new StringWriter();
+        new CsvWriter(out).writeRecord(values);
+        assertThat(readAll(out.toString()).get(0).values()).isEqualTo(values);
+    }
+}
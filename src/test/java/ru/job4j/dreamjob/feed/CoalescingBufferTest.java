@@ -0,0 +1,85 @@
+package ru.job4j.dreamjob.feed;
+
+import org.junit.jupiter.api.Test;
+import ru.job4j.dreamjob.dto.FeedEventType;
+import ru.job4j.dreamjob.dto.VacancyFeedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingBufferTest {
+
+    private final CoalescingBuffer<Integer, VacancyFeedEvent> buffer = new CoalescingBuffer<>(3, VacancyFeedEvent::coalesce);
+
+    private static VacancyFeedEvent event(FeedEventType type, int id, String title) {
+        return new VacancyFeedEvent(type, id, title, 1, LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    @Test
+    public void whenDrainThenEventsInArrivalOrderAndBufferEmpty() {
+        buffer.offer(2, event(FeedEventType.CREATED, 2, "b"));
+        buffer.offer(1, event(FeedEventType.UPDATED, 1, "a"));
+        assertThat(buffer.drain()).containsExactly(event(FeedEventType.CREATED, 2, "b"), event(FeedEventType.UPDATED, 1, "a"));
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+    @Test
+    public void whenSameKeyOfferedTwiceThenCoalesced() {
+        buffer.offer(1, event(FeedEventType.UPDATED, 1, "a"));
+        buffer.offer(2, event(FeedEventType.CREATED, 2, "b"));
+        buffer.offer(1, event(FeedEventType.UPDATED, 1, "a2"));
+        buffer.offer(2, event(FeedEventType.UPDATED, 2, "b2"));
+        assertThat(buffer.drain()).isEqualTo(List.of(event(FeedEventType.UPDATED, 1, "a2"), event(FeedEventType.CREATED, 2, "b2")));
+        assertThat(buffer.takeDropped()).isZero();
+    }
+
+    @Test
+    public void whenCreatedThenDeletedBeforeDrainThenNothingDelivered() {
+        buffer.offer(1, event(FeedEventType.CREATED, 1, "a"));
+        buffer.offer(1, event(FeedEventType.DELETED, 1, "a"));
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+    @Test
+    public void whenFullThenEldestDroppedAndCounted() {
+        for (int id = 1; id <= 5; id++) {
+            buffer.offer(id, event(FeedEventType.CREATED, id, "v" + id));
+        }
+        buffer.offer(5, event(FeedEventType.UPDATED, 5, "v5"));
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.isEmpty()).isFalse();
+        assertThat(buffer.takeDropped()).isEqualTo(2);
+        assertThat(buffer.takeDropped()).isZero();
+        assertThat(buffer.drain()).extracting(VacancyFeedEvent::id).containsExactly(3, 4, 5);
+    }
+
+    @Test
+    public void whenOnlyDropsPendingThenNotEmpty() {
+        var single = new CoalescingBuffer<Integer, String>(1, (pending, next) -> next);
+        single.offer(1, "a");
+        single.offer(2, "b");
+        single.drain();
+        assertThat(single.isEmpty()).isFalse();
+        assertThat(single.takeDropped()).isEqualTo(1);
+        assertThat(single.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void whenSkipThenCountedAsDropped() {
+        buffer.offer(1, event(FeedEventType.CREATED, 1, "a"));
+        buffer.skip(5);
+        assertThat(buffer.takeDropped()).isEqualTo(5);
+        assertThat(buffer.drain()).extracting(VacancyFeedEvent::id).containsExactly(1);
+    }
+
+    @Test
+    public void whenCapacityNotPositiveThenException() {
+        assertThatThrownBy(() -> new CoalescingBuffer<Integer, String>(0, (pending, next) -> next))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
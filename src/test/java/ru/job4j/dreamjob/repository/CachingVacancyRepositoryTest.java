@@ -0,0 +1,56 @@
+package ru.job4j.dreamjob.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import ru.job4j.dreamjob.model.Vacancy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingVacancyRepositoryTest {
+
+    private VacancyRepository vacancyRepository;
+
+    private UnitOfWork unitOfWork;
+
+    private CachingVacancyRepository cachingVacancyRepository;
+
+    private final Vacancy vacancy = new Vacancy(1, "title", "description", LocalDateTime.of(2024, 1, 1, 0, 0), true, 1, 2);
+
+    @BeforeEach
+    public void initRepositories() {
+        vacancyRepository = mock(VacancyRepository.class);
+        unitOfWork = mock(UnitOfWork.class);
+        cachingVacancyRepository = new CachingVacancyRepository(vacancyRepository, 10, Duration.ofMinutes(1), unitOfWork);
+        when(vacancyRepository.findById(1)).thenReturn(Optional.of(vacancy));
+    }
+
+    @Test
+    public void whenCallerMutatesFoundVacancyThenCachedCopyUnchanged() {
+        var found = cachingVacancyRepository.findById(1).get();
+        found.setTitle("changed by form binding");
+        var foundAgain = cachingVacancyRepository.findById(1).get();
+        assertThat(foundAgain.getTitle()).isEqualTo("title");
+        assertThat(foundAgain).isNotSameAs(found);
+        verify(vacancyRepository, times(1)).findById(1);
+    }
+
+    @Test
+    public void whenUpdateRolledBackThenEntryInvalidated() {
+        var rollback = ArgumentCaptor.forClass(Runnable.class);
+        cachingVacancyRepository.update(vacancy);
+        verify(unitOfWork).afterRollback(rollback.capture());
+        cachingVacancyRepository.findById(1);
+        rollback.getValue().run();
+        cachingVacancyRepository.findById(1);
+        verify(vacancyRepository, times(2)).findById(1);
+    }
+}
@@ -5,21 +5,30 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.sql2o.Sql2o;
 import ru.job4j.dreamjob.configuration.DatasourceConfiguration;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
 import ru.job4j.dreamjob.model.File;
 import ru.job4j.dreamjob.model.Candidate;
+import ru.job4j.dreamjob.model.CandidateSummary;
 
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import static java.time.LocalDateTime.now;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.empty;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 class Sql2oCandidateRepositoryTest {
 
+    private static Sql2o sql2o;
+
     private static Sql2oCandidateRepository sql2oCandidateRepository;
 
     private static Sql2oFileRepository sql2oFileRepository;
@@ -38,7 +47,7 @@ class Sql2oCandidateRepositoryTest {
 
         var configuration = new DatasourceConfiguration();
         var datasource = configuration.connectionPool(url, username, password);
-        var sql2o = configuration.databaseClient(datasource);
+        sql2o = configuration.databaseClient(datasource);
 
         sql2oCandidateRepository = new Sql2oCandidateRepository(sql2o);
         sql2oFileRepository = new Sql2oFileRepository(sql2o);
@@ -118,4 +127,150 @@ class Sql2oCandidateRepositoryTest {
         var isUpdated = sql2oCandidateRepository.update(candidate);
         assertThat(isUpdated).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenFindPageThenGetNewestFirstAndContinueAfterCursor() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var candidate1 = sql2oCandidateRepository.save(new Candidate(0, "title1", "description1", creationDate.minusDays(1), 1, file.getId()));
+        var candidate2 = sql2oCandidateRepository.save(new Candidate(0, "title2", "description2", creationDate, 1, file.getId()));
+        var candidate3 = sql2oCandidateRepository.save(new Candidate(0, "title3", "description3", creationDate, 1, file.getId()));
+        var firstPage = sql2oCandidateRepository.findPage(ListingFilter.NONE, null, 2);
+        var cursor = new PageCursor(candidate2.getCreationDate(), candidate2.getId());
+        var secondPage = sql2oCandidateRepository.findPage(ListingFilter.NONE, cursor, 2);
+        assertThat(firstPage).isEqualTo(List.of(candidate3, candidate2));
+        assertThat(secondPage).isEqualTo(List.of(candidate1));
+    }
+
+    @Test
+    public void whenPageAcrossRowWithoutCreationDateThenNullDatedRowsComeFirst() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var dated = sql2oCandidateRepository.save(new Candidate(0, "title1", "description1", creationDate, 1, file.getId()));
+        var undated1 = sql2oCandidateRepository.save(new Candidate(0, "title2", "description2", null, 1, file.getId()));
+        var undated2 = sql2oCandidateRepository.save(new Candidate(0, "title3", "description3", null, 1, file.getId()));
+        var firstPage = sql2oCandidateRepository.findPage(ListingFilter.NONE, null, 1);
+        var cursor = PageCursor.parse(new PageCursor(undated2.getCreationDate(), undated2.getId()).toString()).get();
+        var secondPage = sql2oCandidateRepository.findPage(ListingFilter.NONE, cursor, 1);
+        var lastCursor = PageCursor.parse(new PageCursor(undated1.getCreationDate(), undated1.getId()).toString()).get();
+        var lastPage = sql2oCandidateRepository.findPage(ListingFilter.NONE, lastCursor, 10);
+        assertThat(cursor).isEqualTo(new PageCursor(null, undated2.getId()));
+        assertThat(firstPage).isEqualTo(List.of(undated2));
+        assertThat(secondPage).isEqualTo(List.of(undated1));
+        assertThat(lastPage).isEqualTo(List.of(dated));
+    }
+
+    @Test
+    public void whenFindSummaryPageThenGetListedColumnsOnly() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var candidate = sql2oCandidateRepository.save(new Candidate(0, "title", "description", creationDate, 1, file.getId()));
+        var summaries = sql2oCandidateRepository.findSummaryPage(ListingFilter.NONE, null, 10);
+        assertThat(summaries).isEqualTo(List.of(CandidateSummary.of(candidate)));
+        assertThat(summaries.iterator().next()).usingRecursiveComparison().isEqualTo(CandidateSummary.of(candidate));
+    }
+
+    @Test
+    public void whenDeleteReturningFileIdThenGetFileIdAndRowIsGone() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var candidate = sql2oCandidateRepository.save(new Candidate(0, "title", "description", creationDate, 1, file.getId()));
+        var fileId = sql2oCandidateRepository.deleteByIdReturningFileId(candidate.getId());
+        assertThat(fileId).contains(file.getId());
+        assertThat(sql2oCandidateRepository.findById(candidate.getId())).isEqualTo(empty());
+    }
+
+    @Test
+    public void whenDeleteReturningFileIdByInvalidIdThenGetEmpty() {
+        assertThat(sql2oCandidateRepository.deleteByIdReturningFileId(0)).isEqualTo(empty());
+    }
+
+    @Test
+    public void whenSaveAllThenGetGeneratedIds() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var saved = List.copyOf(sql2oCandidateRepository.saveAll(List.of(
+                new Candidate(0, "title1", "description1", creationDate, 1, file.getId()),
+                new Candidate(0, "title2", "description2", creationDate, 1, 0)
+        )));
+        assertThat(saved.get(0).getId()).isNotZero();
+        assertThat(saved.get(1).getId()).isNotEqualTo(saved.get(0).getId());
+        assertThat(sql2oCandidateRepository.findById(saved.get(1).getId()).get()).usingRecursiveComparison().isEqualTo(saved.get(1));
+    }
+
+    @Test
+    public void whenImportAllThenGetImportedCount() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var imported = sql2oCandidateRepository.importAll(List.of(
+                new Candidate(0, "title1", "description1", creationDate, 1, file.getId()),
+                new Candidate(0, "title2", "description2", creationDate, 1, 0)
+        ));
+        assertThat(imported).isEqualTo(2);
+        assertThat(sql2oCandidateRepository.findAll().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void whenUpdateImportedRowWithoutFileThenFileStaysEmpty() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        sql2oCandidateRepository.importAll(List.of(new Candidate(0, "title", "description", creationDate, 1, 0)));
+        var imported = sql2oCandidateRepository.findAll().iterator().next();
+        var updatedCandidate = new Candidate(imported.getId(), "new title", "new description", creationDate, 1, 0);
+        var isUpdated = sql2oCandidateRepository.update(updatedCandidate);
+        var savedCandidate = sql2oCandidateRepository.findById(imported.getId()).get();
+        assertThat(isUpdated).isTrue();
+        assertThat(savedCandidate).usingRecursiveComparison().isEqualTo(updatedCandidate);
+    }
+
+    @Test
+    public void whenExportAllThenStreamRowsInIdOrder() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var first = sql2oCandidateRepository.save(new Candidate(0, "title1", "description1", creationDate, 1, file.getId()));
+        var second = sql2oCandidateRepository.save(new Candidate(0, "title2", "description2", creationDate, 1, file.getId()));
+        var exported = new ArrayList<Candidate>();
+        var count = sql2oCandidateRepository.exportAll(1, exported::add);
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).usingRecursiveComparison().isEqualTo(List.of(first, second));
+    }
+
+    @Test
+    public void whenConsumerFailsThenExportStops() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        sql2oCandidateRepository.save(new Candidate(0, "title1", "description1", creationDate, 1, file.getId()));
+        sql2oCandidateRepository.save(new Candidate(0, "title2", "description2", creationDate, 1, file.getId()));
+        var exported = new ArrayList<Candidate>();
+        assertThatThrownBy(() -> sql2oCandidateRepository.exportAll(1, candidate -> {
+            exported.add(candidate);
+            throw new IllegalStateException("client went away");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(exported.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenFindPageWithFilterThenGetMatchingOnly() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        sql2oCandidateRepository.save(new Candidate(0, "old", "description", creationDate.minusDays(3), 1, file.getId()));
+        sql2oCandidateRepository.save(new Candidate(0, "other city", "description", creationDate, 2, file.getId()));
+        var match = sql2oCandidateRepository.save(new Candidate(0, "match", "description", creationDate, 1, file.getId()));
+        var page = sql2oCandidateRepository.findPage(new ListingFilter(1, null, creationDate.minusDays(1)), null, 10);
+        assertThat(List.copyOf(page)).usingRecursiveComparison().isEqualTo(List.of(match));
+    }
+
+    @Test
+    public void whenCountByCityThenGroupByCity() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        sql2oCandidateRepository.save(new Candidate(0, "name1", "description", creationDate, 1, file.getId()));
+        sql2oCandidateRepository.save(new Candidate(0, "name2", "description", creationDate, 1, file.getId()));
+        sql2oCandidateRepository.save(new Candidate(0, "name3", "description", creationDate, 2, file.getId()));
+        assertThat(sql2oCandidateRepository.countByCity()).isEqualTo(Map.of(1, 2L, 2, 1L));
+    }
+
+    @Test
+    public void whenFilterByCityThenPlanUsesIndexes() {
+        var filter = new ListingFilter(1, null, null);
+        var cursor = new PageCursor(now().truncatedTo(ChronoUnit.MINUTES), 5);
+        assertThat(sql2oCandidateRepository.explainPageKeys(filter, null, 20)).containsIgnoringCase("candidates_city_id_creation_date_idx");
+        assertThat(sql2oCandidateRepository.explainPageKeys(filter, cursor, 20)).containsIgnoringCase("candidates_city_id_creation_date_idx");
+        assertThat(explain("SELECT id FROM candidates WHERE file_id = 1")).containsIgnoringCase("candidates_file_id_idx");
+    }
+
+    private String explain(String sql) {
+        try (var connection = sql2o.open()) {
+            return connection.createQuery("EXPLAIN " + sql).executeScalar(String.class);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ru.job4j.dreamjob.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ru.job4j.dreamjob.configuration.DatasourceConfiguration;
+import ru.job4j.dreamjob.model.File;
+
+import java.util.List;
+import java.util.Properties;
+
+import static java.util.Optional.empty;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Sql2oFileRepositoryTest {
+
+    private static Sql2oFileRepository sql2oFileRepository;
+
+    @BeforeAll
+    public static void initRepositories() throws Exception {
+        var properties = new Properties();
+        try (var inputStream = Sql2oFileRepositoryTest.class.getClassLoader().getResourceAsStream("connection.properties")) {
+            properties.load(inputStream);
+        }
+        var url = properties.getProperty("datasource.url");
+        var username = properties.getProperty("datasource.username");
+        var password = properties.getProperty("datasource.password");
+
+        var configuration = new DatasourceConfiguration();
+        var datasource = configuration.connectionPool(url, username, password);
+        var sql2o = configuration.databaseClient(datasource);
+
+        sql2oFileRepository = new Sql2oFileRepository(sql2o);
+    }
+
+    @Test
+    public void whenSaveThenFindSame() {
+        var file = sql2oFileRepository.save(new File("name", "files/saved", 3, "checksum"));
+        var savedFile = sql2oFileRepository.findById(file.getId()).get();
+        sql2oFileRepository.deleteById(file.getId());
+        assertThat(savedFile).usingRecursiveComparison().isEqualTo(file);
+    }
+
+    @Test
+    public void whenDeleteReturningThenGetDeletedFile() {
+        var file = sql2oFileRepository.save(new File("name", "files/deleted"));
+        var deletedFile = sql2oFileRepository.deleteByIdReturning(file.getId());
+        assertThat(deletedFile.get()).usingRecursiveComparison().isEqualTo(file);
+        assertThat(sql2oFileRepository.findById(file.getId())).isEqualTo(empty());
+    }
+
+    @Test
+    public void whenDeleteReturningByInvalidIdThenGetEmpty() {
+        assertThat(sql2oFileRepository.deleteByIdReturning(0)).isEqualTo(empty());
+    }
+
+    @Test
+    public void whenSaveOrAcquireSamePathThenShareFile() {
+        var first = sql2oFileRepository.saveOrAcquire(new File("first", "files/shared", 3, "checksum"));
+        var second = sql2oFileRepository.saveOrAcquire(new File("second", "files/shared", 3, "checksum"));
+        sql2oFileRepository.deleteById(first.getId());
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getName()).isEqualTo("first");
+        assertThat(first.getRefCount()).isEqualTo(1);
+        assertThat(second.getRefCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void whenReleaseLastReferenceThenGetDeletedFile() {
+        var file = sql2oFileRepository.saveOrAcquire(new File("name", "files/released", 3, "checksum"));
+        sql2oFileRepository.saveOrAcquire(new File("name", "files/released", 3, "checksum"));
+        var firstRelease = sql2oFileRepository.releaseById(file.getId());
+        var secondRelease = sql2oFileRepository.releaseById(file.getId());
+        assertThat(firstRelease).isEqualTo(empty());
+        assertThat(secondRelease.get().getPath()).isEqualTo("files/released");
+        assertThat(sql2oFileRepository.findById(file.getId())).isEqualTo(empty());
+    }
+
+    @Test
+    public void whenUpdatePathThenFindMovedFile() {
+        var file = sql2oFileRepository.save(new File("name", "files/unmoved"));
+        var isUpdated = sql2oFileRepository.updatePath(file.getId(), "files/un/mo/unmoved");
+        var movedFile = sql2oFileRepository.findById(file.getId()).get();
+        sql2oFileRepository.deleteById(file.getId());
+        assertThat(isUpdated).isTrue();
+        assertThat(movedFile.getPath()).isEqualTo("files/un/mo/unmoved");
+    }
+
+    @Test
+    public void whenFileIsUnreferencedThenFindAndDeleteIt() {
+        var file = sql2oFileRepository.save(new File("name", "files/unreferenced"));
+        var unreferenced = sql2oFileRepository.findUnreferenced(Integer.MAX_VALUE);
+        var deletedFile = sql2oFileRepository.deleteIfUnreferenced(file.getId());
+        assertThat(unreferenced).extracting(File::getId).contains(file.getId());
+        assertThat(deletedFile.get().getPath()).isEqualTo("files/unreferenced");
+        assertThat(sql2oFileRepository.existsByPath("files/unreferenced")).isFalse();
+    }
+
+    @Test
+    public void whenFileIsSavedThenExistsByPath() {
+        var file = sql2oFileRepository.save(new File("name", "files/existing"));
+        var exists = sql2oFileRepository.existsByPath("files/existing");
+        sql2oFileRepository.deleteById(file.getId());
+        assertThat(exists).isTrue();
+    }
+
+    @Test
+    public void whenFindExistingPathsThenReturnOnlySavedOnes() {
+        var first = sql2oFileRepository.save(new File("first", "files/first"));
+        var second = sql2oFileRepository.save(new File("second", "files/second"));
+        var existing = sql2oFileRepository.findExistingPaths(List.of("files/first", "files/missing", "files/second"));
+        sql2oFileRepository.deleteById(first.getId());
+        sql2oFileRepository.deleteById(second.getId());
+        assertThat(existing).containsExactlyInAnyOrder("files/first", "files/second");
+        assertThat(sql2oFileRepository.findExistingPaths(List.of())).isEmpty();
+    }
+}
@@ -0,0 +1,131 @@
+package ru.job4j.dreamjob.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.sql2o.Sql2o;
+import ru.job4j.dreamjob.configuration.DatasourceConfiguration;
+import ru.job4j.dreamjob.model.File;
+import ru.job4j.dreamjob.model.Notification;
+import ru.job4j.dreamjob.model.SavedSearch;
+import ru.job4j.dreamjob.model.User;
+import ru.job4j.dreamjob.model.Vacancy;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Properties;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Sql2oNotificationRepositoryTest {
+
+    private static Sql2o sql2o;
+
+    private static Sql2oNotificationRepository sql2oNotificationRepository;
+
+    private static Sql2oVacancyRepository sql2oVacancyRepository;
+
+    private static Sql2oFileRepository sql2oFileRepository;
+
+    private static File file;
+
+    private static User user;
+
+    private static SavedSearch savedSearch;
+
+    private static Vacancy first;
+
+    private static Vacancy second;
+
+    @BeforeAll
+    public static void initRepositories() throws Exception {
+        var properties = new Properties();
+        try (var inputStream = Sql2oNotificationRepositoryTest.class.getClassLoader().getResourceAsStream("connection.properties")) {
+            properties.load(inputStream);
+        }
+        var url = properties.getProperty("datasource.url");
+        var username = properties.getProperty("datasource.username");
+        var password = properties.getProperty("datasource.password");
+
+        var configuration = new DatasourceConfiguration();
+        var datasource = configuration.connectionPool(url, username, password);
+        sql2o = configuration.databaseClient(datasource);
+
+        sql2oNotificationRepository = new Sql2oNotificationRepository(sql2o);
+        sql2oVacancyRepository = new Sql2oVacancyRepository(sql2o);
+        sql2oFileRepository = new Sql2oFileRepository(sql2o);
+        file = new File("test", "notifications");
+        sql2oFileRepository.save(file);
+        user = new Sql2oUserRepository(sql2o).save(new User(0, "notifications@yandex.ru", "user", "password")).get();
+        savedSearch = new Sql2oSavedSearchRepository(sql2o).save(new SavedSearch(0, user.getId(), "java", null, now()));
+        first = sql2oVacancyRepository.save(new Vacancy(0, "Java", "description", now(), true, 1, file.getId()));
+        second = sql2oVacancyRepository.save(new Vacancy(0, "Java Senior", "description", now(), true, 1, file.getId()));
+    }
+
+    @AfterAll
+    public static void deleteFixtures() {
+        sql2oVacancyRepository.deleteById(first.getId());
+        sql2oVacancyRepository.deleteById(second.getId());
+        sql2oFileRepository.deleteById(file.getId());
+        try (var connection = sql2o.open()) {
+            connection.createQuery("DELETE FROM users WHERE id = :id").addParameter("id", user.getId()).executeUpdate();
+        }
+    }
+
+    @AfterEach
+    public void clearNotifications() {
+        try (var connection = sql2o.open()) {
+            connection.createQuery("DELETE FROM notifications").executeUpdate();
+        }
+    }
+
+    private Notification notificationAbout(Vacancy vacancy, int minutesAgo) {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(minutesAgo);
+        return new Notification(0, user.getId(), savedSearch.getId(), vacancy.getId(), vacancy.getTitle(), creationDate, false);
+    }
+
+    @Test
+    public void whenSaveAllThenFindNewestFirst() {
+        var inserted = sql2oNotificationRepository.saveAll(List.of(notificationAbout(first, 2), notificationAbout(second, 1)));
+        var found = List.copyOf(sql2oNotificationRepository.findByUserId(user.getId(), 10));
+        assertThat(inserted).isEqualTo(2);
+        assertThat(found).extracting(Notification::getVacancyId).containsExactly(second.getId(), first.getId());
+        assertThat(sql2oNotificationRepository.findByUserId(user.getId(), 1)).hasSize(1);
+    }
+
+    @Test
+    public void whenSameVacancyNotifiedTwiceThenKeepOne() {
+        sql2oNotificationRepository.saveAll(List.of(notificationAbout(first, 1)));
+        var inserted = sql2oNotificationRepository.saveAll(List.of(notificationAbout(first, 0)));
+        assertThat(inserted).isZero();
+        assertThat(sql2oNotificationRepository.findByUserId(user.getId(), 10)).hasSize(1);
+    }
+
+    @Test
+    public void whenMarkSeenThenNoUnseenLeft() {
+        sql2oNotificationRepository.saveAll(List.of(notificationAbout(first, 2), notificationAbout(second, 1)));
+        assertThat(sql2oNotificationRepository.countUnseen(user.getId())).isEqualTo(2);
+        assertThat(sql2oNotificationRepository.markSeen(user.getId())).isEqualTo(2);
+        assertThat(sql2oNotificationRepository.countUnseen(user.getId())).isZero();
+        assertThat(sql2oNotificationRepository.findByUserId(user.getId(), 10)).allMatch(Notification::getSeen);
+    }
+
+    @Test
+    public void whenVacancyDeletedBeforeSaveAllThenKeepOtherNotifications() {
+        var deleted = sql2oVacancyRepository.save(new Vacancy(0, "Java Junior", "description", now(), true, 1, file.getId()));
+        sql2oVacancyRepository.deleteById(deleted.getId());
+        var inserted = sql2oNotificationRepository.saveAll(List.of(notificationAbout(first, 1), notificationAbout(deleted, 0)));
+        assertThat(inserted).isEqualTo(1);
+        assertThat(sql2oNotificationRepository.findByUserId(user.getId(), 10))
+                .extracting(Notification::getVacancyId).containsExactly(first.getId());
+    }
+
+    @Test
+    public void whenSavedSearchDeletedBeforeSaveAllThenNothingSaved() {
+        var notification = new Notification(0, user.getId(), Integer.MAX_VALUE, first.getId(), first.getTitle(), now(), false);
+        assertThat(sql2oNotificationRepository.saveAll(List.of(notification))).isZero();
+        assertThat(sql2oNotificationRepository.findByUserId(user.getId(), 10)).isEmpty();
+    }
+}
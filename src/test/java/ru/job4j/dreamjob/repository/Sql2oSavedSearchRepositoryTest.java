@@ -0,0 +1,84 @@
+package ru.job4j.dreamjob.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.sql2o.Sql2o;
+import ru.job4j.dreamjob.configuration.DatasourceConfiguration;
+import ru.job4j.dreamjob.model.SavedSearch;
+import ru.job4j.dreamjob.model.User;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Properties;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Sql2oSavedSearchRepositoryTest {
+
+    private static Sql2o sql2o;
+
+    private static Sql2oSavedSearchRepository sql2oSavedSearchRepository;
+
+    private static User user;
+
+    private static User otherUser;
+
+    @BeforeAll
+    public static void initRepositories() throws Exception {
+        var properties = new Properties();
+        try (var inputStream = Sql2oSavedSearchRepositoryTest.class.getClassLoader().getResourceAsStream("connection.properties")) {
+            properties.load(inputStream);
+        }
+        var url = properties.getProperty("datasource.url");
+        var username = properties.getProperty("datasource.username");
+        var password = properties.getProperty("datasource.password");
+
+        var configuration = new DatasourceConfiguration();
+        var datasource = configuration.connectionPool(url, username, password);
+        sql2o = configuration.databaseClient(datasource);
+
+        sql2oSavedSearchRepository = new Sql2oSavedSearchRepository(sql2o);
+        var sql2oUserRepository = new Sql2oUserRepository(sql2o);
+        user = sql2oUserRepository.save(new User(0, "searches@yandex.ru", "user", "password")).get();
+        otherUser = sql2oUserRepository.save(new User(0, "other.searches@yandex.ru", "other", "password")).get();
+    }
+
+    @AfterAll
+    public static void deleteUsers() {
+        try (var connection = sql2o.open()) {
+            connection.createQuery("DELETE FROM users WHERE id IN (:first, :second)")
+                    .addParameter("first", user.getId())
+                    .addParameter("second", otherUser.getId())
+                    .executeUpdate();
+        }
+    }
+
+    @AfterEach
+    public void clearSavedSearches() {
+        try (var connection = sql2o.open()) {
+            connection.createQuery("DELETE FROM saved_searches").executeUpdate();
+        }
+    }
+
+    @Test
+    public void whenSaveThenFindByUser() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var first = sql2oSavedSearchRepository.save(new SavedSearch(0, user.getId(), "java", null, creationDate));
+        var second = sql2oSavedSearchRepository.save(new SavedSearch(0, user.getId(), "kotlin", 1, creationDate));
+        sql2oSavedSearchRepository.save(new SavedSearch(0, otherUser.getId(), "python", null, creationDate));
+        var found = List.copyOf(sql2oSavedSearchRepository.findByUserId(user.getId()));
+        assertThat(found).usingRecursiveComparison().isEqualTo(List.of(first, second));
+        assertThat(sql2oSavedSearchRepository.findAll()).hasSize(3);
+    }
+
+    @Test
+    public void whenDeleteOtherUsersSearchThenNothingDeleted() {
+        var saved = sql2oSavedSearchRepository.save(new SavedSearch(0, user.getId(), "java", null, now()));
+        assertThat(sql2oSavedSearchRepository.deleteById(saved.getId(), otherUser.getId())).isFalse();
+        assertThat(sql2oSavedSearchRepository.deleteById(saved.getId(), user.getId())).isTrue();
+        assertThat(sql2oSavedSearchRepository.findByUserId(user.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package ru.job4j.dreamjob.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ru.job4j.dreamjob.configuration.DatasourceConfiguration;
+import ru.job4j.dreamjob.model.File;
+import ru.job4j.dreamjob.model.Vacancy;
+
+import java.util.ArrayList;
+import java.util.Properties;
+
+import static java.time.LocalDateTime.now;
+import static java.util.Optional.empty;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class Sql2oUnitOfWorkTest {
+
+    private static Sql2oUnitOfWork unitOfWork;
+
+    private static Sql2oVacancyRepository sql2oVacancyRepository;
+
+    private static Sql2oFileRepository sql2oFileRepository;
+
+    @BeforeAll
+    public static void initRepositories() throws Exception {
+        var properties = new Properties();
+        try (var inputStream = Sql2oUnitOfWorkTest.class.getClassLoader().getResourceAsStream("connection.properties")) {
+            properties.load(inputStream);
+        }
+        var url = properties.getProperty("datasource.url");
+        var username = properties.getProperty("datasource.username");
+        var password = properties.getProperty("datasource.password");
+
+        var configuration = new DatasourceConfiguration();
+        var datasource = configuration.connectionPool(url, username, password);
+        var sql2o = configuration.databaseClient(datasource);
+
+        unitOfWork = new Sql2oUnitOfWork(sql2o);
+        sql2oVacancyRepository = new Sql2oVacancyRepository(sql2o);
+        sql2oFileRepository = new Sql2oFileRepository(sql2o);
+    }
+
+    @Test
+    public void whenWorkCompletesThenWritesOfAllRepositoriesCommittedAndCallbacksRun() {
+        var events = new ArrayList<String>();
+        var vacancy = unitOfWork.inTransaction(() -> {
+            var file = sql2oFileRepository.save(new File("name", "files/committed"));
+            unitOfWork.afterCommit(() -> events.add("commit"));
+            unitOfWork.afterRollback(() -> events.add("rollback"));
+            return sql2oVacancyRepository.save(new Vacancy(0, "title", "description", now(), true, 1, file.getId()));
+        });
+        var savedVacancy = sql2oVacancyRepository.findById(vacancy.getId());
+        var savedFile = sql2oFileRepository.findById(vacancy.getFileId());
+        sql2oVacancyRepository.deleteById(vacancy.getId());
+        sql2oFileRepository.deleteById(vacancy.getFileId());
+        assertThat(savedVacancy).isPresent();
+        assertThat(savedFile).isPresent();
+        assertThat(events).containsExactly("commit");
+    }
+
+    @Test
+    public void whenWorkFailsThenWritesOfAllRepositoriesRolledBackAndCallbacksRun() {
+        var events = new ArrayList<String>();
+        var fileIds = new ArrayList<Integer>();
+        assertThatThrownBy(() -> unitOfWork.inTransaction(() -> {
+            var file = sql2oFileRepository.save(new File("name", "files/rolled-back"));
+            fileIds.add(file.getId());
+            unitOfWork.afterCommit(() -> events.add("commit"));
+            unitOfWork.afterRollback(() -> events.add("rollback"));
+            throw new IllegalStateException("failure");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(sql2oFileRepository.findById(fileIds.get(0))).isEqualTo(empty());
+        assertThat(events).containsExactly("rollback");
+    }
+
+    @Test
+    public void whenNotInTransactionThenAfterCommitRunsImmediately() {
+        var events = new ArrayList<String>();
+        unitOfWork.afterCommit(() -> events.add("commit"));
+        unitOfWork.afterRollback(() -> events.add("rollback"));
+        assertThat(events).containsExactly("commit");
+    }
+}
@@ -4,21 +4,31 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.sql2o.Sql2o;
 import ru.job4j.dreamjob.configuration.DatasourceConfiguration;
+import ru.job4j.dreamjob.dto.ListingFilter;
+import ru.job4j.dreamjob.dto.PageCursor;
+import ru.job4j.dreamjob.dto.VacancyFacet;
 import ru.job4j.dreamjob.model.File;
 import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.model.VacancySummary;
 
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import static java.time.LocalDateTime.now;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.empty;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 public class Sql2oVacancyRepositoryTest {
 
+    private static Sql2o sql2o;
+
     private static Sql2oVacancyRepository sql2oVacancyRepository;
 
     private static Sql2oFileRepository sql2oFileRepository;
@@ -37,7 +47,7 @@ public class Sql2oVacancyRepositoryTest {
 
         var configuration = new DatasourceConfiguration();
         var datasource = configuration.connectionPool(url, username, password);
-        var sql2o = configuration.databaseClient(datasource);
+        sql2o = configuration.databaseClient(datasource);
 
         sql2oVacancyRepository = new Sql2oVacancyRepository(sql2o);
         sql2oFileRepository = new Sql2oFileRepository(sql2o);
@@ -118,4 +128,169 @@ public class Sql2oVacancyRepositoryTest {
         var isUpdated = sql2oVacancyRepository.update(vacancy);
         assertThat(isUpdated).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenFindPageThenGetNewestFirstAndContinueAfterCursor() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var vacancy1 = sql2oVacancyRepository.save(new Vacancy(0, "title1", "description1", creationDate.minusDays(1), true, 1, file.getId()));
+        var vacancy2 = sql2oVacancyRepository.save(new Vacancy(0, "title2", "description2", creationDate, true, 1, file.getId()));
+        var vacancy3 = sql2oVacancyRepository.save(new Vacancy(0, "title3", "description3", creationDate, true, 1, file.getId()));
+        var firstPage = sql2oVacancyRepository.findPage(ListingFilter.NONE, null, 2);
+        var cursor = new PageCursor(vacancy2.getCreationDate(), vacancy2.getId());
+        var secondPage = sql2oVacancyRepository.findPage(ListingFilter.NONE, cursor, 2);
+        assertThat(firstPage).isEqualTo(List.of(vacancy3, vacancy2));
+        assertThat(secondPage).isEqualTo(List.of(vacancy1));
+    }
+
+    @Test
+    public void whenPageAcrossRowWithoutCreationDateThenNullDatedRowsComeFirst() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var dated = sql2oVacancyRepository.save(new Vacancy(0, "title1", "description1", creationDate, true, 1, file.getId()));
+        var undated1 = sql2oVacancyRepository.save(new Vacancy(0, "title2", "description2", null, true, 1, file.getId()));
+        var undated2 = sql2oVacancyRepository.save(new Vacancy(0, "title3", "description3", null, true, 1, file.getId()));
+        var firstPage = sql2oVacancyRepository.findPage(ListingFilter.NONE, null, 1);
+        var cursor = PageCursor.parse(new PageCursor(undated2.getCreationDate(), undated2.getId()).toString()).get();
+        var secondPage = sql2oVacancyRepository.findPage(ListingFilter.NONE, cursor, 1);
+        var lastCursor = PageCursor.parse(new PageCursor(undated1.getCreationDate(), undated1.getId()).toString()).get();
+        var lastPage = sql2oVacancyRepository.findPage(ListingFilter.NONE, lastCursor, 10);
+        assertThat(cursor).isEqualTo(new PageCursor(null, undated2.getId()));
+        assertThat(firstPage).isEqualTo(List.of(undated2));
+        assertThat(secondPage).isEqualTo(List.of(undated1));
+        assertThat(lastPage).isEqualTo(List.of(dated));
+    }
+
+    @Test
+    public void whenFindSummaryPageThenGetListedColumnsOnly() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var vacancy = sql2oVacancyRepository.save(new Vacancy(0, "title", "description", creationDate, true, 1, file.getId()));
+        var summaries = sql2oVacancyRepository.findSummaryPage(ListingFilter.NONE, null, 10);
+        assertThat(summaries).isEqualTo(List.of(VacancySummary.of(vacancy)));
+        assertThat(summaries.iterator().next()).usingRecursiveComparison().isEqualTo(VacancySummary.of(vacancy));
+    }
+
+    @Test
+    public void whenDeleteReturningFileIdThenGetFileIdAndRowIsGone() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var vacancy = sql2oVacancyRepository.save(new Vacancy(0, "title", "description", creationDate, true, 1, file.getId()));
+        var fileId = sql2oVacancyRepository.deleteByIdReturningFileId(vacancy.getId());
+        assertThat(fileId).contains(file.getId());
+        assertThat(sql2oVacancyRepository.findById(vacancy.getId())).isEqualTo(empty());
+    }
+
+    @Test
+    public void whenDeleteReturningFileIdByInvalidIdThenGetEmpty() {
+        assertThat(sql2oVacancyRepository.deleteByIdReturningFileId(0)).isEqualTo(empty());
+    }
+
+    @Test
+    public void whenSaveAllThenGetGeneratedIds() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var saved = List.copyOf(sql2oVacancyRepository.saveAll(List.of(
+                new Vacancy(0, "title1", "description1", creationDate, true, 1, file.getId()),
+                new Vacancy(0, "title2", "description2", creationDate, false, 1, 0)
+        )));
+        assertThat(saved.get(0).getId()).isNotZero();
+        assertThat(saved.get(1).getId()).isNotEqualTo(saved.get(0).getId());
+        assertThat(sql2oVacancyRepository.findById(saved.get(1).getId()).get()).usingRecursiveComparison().isEqualTo(saved.get(1));
+    }
+
+    @Test
+    public void whenImportAllThenGetImportedCount() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var imported = sql2oVacancyRepository.importAll(List.of(
+                new Vacancy(0, "title1", "description1", creationDate, true, 1, file.getId()),
+                new Vacancy(0, "title2", "description2", creationDate, false, 1, 0)
+        ));
+        assertThat(imported).isEqualTo(2);
+        assertThat(sql2oVacancyRepository.findAll().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void whenUpdateImportedRowWithoutFileThenFileStaysEmpty() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        sql2oVacancyRepository.importAll(List.of(new Vacancy(0, "title", "description", creationDate, true, 1, 0)));
+        var imported = sql2oVacancyRepository.findAll().iterator().next();
+        var updatedVacancy = new Vacancy(imported.getId(), "new title", "new description", creationDate, true, 1, 0);
+        var isUpdated = sql2oVacancyRepository.update(updatedVacancy);
+        var savedVacancy = sql2oVacancyRepository.findById(imported.getId()).get();
+        assertThat(isUpdated).isTrue();
+        assertThat(savedVacancy).usingRecursiveComparison().isEqualTo(updatedVacancy);
+    }
+
+    @Test
+    public void whenCountTitlesThenGroupByTitle() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        sql2oVacancyRepository.save(new Vacancy(0, "Java", "description1", creationDate, true, 1, file.getId()));
+        sql2oVacancyRepository.save(new Vacancy(0, "Java", "description2", creationDate, false, 1, file.getId()));
+        sql2oVacancyRepository.save(new Vacancy(0, "Go", "description3", creationDate, true, 1, file.getId()));
+        assertThat(sql2oVacancyRepository.countTitles()).isEqualTo(Map.of("Java", 2, "Go", 1));
+    }
+
+    @Test
+    public void whenCountByCityAndVisibilityThenGroupByBoth() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        sql2oVacancyRepository.save(new Vacancy(0, "title1", "description1", creationDate, true, 1, file.getId()));
+        sql2oVacancyRepository.save(new Vacancy(0, "title2", "description2", creationDate, true, 1, file.getId()));
+        sql2oVacancyRepository.save(new Vacancy(0, "title3", "description3", creationDate, false, 1, file.getId()));
+        sql2oVacancyRepository.save(new Vacancy(0, "title4", "description4", creationDate, true, 2, file.getId()));
+        assertThat(sql2oVacancyRepository.countByCityAndVisibility()).isEqualTo(Map.of(
+                new VacancyFacet(1, true), 2L,
+                new VacancyFacet(1, false), 1L,
+                new VacancyFacet(2, true), 1L));
+    }
+
+    @Test
+    public void whenExportAllThenStreamRowsInIdOrder() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        var first = sql2oVacancyRepository.save(new Vacancy(0, "title1", "description1", creationDate, true, 1, file.getId()));
+        var second = sql2oVacancyRepository.save(new Vacancy(0, "title2", "description2", creationDate, false, 1, file.getId()));
+        var exported = new ArrayList<Vacancy>();
+        var count = sql2oVacancyRepository.exportAll(1, exported::add);
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).usingRecursiveComparison().isEqualTo(List.of(first, second));
+    }
+
+    @Test
+    public void whenConsumerFailsThenExportStops() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        sql2oVacancyRepository.save(new Vacancy(0, "title1", "description1", creationDate, true, 1, file.getId()));
+        sql2oVacancyRepository.save(new Vacancy(0, "title2", "description2", creationDate, false, 1, file.getId()));
+        var exported = new ArrayList<Vacancy>();
+        assertThatThrownBy(() -> sql2oVacancyRepository.exportAll(1, vacancy -> {
+            exported.add(vacancy);
+            throw new IllegalStateException("client went away");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(exported.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenFindPageWithFilterThenGetMatchingOnly() {
+        var creationDate = now().truncatedTo(ChronoUnit.MINUTES);
+        sql2oVacancyRepository.save(new Vacancy(0, "old", "description", creationDate.minusDays(3), true, 1, file.getId()));
+        sql2oVacancyRepository.save(new Vacancy(0, "hidden", "description", creationDate, false, 1, file.getId()));
+        sql2oVacancyRepository.save(new Vacancy(0, "other city", "description", creationDate, true, 2, file.getId()));
+        var match1 = sql2oVacancyRepository.save(new Vacancy(0, "match1", "description", creationDate.minusHours(1), true, 1, file.getId()));
+        var match2 = sql2oVacancyRepository.save(new Vacancy(0, "match2", "description", creationDate, true, 1, file.getId()));
+        var filter = new ListingFilter(1, true, creationDate.minusDays(1));
+        var firstPage = List.copyOf(sql2oVacancyRepository.findPage(filter, null, 1));
+        var cursor = new PageCursor(firstPage.get(0).getCreationDate(), firstPage.get(0).getId());
+        var secondPage = List.copyOf(sql2oVacancyRepository.findPage(filter, cursor, 10));
+        assertThat(firstPage).usingRecursiveComparison().isEqualTo(List.of(match2));
+        assertThat(secondPage).usingRecursiveComparison().isEqualTo(List.of(match1));
+    }
+
+    @Test
+    public void whenFilterByCityThenPlanUsesIndexes() {
+        var filter = new ListingFilter(1, true, null);
+        var cursor = new PageCursor(now().truncatedTo(ChronoUnit.MINUTES), 5);
+        assertThat(sql2oVacancyRepository.explainPageKeys(filter, null, 20)).containsIgnoringCase("vacancies_city_id_visible_creation_date_idx");
+        assertThat(sql2oVacancyRepository.explainPageKeys(filter, cursor, 20)).containsIgnoringCase("vacancies_city_id_visible_creation_date_idx");
+        assertThat(explain("SELECT id FROM vacancies WHERE file_id = 1")).containsIgnoringCase("vacancies_file_id_idx");
+    }
+
+    private String explain(String sql) {
+        try (var connection = sql2o.open()) {
+            return connection.createQuery("EXPLAIN " + sql).executeScalar(String.class);
+        }
+    }
+}
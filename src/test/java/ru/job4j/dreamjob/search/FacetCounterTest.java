@@ -0,0 +1,52 @@
+package ru.job4j.dreamjob.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetCounterTest {
+
+    private final FacetCounter<Integer> counter = new FacetCounter<>();
+
+    @Test
+    public void whenIncrementAndDecrementThenSnapshotHasPositiveCountsOnly() {
+        counter.increment(1);
+        counter.increment(1);
+        counter.increment(2);
+        counter.decrement(2);
+        assertThat(counter.count(1)).isEqualTo(2);
+        assertThat(counter.count(2)).isZero();
+        assertThat(counter.count(3)).isZero();
+        assertThat(counter.snapshot()).isEqualTo(Map.of(1, 2L));
+    }
+
+    @Test
+    public void whenReconcileThenReplaceCountsAndReportDrift() {
+        counter.increment(1);
+        counter.increment(2);
+        counter.increment(2);
+        var drift = counter.reconcile(Map.of(2, 3L, 3, 1L));
+        assertThat(drift).isEqualTo(3);
+        assertThat(counter.snapshot()).isEqualTo(Map.of(2, 3L, 3, 1L));
+        assertThat(counter.reconcile(Map.of(2, 3L, 3, 1L))).isZero();
+    }
+
+    @Test
+    public void whenConcurrentUpdatesThenNoneLost() throws InterruptedException {
+        var pool = Executors.newFixedThreadPool(4);
+        for (int task = 0; task < 4; task++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment(i % 4);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(counter.snapshot()).isEqualTo(Map.of(0, 10_000L, 1, 10_000L, 2, 10_000L, 3, 10_000L));
+    }
+}
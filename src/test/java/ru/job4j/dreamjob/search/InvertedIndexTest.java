@@ -0,0 +1,70 @@
+package ru.job4j.dreamjob.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex(new TextAnalyzer());
+
+    private int[] ids(SearchHits hits) {
+        return hits.hits().stream().mapToInt(SearchHit::id).toArray();
+    }
+
+    @Test
+    public void whenSearchThenRequireAllTermsAndRankTitleMatchesFirst() {
+        index.put(1, "Java разработчик", "Spring, SQL");
+        index.put(2, "Аналитик", "Нужен опыт java, разработчики приветствуются");
+        index.put(3, "Python разработчик", "Django");
+        var hits = index.search("разработчики java", 0, 10);
+        assertThat(ids(hits)).containsExactly(1, 2);
+        assertThat(hits.total()).isEqualTo(2);
+    }
+
+    @Test
+    public void whenUnknownTermThenNothingFound() {
+        index.put(1, "Java разработчик", "Spring");
+        assertThat(index.search("java kotlin", 0, 10)).isEqualTo(SearchHits.EMPTY);
+        assertThat(index.search("и", 0, 10)).isEqualTo(SearchHits.EMPTY);
+    }
+
+    @Test
+    public void whenPaginateThenPagesDoNotOverlap() {
+        for (int id = 1; id <= 25; id++) {
+            index.put(id, "Java " + "senior ".repeat(id % 3), "description");
+        }
+        var first = index.search("java", 0, 10);
+        var third = index.search("java", 20, 10);
+        assertThat(first.total()).isEqualTo(25);
+        assertThat(first.hits()).hasSize(10);
+        assertThat(third.hits()).hasSize(5);
+        assertThat(ids(first)).doesNotContain(ids(third));
+        assertThat(index.search("java", 30, 10).hits()).isEmpty();
+    }
+
+    @Test
+    public void whenUpdateOrRemoveThenOldTermsAreGone() {
+        index.put(1, "Java разработчик", "Spring");
+        index.put(1, "Go разработчик", "gRPC");
+        assertThat(index.search("java", 0, 10).total()).isZero();
+        assertThat(ids(index.search("go", 0, 10))).containsExactly(1);
+        assertThat(index.remove(1)).isTrue();
+        assertThat(index.remove(1)).isFalse();
+        assertThat(index.search("разработчик", 0, 10).total()).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    public void whenManyUpdatesThenCompactionKeepsResults() {
+        for (int round = 0; round < 5; round++) {
+            for (int id = 1; id <= 1000; id++) {
+                index.put(id, "Вакансия " + id, round == 4 && id % 2 == 0 ? "удаленная работа" : "офис");
+            }
+        }
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("офис", 0, 10).total()).isEqualTo(500);
+        assertThat(index.search("удаленная работа", 0, 10).total()).isEqualTo(500);
+        assertThat(ids(index.search("вакансия 42", 0, 10))).containsExactly(42);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.job4j.dreamjob.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchingIndexTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    private final MatchingIndex index = new MatchingIndex(new TextAnalyzer(), 2, pool);
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private int[] ids(List<Match> matches) {
+        return matches.stream().mapToInt(Match::id).toArray();
+    }
+
+    @Test
+    public void whenReplaceAllThenRankByTermOverlapAndCity() {
+        index.replaceAll(List.of(
+                new MatchDocument(1, 1, "Java разработчик", "Java Spring SQL"),
+                new MatchDocument(2, 2, "Python разработчик", "Python Django SQL")
+        ), List.of(
+                new MatchDocument(10, 1, "Иван", "Java Spring"),
+                new MatchDocument(11, 2, "Пётр", "Java Spring"),
+                new MatchDocument(12, 2, "Анна", "Python Django"),
+                new MatchDocument(13, 1, "Ольга", "Дизайн интерфейсов")
+        ));
+        assertThat(ids(index.candidatesFor(1))).containsExactly(10, 11);
+        assertThat(ids(index.candidatesFor(2))).containsExactly(12);
+        assertThat(ids(index.vacanciesFor(12))).containsExactly(2);
+        assertThat(index.vacanciesFor(13)).isEmpty();
+        var sameCity = index.candidatesFor(1).get(0);
+        var otherCity = index.candidatesFor(1).get(1);
+        assertThat(sameCity.label()).isEqualTo("Иван");
+        assertThat(sameCity.score()).isGreaterThan(otherCity.score());
+    }
+
+    @Test
+    public void whenDocumentsChangeThenUpdateBothSides() {
+        index.replaceAll(List.of(new MatchDocument(1, 1, "Java разработчик", "Java Spring")), List.of(
+                new MatchDocument(10, 1, "Иван", "Java"),
+                new MatchDocument(11, 1, "Пётр", "Kotlin")
+        ));
+        assertThat(ids(index.vacanciesFor(10))).containsExactly(1);
+
+        index.putCandidate(new MatchDocument(11, 1, "Пётр Петров", "Java Spring"));
+        assertThat(ids(index.candidatesFor(1))).containsExactly(11, 10);
+        assertThat(index.candidatesFor(1).get(0).label()).isEqualTo("Пётр Петров");
+
+        index.putVacancy(new MatchDocument(2, 1, "Kotlin разработчик", "Kotlin"));
+        index.putCandidate(new MatchDocument(10, 1, "Иван", "Kotlin"));
+        assertThat(ids(index.candidatesFor(1))).containsExactly(11);
+        assertThat(ids(index.candidatesFor(2))).containsExactly(10);
+        assertThat(ids(index.vacanciesFor(10))).containsExactly(2);
+
+        index.removeVacancy(1);
+        assertThat(index.candidatesFor(1)).isEmpty();
+        assertThat(index.vacanciesFor(11)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void whenManyDocumentsThenKeepTopMatchesOnly() {
+        var vacancies = new ArrayList<MatchDocument>();
+        var candidates = new ArrayList<MatchDocument>();
+        for (int id = 1; id <= 500; id++) {
+            vacancies.add(new MatchDocument(id, id % 3, "Vacancy " + id, "java skill" + id % 7));
+            candidates.add(new MatchDocument(id, id % 3, "Candidate " + id, "java skill" + id % 7));
+        }
+        index.replaceAll(vacancies, candidates);
+        assertThat(index.candidatesFor(7)).hasSize(2).allMatch(match -> match.id() % 7 == 0 && match.id() % 3 == 1);
+        assertThat(index.vacanciesFor(500)).hasSize(2);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.job4j.dreamjob.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NearDuplicateIndexTest {
+
+    private static final String DESCRIPTION = "Ищем Java разработчика в команду платежей. Spring Boot, PostgreSQL, Kafka, "
+            + "микросервисы, код ревью, покрытие тестами, участие в проектировании, удалённая работа, "
+            + "гибкий график, белая зарплата, обучение за счёт компании, ДМС после испытательного срока";
+
+    private final NearDuplicateIndex index = new NearDuplicateIndex(new TextAnalyzer(), 16, 4, 0.7);
+
+    @Test
+    public void whenTextRepostedWithTinyEditThenDuplicateFound() {
+        index.put(1, 1, DESCRIPTION);
+        index.put(2, 1, "Ищем QA инженера: Selenium, Python, Allure, ручное и автоматизированное тестирование");
+        var duplicate = index.findDuplicate(0, 1, DESCRIPTION.replace("ДМС после испытательного срока", "ДМС с первого дня"));
+        assertThat(duplicate).isPresent();
+        assertThat(duplicate.get().id()).isEqualTo(1);
+        assertThat(duplicate.get().similarity()).isGreaterThanOrEqualTo(0.7);
+    }
+
+    @Test
+    public void whenTextDiffersThenNoDuplicate() {
+        index.put(1, 1, DESCRIPTION);
+        assertThat(index.findDuplicate(0, 1, "Ищем QA инженера: Selenium, Python, Allure, ручное и автоматизированное тестирование"))
+                .isEmpty();
+    }
+
+    @Test
+    public void whenSameTextInOtherCityThenNoDuplicate() {
+        index.put(1, 1, DESCRIPTION);
+        assertThat(index.findDuplicate(0, 2, DESCRIPTION)).isEmpty();
+    }
+
+    @Test
+    public void whenDocumentItselfThenNotItsOwnDuplicate() {
+        index.put(1, 1, DESCRIPTION);
+        assertThat(index.findDuplicate(1, 1, DESCRIPTION)).isEmpty();
+    }
+
+    @Test
+    public void whenReplacedOrRemovedThenOldTextIsNotMatched() {
+        index.put(1, 1, DESCRIPTION);
+        index.put(1, 1, "Водитель погрузчика, ночные смены, склад");
+        assertThat(index.findDuplicate(0, 1, DESCRIPTION)).isEmpty();
+        assertThat(index.findDuplicate(0, 1, "Водитель погрузчика, ночные смены, склад")).isPresent();
+        index.remove(1);
+        assertThat(index.findDuplicate(0, 1, "Водитель погрузчика, ночные смены, склад")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    public void whenTextHasNoTermsThenNotIndexed() {
+        index.put(1, 1, "и в на");
+        assertThat(index.size()).isZero();
+        assertThat(index.findDuplicate(0, 1, "и в на")).isEmpty();
+    }
+
+    @Test
+    public void whenBandsNotPositiveThenException() {
+        assertThatThrownBy(() -> new NearDuplicateIndex(new TextAnalyzer(), 0, 4, 0.85))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.job4j.dreamjob.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PercolatorTest {
+
+    private final Percolator percolator = new Percolator(new TextAnalyzer());
+
+    @Test
+    public void whenAllQueryTermsPresentThenQueryMatches() {
+        percolator.put(1, 10, "java разработчики", null);
+        percolator.put(2, 11, "java kotlin", null);
+        percolator.put(3, 12, "spring", 2);
+        var hits = percolator.percolate("Java разработчик", "Spring Boot, SQL", 1);
+        assertThat(hits).containsExactly(new PercolatorHit(1, 10));
+    }
+
+    @Test
+    public void whenCityRestrictedThenMatchOnlyThatCity() {
+        percolator.put(1, 10, "spring", 2);
+        assertThat(percolator.percolate("Java", "Spring", 1)).isEmpty();
+        assertThat(percolator.percolate("Java", "Spring", 2)).containsExactly(new PercolatorHit(1, 10));
+    }
+
+    @Test
+    public void whenQueryReplacedOrRemovedThenOldTermsDoNotMatch() {
+        percolator.put(1, 10, "python", null);
+        percolator.put(1, 10, "golang", null);
+        assertThat(percolator.percolate("Python developer", "", 1)).isEmpty();
+        assertThat(percolator.percolate("Golang developer", "", 1)).containsExactly(new PercolatorHit(1, 10));
+        percolator.remove(1);
+        assertThat(percolator.percolate("Golang developer", "", 1)).isEmpty();
+        assertThat(percolator.size()).isZero();
+    }
+
+    @Test
+    public void whenQueryHasNoTermsThenRejected() {
+        assertThat(percolator.accepts("и в на")).isFalse();
+        assertThat(percolator.put(1, 10, "  ", null)).isFalse();
+        assertThat(percolator.accepts("java")).isTrue();
+        assertThat(percolator.size()).isZero();
+    }
+}
@@ -0,0 +1,59 @@
+package ru.job4j.dreamjob.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+
+    @Test
+    public void whenSuggestThenMostFrequentTitlesFirst() {
+        var trie = PrefixTrie.build(Map.of(
+                "Java разработчик", 5,
+                "JavaScript разработчик", 9,
+                "Junior Java", 1,
+                "Python разработчик", 3
+        ), analyzer);
+        assertThat(trie.suggest("jav", 10)).containsExactly("JavaScript разработчик", "Java разработчик", "Junior Java");
+        assertThat(trie.suggest("j", 2)).containsExactly("JavaScript разработчик", "Java разработчик");
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void whenPrefixMatchesInnerWordThenSuggestTitle() {
+        var trie = PrefixTrie.build(Map.of("Senior Java разработчик", 1, "Аналитик", 1), analyzer);
+        assertThat(trie.suggest("РАЗРАБ", 10)).containsExactly("Senior Java разработчик");
+        assertThat(trie.suggest("java  разр", 10)).containsExactly("Senior Java разработчик");
+    }
+
+    @Test
+    public void whenTitlesDifferOnlyInCaseThenSuggestOnce() {
+        var trie = PrefixTrie.build(Map.of("java developer", 1, "Java Developer", 3), analyzer);
+        assertThat(trie.suggest("dev", 10)).containsExactly("Java Developer");
+        assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenPrefixUnknownOrEmptyThenNothingSuggested() {
+        var trie = PrefixTrie.build(Map.of("Java разработчик", 1), analyzer);
+        assertThat(trie.suggest("javb", 10)).isEmpty();
+        assertThat(trie.suggest("java разработчики", 10)).isEmpty();
+        assertThat(trie.suggest("  ", 10)).isEmpty();
+        assertThat(PrefixTrie.build(Map.of(), analyzer).suggest("java", 10)).isEmpty();
+    }
+
+    @Test
+    public void whenManyTitlesShareWordThenLimitSuggestions() {
+        var counts = new HashMap<String, Integer>();
+        for (int index = 0; index < 50; index++) {
+            counts.put("Java " + index, index + 1);
+        }
+        var trie = PrefixTrie.build(counts, analyzer);
+        assertThat(trie.suggest("java", 100)).hasSize(PrefixTrie.MAX_SUGGESTIONS).first().isEqualTo("Java 49");
+    }
+}
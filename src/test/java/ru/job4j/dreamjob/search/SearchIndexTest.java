@@ -0,0 +1,36 @@
+package ru.job4j.dreamjob.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchIndexTest {
+
+    @Test
+    public void whenRebuildThenSwapInLoadedIndexAndKeepConcurrentWrites() {
+        var index = new SearchIndex(new TextAnalyzer());
+        index.put(1, "Stale vacancy", "stale");
+        var rebuilt = index.rebuild(fresh -> {
+            fresh.put(2, "Loaded vacancy", "loaded");
+            fresh.put(3, "Deleted vacancy", "loaded");
+            index.put(4, "Written during rebuild", "loaded");
+            index.remove(3);
+        });
+        assertThat(rebuilt).isTrue();
+        assertThat(index.search("stale", 0, 10).total()).isZero();
+        assertThat(index.search("loaded", 0, 10).hits()).extracting(SearchHit::id).containsExactlyInAnyOrder(2, 4);
+    }
+
+    @Test
+    public void whenRebuildFailsThenKeepCurrentIndex() {
+        var index = new SearchIndex(new TextAnalyzer());
+        index.put(1, "Java", "");
+        assertThatThrownBy(() -> index.rebuild(fresh -> {
+            throw new IllegalStateException("database is down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(index.search("java", 0, 10).total()).isEqualTo(1);
+        assertThat(index.rebuild(fresh -> fresh.put(2, "Go", ""))).isTrue();
+        assertThat(index.search("go", 0, 10).total()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.job4j.dreamjob.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextAnalyzerTest {
+
+    private final TextAnalyzer analyzer = new TextAnalyzer();
+
+    @Test
+    public void whenTokenizeThenLowercaseAndSplitOnPunctuation() {
+        assertThat(analyzer.tokenize("Ищем Java-разработчика, C++ и C#! Ёлка"))
+                .containsExactly("ищем", "java", "разработчика", "c++", "и", "c#", "елка");
+    }
+
+    @Test
+    public void whenAnalyzeRussianThenInflectionsShareStem() {
+        assertThat(analyzer.analyze("разработчик разработчика разработчики разработчиков"))
+                .containsOnly("разработчик");
+    }
+
+    @Test
+    public void whenAnalyzeEnglishThenPluralsAndVerbFormsShareStem() {
+        assertThat(analyzer.analyze("developers developer")).containsOnly("developer");
+        assertThat(analyzer.analyze("tests testing tested")).containsOnly("test");
+        assertThat(analyzer.analyze("companies boxes process")).containsExactly("company", "box", "process");
+    }
+
+    @Test
+    public void whenAnalyzeThenStopWordsAreDropped() {
+        assertThat(analyzer.analyze("работа в офисе and the remote")).containsExactly("работ", "офис", "remote");
+    }
+}
@@ -0,0 +1,52 @@
+package ru.job4j.dreamjob.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.job4j.dreamjob.model.City;
+import ru.job4j.dreamjob.repository.CityRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SimpleCityServiceTest {
+
+    private CityRepository cityRepository;
+
+    private SimpleCityService cityService;
+
+    @BeforeEach
+    public void initService() {
+        cityRepository = mock(CityRepository.class);
+        when(cityRepository.findAll()).thenReturn(List.of(new City(2, "Санкт-Петербург"), new City(1, "Москва")));
+        cityService = new SimpleCityService(cityRepository);
+    }
+
+    @Test
+    public void whenFindAllThenServedFromSnapshotSortedByName() {
+        var first = cityService.findAll();
+        var second = cityService.findAll();
+
+        assertThat(first).extracting(City::getName).containsExactly("Москва", "Санкт-Петербург");
+        assertThat(second).isSameAs(first);
+        assertThat(cityService.findById(2)).map(City::getName).contains("Санкт-Петербург");
+        verify(cityRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void whenRefreshThenRepositoryChangesArePickedUp() {
+        when(cityRepository.findAll()).thenReturn(List.of(new City(1, "Москва"), new City(3, "Екатеринбург")));
+
+        assertThat(cityService.findById(3)).isEmpty();
+        cityService.refresh();
+
+        assertThat(cityService.findAll()).extracting(City::getName).containsExactly("Екатеринбург", "Москва");
+        assertThat(cityService.findById(3)).map(City::getName).contains("Екатеринбург");
+        assertThat(cityService.findById(2)).isEmpty();
+        verify(cityRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,242 @@
+package ru.job4j.dreamjob.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import ru.job4j.dreamjob.configuration.DatasourceConfiguration;
+import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.model.File;
+import ru.job4j.dreamjob.repository.Sql2oFileRepository;
+import ru.job4j.dreamjob.repository.Sql2oUnitOfWork;
+import ru.job4j.dreamjob.storage.BlobDeletionQueue;
+import ru.job4j.dreamjob.storage.BlobLocks;
+import ru.job4j.dreamjob.storage.FileSystemBlobStorage;
+import ru.job4j.dreamjob.storage.ImageVariantGenerator;
+import ru.job4j.dreamjob.storage.ShardedFileLayout;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimpleFileServiceTest {
+
+    private static final int ATTEMPTS = 50;
+
+    @TempDir
+    private Path storageDirectory;
+
+    private Sql2oFileRepository fileRepository;
+
+    private BlobDeletionQueue deletionQueue;
+
+    private ImageVariantGenerator imageVariants;
+
+    private Sql2oUnitOfWork unitOfWork;
+
+    private SimpleFileService fileService;
+
+    private final List<File> saved = new ArrayList<>();
+
+    private volatile CountDownLatch generation = new CountDownLatch(0);
+
+    @BeforeEach
+    public void initService() throws Exception {
+        var properties = new Properties();
+        try (var inputStream = SimpleFileServiceTest.class.getClassLoader().getResourceAsStream("connection.properties")) {
+            properties.load(inputStream);
+        }
+        var configuration = new DatasourceConfiguration();
+        var datasource = configuration.connectionPool(properties.getProperty("datasource.url"),
+                properties.getProperty("datasource.username"), properties.getProperty("datasource.password"));
+        var sql2o = configuration.databaseClient(datasource);
+        var fileLayout = new ShardedFileLayout(storageDirectory.toString());
+        var blobStorage = new FileSystemBlobStorage(fileLayout) {
+            @Override
+            public Resource open(String location) {
+                if (Thread.currentThread().getName().startsWith("image-variants-")) {
+                    await(generation);
+                }
+                return super.open(location);
+            }
+        };
+        var blobLocks = new BlobLocks();
+        fileRepository = new Sql2oFileRepository(sql2o);
+        deletionQueue = new BlobDeletionQueue(blobStorage, fileRepository, blobLocks, 10, 1000);
+        imageVariants = new ImageVariantGenerator(blobStorage, fileLayout, event -> { }, List.of(320), 0.8f, 1, 10);
+        unitOfWork = new Sql2oUnitOfWork(sql2o);
+        fileService = new SimpleFileService(fileRepository, fileLayout, blobStorage, imageVariants, deletionQueue,
+                unitOfWork, blobLocks);
+    }
+
+    @AfterEach
+    public void clearFiles() {
+        saved.forEach(file -> fileRepository.deleteById(file.getId()));
+        deletionQueue.close();
+        imageVariants.close();
+    }
+
+    @Test
+    public void whenLastReferenceDeletedWhileSameBytesUploadedThenCommittedRowKeepsItsBlob() throws Exception {
+        var errors = new ConcurrentLinkedQueue<Throwable>();
+        var reuploaded = new ConcurrentLinkedQueue<File>();
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            var content = ("content " + attempt).getBytes();
+            var first = fileService.save(new FileDto("first.txt", content));
+            var barrier = new CyclicBarrier(2);
+            var deleter = new Thread(() -> run(errors, () -> {
+                barrier.await();
+                fileService.deleteById(first.getId());
+            }));
+            var uploader = new Thread(() -> run(errors, () -> {
+                barrier.await();
+                reuploaded.add(fileService.save(new FileDto("second.txt", content)));
+            }));
+            deleter.start();
+            uploader.start();
+            deleter.join();
+            uploader.join();
+        }
+        awaitDeletions();
+        saved.addAll(reuploaded);
+        assertThat(errors).isEmpty();
+        assertThat(reuploaded).hasSize(ATTEMPTS);
+        for (var file : reuploaded) {
+            assertThat(fileRepository.findById(file.getId())).isPresent();
+            assertThat(Path.of(file.getPath())).exists();
+        }
+    }
+
+    @Test
+    public void whenUploadRolledBackWhileSameBytesUploadedThenBlobKeptForCommittedRow() throws Exception {
+        var content = "rolled back".getBytes();
+        var uploaded = new CountDownLatch(1);
+        var rollback = new CountDownLatch(1);
+        var errors = new ConcurrentLinkedQueue<Throwable>();
+        var committed = new ConcurrentLinkedQueue<File>();
+        var rolledBack = new Thread(() -> run(errors, () -> {
+            try {
+                unitOfWork.inTransaction(() -> {
+                    fileService.save(new FileDto("rolled-back.txt", content));
+                    uploaded.countDown();
+                    await(rollback);
+                    throw new IllegalStateException("rollback");
+                });
+            } catch (IllegalStateException expected) {
+                assertThat(expected).hasMessage("rollback");
+            }
+        }));
+        rolledBack.start();
+        uploaded.await();
+        var concurrent = new Thread(() -> run(errors, () -> committed.add(fileService.save(new FileDto("committed.txt", content)))));
+        concurrent.start();
+        Thread.sleep(100);
+        rollback.countDown();
+        rolledBack.join();
+        concurrent.join();
+        awaitDeletions();
+        saved.addAll(committed);
+        assertThat(errors).isEmpty();
+        assertThat(committed).hasSize(1);
+        assertThat(Path.of(committed.peek().getPath())).exists();
+    }
+
+    @Test
+    public void whenVariantPendingThenOriginalMarkedProvisionalUntilVariantWritten() throws Exception {
+        generation = new CountDownLatch(1);
+        var file = fileService.save(new FileDto("photo.png", image(640)));
+        saved.add(file);
+        var original = fileService.getResourceById(file.getId(), 300).get();
+        assertThat(original.isProvisional()).isTrue();
+        assertThat(original.getFile().getPath()).isEqualTo(file.getPath());
+        assertThat(fileService.getResourceById(file.getId(), 0).get().isProvisional()).isFalse();
+
+        generation.countDown();
+        awaitVariants(file);
+
+        var variant = fileService.getResourceById(file.getId(), 300).get();
+        assertThat(variant.isProvisional()).isFalse();
+        assertThat(variant.getFile().getPath()).isNotEqualTo(file.getPath());
+    }
+
+    @Test
+    public void whenNoVariantWillBeWrittenThenOriginalNotProvisional() throws Exception {
+        var notes = fileService.save(new FileDto("notes.txt", "not an image".getBytes()));
+        var icon = fileService.save(new FileDto("icon.png", image(200)));
+        saved.add(notes);
+        saved.add(icon);
+        awaitVariants(notes);
+        awaitVariants(icon);
+        for (var file : List.of(notes, icon)) {
+            var resource = fileService.getResourceById(file.getId(), 300).get();
+            assertThat(resource.isProvisional()).isFalse();
+            assertThat(resource.getFile().getPath()).isEqualTo(file.getPath());
+        }
+    }
+
+    @Test
+    public void whenUploadRolledBackAloneThenBlobDeleted() throws Exception {
+        var location = new ArrayList<String>();
+        try {
+            unitOfWork.inTransaction(() -> {
+                location.add(fileService.save(new FileDto("alone.txt", "alone".getBytes())).getPath());
+                throw new IllegalStateException("rollback");
+            });
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessage("rollback");
+        }
+        awaitDeletions();
+        assertThat(Path.of(location.get(0))).doesNotExist();
+    }
+
+    private static byte[] image(int width) throws IOException {
+        var output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, width / 2, BufferedImage.TYPE_INT_RGB), "png", output);
+        return output.toByteArray();
+    }
+
+    private void awaitVariants(File file) throws InterruptedException {
+        for (int attempt = 0; attempt < 200 && imageVariants.isPending(file); attempt++) {
+            Thread.sleep(20);
+        }
+        assertThat(imageVariants.isPending(file)).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(ConcurrentLinkedQueue<Throwable> errors, Action action) {
+        try {
+            action.run();
+        } catch (Throwable e) {
+            errors.add(e);
+        }
+    }
+
+    private void awaitDeletions() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && deletionQueue.size() > 0; attempt++) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(100);
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+}
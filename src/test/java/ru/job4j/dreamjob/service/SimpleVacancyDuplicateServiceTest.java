@@ -0,0 +1,99 @@
+package ru.job4j.dreamjob.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.VacancyRepository;
+import ru.job4j.dreamjob.search.NearDuplicate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SimpleVacancyDuplicateServiceTest {
+
+    private static final String DESCRIPTION = "Ищем Java разработчика в команду платежей. Spring Boot, PostgreSQL, Kafka, "
+            + "микросервисы, код ревью, покрытие тестами, участие в проектировании, удалённая работа";
+
+    private static final String OTHER_DESCRIPTION = "Ищем QA инженера: Selenium, Python, Allure, ручное и "
+            + "автоматизированное тестирование, нагрузочное тестирование, CI, регресс перед релизом";
+
+    private VacancyRepository vacancyRepository;
+
+    private SimpleVacancyDuplicateService duplicateService;
+
+    @BeforeEach
+    public void initService() {
+        vacancyRepository = mock(VacancyRepository.class);
+        duplicateService = new SimpleVacancyDuplicateService(vacancyRepository, 100, 16, 4, 0.7);
+    }
+
+    @AfterEach
+    public void closeService() {
+        duplicateService.close();
+    }
+
+    private static Vacancy vacancy(int id, String description, boolean visible) {
+        return new Vacancy(id, "Разработчик", description, now(), visible, 1, 0);
+    }
+
+    private Optional<Integer> duplicateIdOf(String description) {
+        return duplicateService.findDuplicate(vacancy(0, description, true)).map(NearDuplicate::id);
+    }
+
+    private void exportOnRebuild(List<Vacancy> vacancies, Runnable whileExporting) {
+        doAnswer(invocation -> {
+            Consumer<Vacancy> consumer = invocation.getArgument(1);
+            vacancies.forEach(consumer);
+            whileExporting.run();
+            return (long) vacancies.size();
+        }).when(vacancyRepository).exportAll(anyInt(), any());
+    }
+
+    @Test
+    public void whenDraftVacancyThenNotReportedAsDuplicate() {
+        duplicateService.onVacancyCreated(new VacancyCreatedEvent(vacancy(1, DESCRIPTION, false)));
+        assertThat(duplicateIdOf(DESCRIPTION)).isEmpty();
+
+        var published = vacancy(1, DESCRIPTION, true);
+        duplicateService.onVacancyUpdated(new VacancyUpdatedEvent(vacancy(1, DESCRIPTION, false), published));
+        assertThat(duplicateIdOf(DESCRIPTION)).contains(1);
+
+        duplicateService.onVacancyUpdated(new VacancyUpdatedEvent(published, vacancy(1, DESCRIPTION, false)));
+        assertThat(duplicateIdOf(DESCRIPTION)).isEmpty();
+    }
+
+    @Test
+    public void whenRebuildThenLiveIndexKeepsAnsweringUntilSwap() {
+        duplicateService.onVacancyCreated(new VacancyCreatedEvent(vacancy(1, DESCRIPTION, true)));
+        exportOnRebuild(List.of(vacancy(2, OTHER_DESCRIPTION, true)),
+                () -> assertThat(duplicateIdOf(DESCRIPTION)).contains(1));
+
+        duplicateService.run(null);
+
+        assertThat(duplicateIdOf(DESCRIPTION)).isEmpty();
+        assertThat(duplicateIdOf(OTHER_DESCRIPTION)).contains(2);
+    }
+
+    @Test
+    public void whenVacancyChangesDuringRebuildThenChangeKeptAfterSwap() {
+        var exported = vacancy(2, OTHER_DESCRIPTION, true);
+        exportOnRebuild(List.of(exported), () -> {
+            duplicateService.onVacancyCreated(new VacancyCreatedEvent(vacancy(3, DESCRIPTION, true)));
+            duplicateService.onVacancyDeleted(new VacancyDeletedEvent(exported));
+        });
+
+        duplicateService.run(null);
+
+        assertThat(duplicateIdOf(DESCRIPTION)).contains(3);
+        assertThat(duplicateIdOf(OTHER_DESCRIPTION)).isEmpty();
+    }
+}
@@ -0,0 +1,216 @@
+package ru.job4j.dreamjob.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.job4j.dreamjob.model.Vacancy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimpleVacancyFeedServiceTest {
+
+    private final Queue<RecordingEmitter> emitters = new ConcurrentLinkedQueue<>();
+
+    private SimpleVacancyFeedService feedService;
+
+    private SimpleVacancyFeedService createService(int bufferCapacity, int maxSubscribers) {
+        return createService(bufferCapacity, maxSubscribers, Duration.ofHours(1));
+    }
+
+    private SimpleVacancyFeedService createService(int bufferCapacity, int maxSubscribers, Duration sendTimeout) {
+        var never = Duration.ofHours(1);
+        feedService = new SimpleVacancyFeedService(bufferCapacity, maxSubscribers, 2, never, sendTimeout, never, never) {
+            @Override
+            SseEmitter newEmitter(long timeout) {
+                return emitters.poll();
+            }
+        };
+        return feedService;
+    }
+
+    @AfterEach
+    public void closeService() {
+        feedService.close();
+    }
+
+    private static Vacancy vacancy(int id, String title) {
+        return new Vacancy(id, title, "description", now(), true, 1, 0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int attempt = 0; attempt < 200 && !condition.getAsBoolean(); attempt++) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    public void whenVacancyCreatedAndUpdatedBeforeFlushThenSendOneCreatedEvent() throws Exception {
+        var service = createService(8, 10);
+        var emitter = new RecordingEmitter(null);
+        emitters.add(emitter);
+        service.subscribe();
+
+        var created = vacancy(1, "Java");
+        service.onVacancyCreated(new VacancyCreatedEvent(created));
+        service.onVacancyUpdated(new VacancyUpdatedEvent(created, vacancy(1, "Java Senior")));
+        service.flush();
+
+        await(() -> emitter.sent.size() == 1);
+        assertThat(emitter.sent.get(0)).startsWith("event:created").contains("Java Senior");
+    }
+
+    @Test
+    public void whenBufferOverflowsThenSendDroppedCountBeforeEvents() throws Exception {
+        var service = createService(2, 10);
+        var emitter = new RecordingEmitter(null);
+        emitters.add(emitter);
+        service.subscribe();
+
+        service.onVacancyCreated(new VacancyCreatedEvent(vacancy(1, "First")));
+        service.onVacancyCreated(new VacancyCreatedEvent(vacancy(2, "Second")));
+        service.onVacancyCreated(new VacancyCreatedEvent(vacancy(3, "Third")));
+        service.flush();
+
+        await(() -> emitter.sent.size() == 3);
+        assertThat(emitter.sent.get(0)).startsWith("event:overflow").contains("data:1");
+        assertThat(emitter.sent.get(1)).contains("Second");
+        assertThat(emitter.sent.get(2)).contains("Third");
+    }
+
+    @Test
+    public void whenSubscriberIsSlowThenOthersKeepReceivingAndSlowOneIsSkipped() throws Exception {
+        var service = createService(8, 10);
+        var release = new CountDownLatch(1);
+        var slow = new RecordingEmitter(release);
+        var fast = new RecordingEmitter(null);
+        emitters.add(slow);
+        emitters.add(fast);
+        service.subscribe();
+        service.subscribe();
+
+        service.onVacancyCreated(new VacancyCreatedEvent(vacancy(1, "First")));
+        service.flush();
+        await(() -> fast.sent.size() == 1 && slow.attempts.get() == 1);
+        service.onVacancyCreated(new VacancyCreatedEvent(vacancy(2, "Second")));
+        service.flush();
+        await(() -> fast.sent.size() == 2);
+
+        assertThat(slow.attempts.get()).isEqualTo(1);
+        assertThat(slow.sent).isEmpty();
+        release.countDown();
+        await(() -> {
+            service.flush();
+            return slow.sent.size() == 2;
+        });
+        assertThat(slow.sent.get(1)).contains("Second");
+    }
+
+    @Test
+    public void whenSendFailsThenCompleteWithErrorAndFreeTheSlot() throws Exception {
+        var service = createService(8, 1);
+        var broken = new RecordingEmitter(null);
+        broken.broken = true;
+        emitters.add(broken);
+        emitters.add(new RecordingEmitter(null));
+
+        assertThat(service.subscribe()).isPresent();
+        assertThat(service.subscribe()).isEmpty();
+        service.onVacancyCreated(new VacancyCreatedEvent(vacancy(1, "First")));
+        service.flush();
+
+        await(() -> broken.failure != null && service.subscriberCount() == 0);
+        assertThat(broken.failure).isInstanceOf(IOException.class);
+        assertThat(service.subscribe()).isPresent();
+    }
+
+    @Test
+    public void whenSendsStallThenOthersKeepReceivingAndStalledSubscribersExpire() throws Exception {
+        var service = createService(8, 20, Duration.ofMillis(200));
+        var release = new CountDownLatch(1);
+        var stalled = new ArrayList<RecordingEmitter>();
+        for (int i = 0; i < 10; i++) {
+            var emitter = new RecordingEmitter(release);
+            stalled.add(emitter);
+            emitters.add(emitter);
+            service.subscribe();
+        }
+        var fast = new RecordingEmitter(null);
+        emitters.add(fast);
+        service.subscribe();
+
+        try {
+            service.onVacancyCreated(new VacancyCreatedEvent(vacancy(1, "First")));
+            service.flush();
+            await(() -> fast.sent.size() == 1);
+            service.onVacancyCreated(new VacancyCreatedEvent(vacancy(2, "Second")));
+            service.flush();
+            await(() -> fast.sent.size() == 2);
+
+            await(() -> {
+                service.flush();
+                return stalled.stream().allMatch(emitter -> emitter.failure != null);
+            });
+            assertThat(stalled).allSatisfy(emitter ->
+                    assertThat(emitter.failure).isInstanceOf(IOException.class).hasMessageContaining("longer than"));
+            assertThat(service.subscriberCount()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private volatile boolean broken;
+
+        private volatile Throwable failure;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            attempts.incrementAndGet();
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+            super.completeWithError(ex);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.job4j.dreamjob.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.job4j.dreamjob.dto.FileDto;
+import ru.job4j.dreamjob.model.File;
+import ru.job4j.dreamjob.model.Vacancy;
+import ru.job4j.dreamjob.repository.UnitOfWork;
+import ru.job4j.dreamjob.repository.VacancyRepository;
+import ru.job4j.dreamjob.search.NearDuplicate;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SimpleVacancyServiceTest {
+
+    private VacancyRepository vacancyRepository;
+
+    private FileService fileService;
+
+    private VacancyDuplicateService duplicateService;
+
+    private SimpleVacancyService vacancyService;
+
+    private final FileDto image = new FileDto("image.png", new byte[] {1, 2, 3});
+
+    @BeforeEach
+    public void initService() {
+        vacancyRepository = mock(VacancyRepository.class);
+        fileService = mock(FileService.class);
+        duplicateService = mock(VacancyDuplicateService.class);
+        var unitOfWork = mock(UnitOfWork.class);
+        when(unitOfWork.inTransaction(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        vacancyService = new SimpleVacancyService(vacancyRepository, fileService, unitOfWork,
+                mock(ApplicationEventPublisher.class), mock(SearchService.class), mock(FacetService.class),
+                duplicateService);
+    }
+
+    private static Vacancy vacancy(int id, boolean visible) {
+        return new Vacancy(id, "Java разработчик", "Spring Boot, PostgreSQL", now(), visible, 1, 0);
+    }
+
+    @Test
+    public void whenPublishedDuplicateExistsThenRejectAndDoNotSave() {
+        var vacancy = vacancy(0, true);
+        when(duplicateService.findDuplicate(vacancy)).thenReturn(Optional.of(new NearDuplicate(7, 0.9)));
+        when(vacancyRepository.findById(7)).thenReturn(Optional.of(vacancy(7, true)));
+
+        assertThatThrownBy(() -> vacancyService.save(vacancy, image))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("№ 7");
+        verify(fileService, never()).save(any());
+        verify(vacancyRepository, never()).save(any());
+    }
+
+    @Test
+    public void whenDraftThenSaveWithoutDuplicateCheck() {
+        var draft = vacancy(0, false);
+        var saved = vacancy(8, false);
+        when(fileService.save(image)).thenReturn(new File("image.png", "files/image.png"));
+        when(vacancyRepository.save(draft)).thenReturn(saved);
+
+        assertThat(vacancyService.save(draft, image)).isSameAs(saved);
+        verify(duplicateService, never()).findDuplicate(any());
+    }
+}
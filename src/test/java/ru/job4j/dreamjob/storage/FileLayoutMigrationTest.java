@@ -0,0 +1,49 @@
+package ru.job4j.dreamjob.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.job4j.dreamjob.model.File;
+import ru.job4j.dreamjob.repository.MemoryFileRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileLayoutMigrationTest {
+
+    @TempDir
+    private Path storageDirectory;
+
+    @Test
+    public void whenMigrateFlatFilesThenMoveToShards() throws Exception {
+        var fileRepository = new MemoryFileRepository();
+        var fileLayout = new ShardedFileLayout(storageDirectory.toString());
+        var flatPath = Files.writeString(storageDirectory.resolve("abcdef-image.png"), "image");
+        var file = fileRepository.save(new File("image.png", flatPath.toString()));
+        var migration = new FileLayoutMigration(fileRepository, fileLayout);
+
+        var migrated = migration.migrate();
+        var migratedAgain = migration.migrate();
+
+        var shardedPath = storageDirectory.resolve("ab").resolve("cd").resolve("abcdef-image.png");
+        assertThat(migrated).isEqualTo(1);
+        assertThat(migratedAgain).isEqualTo(0);
+        assertThat(fileRepository.findById(file.getId()).get().getPath()).isEqualTo(shardedPath.toString());
+        assertThat(Files.readString(shardedPath)).isEqualTo("image");
+        assertThat(flatPath).doesNotExist();
+    }
+
+    @Test
+    public void whenFileIsMissingThenKeepRow() {
+        var fileRepository = new MemoryFileRepository();
+        var fileLayout = new ShardedFileLayout(storageDirectory.toString());
+        var missingPath = storageDirectory.resolve("missing.png").toString();
+        var file = fileRepository.save(new File("missing.png", missingPath));
+
+        var migrated = new FileLayoutMigration(fileRepository, fileLayout).migrate();
+
+        assertThat(migrated).isEqualTo(0);
+        assertThat(fileRepository.findById(file.getId()).get().getPath()).isEqualTo(missingPath);
+    }
+}
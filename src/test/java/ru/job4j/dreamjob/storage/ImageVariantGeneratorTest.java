@@ -0,0 +1,56 @@
+package ru.job4j.dreamjob.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.job4j.dreamjob.model.File;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ImageVariantGeneratorTest {
+
+    @TempDir
+    private Path storageDirectory;
+
+    @Test
+    public void whenGenerateThenStoreSmallerVariantsOnly() throws Exception {
+        var fileLayout = new ShardedFileLayout(storageDirectory.toString());
+        var blobStorage = new FileSystemBlobStorage(fileLayout);
+        var source = fileLayout.newTemporaryPath();
+        ImageIO.write(new BufferedImage(500, 250, BufferedImage.TYPE_INT_RGB), "png", source.toFile());
+        var file = new File("photo.png", blobStorage.store("checksum", source), 0, "checksum");
+        file.setId(7);
+        var ready = new CountDownLatch(1);
+        try (var generator = new ImageVariantGenerator(blobStorage, fileLayout, event -> ready.countDown(),
+                List.of(960, 320), 0.8f, 1, 1)) {
+            generator.generateAsync(file);
+            assertThat(ready.await(10, TimeUnit.SECONDS)).isTrue();
+
+            var variant = generator.findVariant(file, 320).get();
+            var image = ImageIO.read(Path.of(variant.getPath()).toFile());
+            assertThat(variant.getId()).isEqualTo(7);
+            assertThat(variant.getName()).isEqualTo("photo-320.jpg");
+            assertThat(image.getWidth()).isEqualTo(320);
+            assertThat(image.getHeight()).isEqualTo(160);
+            assertThat(generator.findVariant(file, 960)).isEmpty();
+        }
+    }
+
+    @Test
+    public void whenSelectWidthThenPickSmallestVariantThatFits() {
+        var fileLayout = new ShardedFileLayout(storageDirectory.toString());
+        try (var generator = new ImageVariantGenerator(new FileSystemBlobStorage(fileLayout), fileLayout, event -> { },
+                List.of(960, 320), 0.8f, 1, 1)) {
+            assertThat(generator.selectWidth(0)).isEqualTo(0);
+            assertThat(generator.selectWidth(100)).isEqualTo(320);
+            assertThat(generator.selectWidth(500)).isEqualTo(960);
+            assertThat(generator.selectWidth(2000)).isEqualTo(0);
+        }
+    }
+}
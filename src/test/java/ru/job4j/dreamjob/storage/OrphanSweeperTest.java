@@ -0,0 +1,129 @@
+package ru.job4j.dreamjob.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.job4j.dreamjob.model.File;
+import ru.job4j.dreamjob.repository.MemoryFileRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrphanSweeperTest {
+
+    private static final String CHECKSUM = "a".repeat(64);
+
+    @TempDir
+    private Path storageDirectory;
+
+    private MemoryFileRepository fileRepository;
+
+    private ShardedFileLayout fileLayout;
+
+    private BlobDeletionQueue deletionQueue;
+
+    private ImageVariantGenerator imageVariants;
+
+    private OrphanSweeper sweeper;
+
+    @BeforeEach
+    public void initSweeper() {
+        fileRepository = new MemoryFileRepository();
+        fileLayout = new ShardedFileLayout(storageDirectory.toString());
+        var blobStorage = new FileSystemBlobStorage(fileLayout);
+        deletionQueue = new BlobDeletionQueue(blobStorage, fileRepository, new BlobLocks(), 10, 100);
+        imageVariants = new ImageVariantGenerator(blobStorage, fileLayout, event -> { }, List.of(320), 0.8f, 1, 1);
+        sweeper = new OrphanSweeper(fileRepository, fileLayout, deletionQueue, imageVariants, 10, 100, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void closeQueue() {
+        deletionQueue.close();
+    }
+
+    @Test
+    public void whenSweepFilesThenDeleteOnlyOldFilesWithoutRows() throws Exception {
+        var owned = Files.writeString(fileLayout.resolve(CHECKSUM), "owned");
+        var variant = Files.writeString(fileLayout.resolve(CHECKSUM + "-320"), "variant");
+        var orphan = Files.writeString(fileLayout.resolve("b".repeat(64)), "orphan");
+        var orphanVariant = Files.writeString(fileLayout.resolve("c".repeat(64) + "-320"), "orphan");
+        fileRepository.save(new File("owned.png", owned.toString()));
+        var later = Clock.fixed(Instant.now().plus(Duration.ofHours(2)), ZoneOffset.UTC);
+
+        var freshSwept = sweeper.sweepFiles(10, Clock.systemUTC());
+        var swept = sweeper.sweepFiles(10, later);
+        awaitDeletions();
+
+        assertThat(freshSwept).isZero();
+        assertThat(swept).isEqualTo(2);
+        assertThat(owned).exists();
+        assertThat(variant).exists();
+        assertThat(orphan).doesNotExist();
+        assertThat(orphanVariant).doesNotExist();
+    }
+
+    @Test
+    public void whenLimitReachedThenLeaveRestForNextSweep() throws Exception {
+        Files.writeString(fileLayout.resolve("b".repeat(64)), "orphan");
+        Files.writeString(fileLayout.resolve("c".repeat(64)), "orphan");
+        var later = Clock.fixed(Instant.now().plus(Duration.ofHours(2)), ZoneOffset.UTC);
+
+        assertThat(sweeper.sweepFiles(1, later)).isEqualTo(1);
+        awaitDeletions();
+        assertThat(sweeper.sweepFiles(1, later)).isEqualTo(1);
+    }
+
+    @Test
+    public void whenExaminedCapReachedThenResumeAfterLastExaminedFile() throws Exception {
+        var owned = Files.writeString(fileLayout.resolve(CHECKSUM), "owned");
+        fileRepository.save(new File("owned.png", owned.toString()));
+        Files.writeString(fileLayout.resolve("b".repeat(64)), "orphan");
+        Files.writeString(fileLayout.resolve("c".repeat(64)), "orphan");
+        Files.writeString(fileLayout.resolve("d".repeat(64)), "orphan");
+        Files.writeString(fileLayout.resolve("e".repeat(64)), "orphan");
+        var later = Clock.fixed(Instant.now().plus(Duration.ofHours(2)), ZoneOffset.UTC);
+        var capped = new OrphanSweeper(fileRepository, fileLayout, deletionQueue, imageVariants, 10, 3, Duration.ofHours(1));
+
+        var first = capped.sweepFiles(10, later);
+        awaitDeletions();
+        var second = capped.sweepFiles(10, later);
+        awaitDeletions();
+        var third = capped.sweepFiles(10, later);
+
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(2);
+        assertThat(third).isZero();
+        assertThat(owned).exists();
+        try (var files = Files.walk(storageDirectory)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(owned);
+        }
+    }
+
+    @Test
+    public void whenQueuedBlobOwnedAgainBeforeDrainThenKeepIt() throws Exception {
+        var blob = Files.writeString(fileLayout.resolve("f".repeat(64)), "reused");
+        var variant = Files.writeString(fileLayout.resolve("f".repeat(64) + "-320"), "variant");
+        fileRepository.save(new File("reused.png", blob.toString()));
+
+        deletionQueue.enqueueAll(List.of(blob.toString(), variant.toString()));
+        awaitDeletions();
+
+        assertThat(blob).exists();
+        assertThat(variant).exists();
+    }
+
+    private void awaitDeletions() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && deletionQueue.size() > 0; attempt++) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(50);
+    }
+}
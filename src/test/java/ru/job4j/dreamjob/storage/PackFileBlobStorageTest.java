@@ -0,0 +1,102 @@
+package ru.job4j.dreamjob.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PackFileBlobStorageTest {
+
+    @TempDir
+    private Path storageDirectory;
+
+    private PackFileBlobStorage createStorage(long segmentSize) {
+        return new PackFileBlobStorage(new ShardedFileLayout(storageDirectory.toString()),
+                DataSize.ofBytes(16), DataSize.ofBytes(segmentSize), 0.5);
+    }
+
+    private Path temporaryFile(String content) throws Exception {
+        return Files.writeString(Files.createTempFile(storageDirectory, "upload", ".part"), content);
+    }
+
+    @Test
+    public void whenStoreSmallBlobThenReadFromPack() throws Exception {
+        try (var storage = createStorage(1024)) {
+            var location = storage.store("key", temporaryFile("content"));
+            assertThat(location).isEqualTo("pack:key");
+            assertThat(storage.open(location).getContentAsByteArray()).isEqualTo("content".getBytes());
+        }
+    }
+
+    @Test
+    public void whenStoreLargeBlobThenKeepSeparateFile() throws Exception {
+        try (var storage = createStorage(1024)) {
+            var location = storage.store("abcdef", temporaryFile("content larger than pack limit"));
+            assertThat(Path.of(location)).isEqualTo(storageDirectory.resolve("ab").resolve("cd").resolve("abcdef"));
+            assertThat(storage.open(location).getContentAsByteArray()).isEqualTo("content larger than pack limit".getBytes());
+        }
+    }
+
+    @Test
+    public void whenReopenThenRestoreIndexWithoutDeletedBlobs() throws Exception {
+        try (var storage = createStorage(1024)) {
+            storage.store("kept", temporaryFile("kept"));
+            storage.delete(storage.store("deleted", temporaryFile("deleted")));
+        }
+        try (var storage = createStorage(1024)) {
+            assertThat(storage.open("pack:kept").getContentAsByteArray()).isEqualTo("kept".getBytes());
+            assertThat(storage.open("pack:deleted").isReadable()).isFalse();
+        }
+    }
+
+    @Test
+    public void whenCompactThenDropSparseSegmentAndKeepLiveBlobs() throws Exception {
+        try (var storage = createStorage(40)) {
+            storage.store("first", temporaryFile("first"));
+            storage.store("second", temporaryFile("second"));
+            storage.store("third", temporaryFile("third"));
+            storage.delete("pack:second");
+            storage.compact();
+            assertThat(storage.open("pack:first").getContentAsByteArray()).isEqualTo("first".getBytes());
+            assertThat(storage.open("pack:third").getContentAsByteArray()).isEqualTo("third".getBytes());
+            assertThat(storageDirectory.resolve("packs").resolve("00000001.pack")).doesNotExist();
+        }
+    }
+
+    @Test
+    public void whenReopenAfterCompactThenRestoreCopiedBlobs() throws Exception {
+        try (var storage = createStorage(40)) {
+            storage.store("first", temporaryFile("first"));
+            storage.store("second", temporaryFile("second"));
+            storage.store("third", temporaryFile("third"));
+            storage.delete("pack:second");
+            storage.compact();
+            storage.delete("pack:first");
+        }
+        try (var storage = createStorage(40)) {
+            assertThat(storage.open("pack:first").isReadable()).isFalse();
+            assertThat(storage.open("pack:second").isReadable()).isFalse();
+            assertThat(storage.open("pack:third").getContentAsByteArray()).isEqualTo("third".getBytes());
+        }
+    }
+
+    @Test
+    public void whenSegmentHasNoLiveBlobsThenCompactOnlyDeletesIt() throws Exception {
+        try (var storage = createStorage(40)) {
+            storage.store("first", temporaryFile("first"));
+            storage.store("second", temporaryFile("second"));
+            storage.store("third", temporaryFile("third"));
+            storage.deleteAll(List.of("pack:first", "pack:second"));
+            storage.compact();
+            try (var files = Files.list(storageDirectory.resolve("packs"))) {
+                assertThat(files.map(file -> file.getFileName().toString())).noneMatch(name -> name.startsWith("00000001"));
+            }
+            assertThat(storage.open("pack:third").getContentAsByteArray()).isEqualTo("third".getBytes());
+        }
+    }
+}